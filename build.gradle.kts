@@ -5,6 +5,8 @@ import java.util.*
 plugins {
     id("org.openrewrite.build.recipe-library") version "latest.release"
     id("org.openrewrite.rewrite") version "latest.release"
+    id("me.champeau.jmh") version "0.6.8"
+    `java-test-fixtures`
 }
 
 rewrite {
@@ -72,6 +74,16 @@ dependencies {
     testRuntimeOnly("com.squareup.okhttp3:mockwebserver:3.+")
     testRuntimeOnly("org.testng:testng:6.8")
 
+    "jmhImplementation"(testFixtures(project))
+    "jmhRuntimeOnly"("org.openrewrite:rewrite-java-17:$rewriteVersion")
+    "jmhRuntimeOnly"("junit:junit:latest.release")
+    "jmhRuntimeOnly"("org.junit.jupiter:junit-jupiter-api:latest.release")
+    "jmhRuntimeOnly"("org.junit.jupiter:junit-jupiter-params:latest.release")
+    "jmhRuntimeOnly"("io.cucumber:cucumber-java8:7.+")
+    "jmhRuntimeOnly"("io.cucumber:cucumber-java:7.+")
+    "jmhRuntimeOnly"("org.mockito:mockito-core:3.+")
+    "jmhRuntimeOnly"("pl.pragmatists:JUnitParams:1.+")
+
     "testWithMockito_3RuntimeOnly"("org.junit.jupiter:junit-jupiter-engine:latest.release")
     "testWithMockito_3RuntimeOnly"("junit:junit:latest.release")
     "testWithMockito_3RuntimeOnly"("org.mockito:mockito-core:3.+")
@@ -93,3 +105,15 @@ mockitoVersions.forEach { version ->
         dependsOn(testTask)
     }
 }
+
+// The synthetic corpus in the test fixtures is for benchmarks and soak tests only
+val javaComponent = components["java"] as AdhocComponentWithVariants
+javaComponent.withVariantsFrom(configurations["testFixturesApiElements"]) { skip() }
+javaComponent.withVariantsFrom(configurations["testFixturesRuntimeElements"]) { skip() }
+
+jmh {
+    fork.set(1)
+    warmupIterations.set(2)
+    iterations.set(5)
+    profilers.add("gc")
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.config.Environment;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.testing.cleanup.TestsShouldIncludeAssertions;
+import org.openrewrite.java.tree.J;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the heaviest recipes of this module over a synthetic corpus.
+ * <p>
+ * {@link #corpus(Blackhole)} reports whole-corpus throughput, {@link #perFile(FileCursor, Blackhole)} samples the
+ * latency distribution of a single file. Allocation rates come from the GC profiler configured in the build.
+ * JUnit 4 inputs come from the seedable {@link JUnit4Corpus} in the test fixtures. The corpus size can be changed
+ * from the command line, e.g. {@code -p corpusSize=10000} or {@code -p corpusSize=100000}.
+ */
+@State(Scope.Benchmark)
+public class RecipeBenchmark {
+
+    @Param({"JUnit4to5Migration", "JUnitToAssertj", "CleanupAssertions", "CucumberJava8ToJava", "TestsShouldIncludeAssertions"})
+    String recipe;
+
+    @Param({"100", "1000"})
+    int corpusSize;
+
+    Recipe activeRecipe;
+
+    List<J.CompilationUnit> sourceFiles;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String[] classpath;
+        String[] sources;
+        switch (recipe) {
+            case "JUnit4to5Migration": {
+                activeRecipe = activate("org.openrewrite.java.testing.junit5.JUnit4to5Migration");
+                JUnit4Corpus corpus = JUnit4Corpus.builder().build();
+                classpath = corpus.getClasspath();
+                sources = corpus.generate(corpusSize);
+                break;
+            }
+            case "CucumberJava8ToJava": {
+                activeRecipe = activate("org.openrewrite.java.testing.cucumber.CucumberJava8ToJava");
+                JUnit4Corpus corpus = JUnit4Corpus.builder()
+                        .weight(JUnit4Corpus.Feature.CUCUMBER_JAVA8, 1)
+                        .build();
+                classpath = corpus.getClasspath();
+                sources = corpus.generate(corpusSize);
+                break;
+            }
+            case "JUnitToAssertj":
+                activeRecipe = activate("org.openrewrite.java.testing.assertj.JUnitToAssertj");
+                classpath = SyntheticCorpus.JUPITER_ASSERTIONS.getClasspath();
+                sources = SyntheticCorpus.JUPITER_ASSERTIONS.generate(corpusSize);
+                break;
+            case "CleanupAssertions":
+                activeRecipe = activate("org.openrewrite.java.testing.junit5.CleanupAssertions");
+                classpath = SyntheticCorpus.JUPITER_ASSERTIONS.getClasspath();
+                sources = SyntheticCorpus.JUPITER_ASSERTIONS.generate(corpusSize);
+                break;
+            case "TestsShouldIncludeAssertions":
+                activeRecipe = new TestsShouldIncludeAssertions(null);
+                classpath = SyntheticCorpus.JUPITER_ASSERTIONS.getClasspath();
+                sources = SyntheticCorpus.JUPITER_ASSERTIONS.generate(corpusSize);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown recipe " + recipe);
+        }
+
+        sourceFiles = JavaParser.fromJavaVersion()
+                .classpath(classpath)
+                .build()
+                .parse(new InMemoryExecutionContext(), sources);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void corpus(Blackhole blackhole) {
+        blackhole.consume(activeRecipe.run(sourceFiles, executionContext()));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void perFile(FileCursor cursor, Blackhole blackhole) {
+        J.CompilationUnit sourceFile = sourceFiles.get(cursor.next(sourceFiles.size()));
+        blackhole.consume(activeRecipe.run(Collections.singletonList(sourceFile), executionContext()));
+    }
+
+    @State(Scope.Thread)
+    public static class FileCursor {
+        int index;
+
+        int next(int size) {
+            int next = index;
+            index = (index + 1) % size;
+            return next;
+        }
+    }
+
+    private static Recipe activate(String recipeName) {
+        return Environment.builder()
+                .scanRuntimeClasspath()
+                .build()
+                .activateRecipes(recipeName);
+    }
+
+    private static ExecutionContext executionContext() {
+        return new InMemoryExecutionContext(t -> {
+            throw new IllegalStateException("Recipe failed during benchmark", t);
+        });
+    }
+}
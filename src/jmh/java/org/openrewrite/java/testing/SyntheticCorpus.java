@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing;
+
+/**
+ * Generates JUnit 5 benchmark inputs by repeating a representative test class under distinct names.
+ */
+enum SyntheticCorpus {
+    JUPITER_ASSERTIONS("junit-jupiter-api") {
+        @Override
+        String source(int i) {
+            return "" +
+                   "package org.example.jupiter;\n" +
+                   "\n" +
+                   "import org.junit.jupiter.api.Test;\n" +
+                   "\n" +
+                   "import static org.junit.jupiter.api.Assertions.*;\n" +
+                   "\n" +
+                   "class Modern" + i + "Test {\n" +
+                   "    private final String name = \"modern" + i + "\";\n" +
+                   "\n" +
+                   "    @Test\n" +
+                   "    void assertions() {\n" +
+                   "        assertTrue(!name.isEmpty());\n" +
+                   "        assertFalse(!name.startsWith(\"modern\"));\n" +
+                   "        assertTrue(name.equals(\"modern" + i + "\"));\n" +
+                   "        assertTrue(name.length() == " + ("modern" + i).length() + ");\n" +
+                   "        assertFalse(name.equals(\"legacy\"));\n" +
+                   "        assertEquals(null, name.isEmpty() ? null : name.trim().intern().substring(99));\n" +
+                   "        assertFalse(name == null);\n" +
+                   "        assertEquals(name, \"modern" + i + "\");\n" +
+                   "        assertNotNull(name, \"name\");\n" +
+                   "        assertSame(name, name);\n" +
+                   "    }\n" +
+                   "\n" +
+                   "    @Test\n" +
+                   "    void noAssertions() {\n" +
+                   "        name.trim();\n" +
+                   "    }\n" +
+                   "}\n";
+        }
+    };
+
+    private final String[] classpath;
+
+    SyntheticCorpus(String... classpath) {
+        this.classpath = classpath;
+    }
+
+    String[] getClasspath() {
+        return classpath;
+    }
+
+    abstract String source(int i);
+
+    String[] generate(int size) {
+        String[] sources = new String[size];
+        for (int i = 0; i < size; i++) {
+            sources[i] = source(i);
+        }
+        return sources;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.assertj;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.testing.internal.JavaParserPool;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.function.Supplier;
+
+/**
+ * Converts the invocations of one {@code org.junit.jupiter.api.Assertions} method to AssertJ.
+ * <p>
+ * Conversions do not touch imports or the visitor themselves; they go through a {@link Rewriter}, which lets
+ * {@link AssertJConversionVisitor} reuse templates and batch import changes for the whole compilation unit.
+ */
+abstract class AssertJConversion {
+    static final String JUNIT_ASSERTIONS = "org.junit.jupiter.api.Assertions";
+    static final String ASSERTJ_ASSERTIONS = "org.assertj.core.api.Assertions";
+
+    static final Supplier<JavaParser> ASSERTJ_JAVA_PARSER = JavaParserPool.classpath("assertj-core");
+
+    private final String methodName;
+    private final MethodMatcher matcher;
+
+    AssertJConversion(String methodName) {
+        this(methodName, "..");
+    }
+
+    AssertJConversion(String methodName, String parameters) {
+        this.methodName = methodName;
+        this.matcher = new MethodMatcher(JUNIT_ASSERTIONS + " " + methodName + "(" + parameters + ")");
+    }
+
+    String getMethodName() {
+        return methodName;
+    }
+
+    boolean matches(J.MethodInvocation method) {
+        return matcher.matches(method);
+    }
+
+    /**
+     * The original visitors of most conversions did not descend into method invocations, so they only ever
+     * converted assertions that are not nested in the arguments of another invocation.
+     */
+    boolean isOutermostOnly() {
+        return true;
+    }
+
+    /**
+     * @return The converted invocation, or {@code method} itself when it is left as is.
+     */
+    abstract J.MethodInvocation convert(J.MethodInvocation method, Rewriter rewriter);
+
+    static boolean isFloatingPointType(Expression expression) {
+        JavaType.FullyQualified fullyQualified = TypeUtils.asFullyQualified(expression.getType());
+        if (fullyQualified != null) {
+            String typeName = fullyQualified.getFullyQualifiedName();
+            return ("java.lang.Double".equals(typeName) || "java.lang.Float".equals(typeName));
+        }
+
+        JavaType.Primitive parameterType = TypeUtils.asPrimitive(expression.getType());
+        return parameterType == JavaType.Primitive.Double || parameterType == JavaType.Primitive.Float;
+    }
+
+    interface Rewriter {
+        /**
+         * @return A template compiled against AssertJ, shared by every conversion using the same code.
+         */
+        JavaTemplate template(String code, String... staticImports);
+
+        void addImport(String type, String member);
+
+        void removeImport(String type);
+
+        /**
+         * Schedule a visitor to run once over the compilation unit after all conversions.
+         */
+        void afterVisit(TreeVisitor<?, ExecutionContext> visitor);
+
+        void afterVisit(Recipe recipe);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.assertj;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.*;
+
+/**
+ * Applies any number of {@link AssertJConversion}s in a single traversal.
+ * <p>
+ * Invocations are dispatched to their conversion by method name once their declaring type is known to be
+ * {@code org.junit.jupiter.api.Assertions}. Templates are built once per visitor and reused for every matching
+ * invocation, and the import changes and follow-up visitors requested by conversions are applied once for the
+ * whole compilation unit.
+ */
+class AssertJConversionVisitor extends JavaIsoVisitor<ExecutionContext> implements AssertJConversion.Rewriter {
+    private final Map<String, AssertJConversion> conversions = new HashMap<>();
+
+    private final Map<String, JavaTemplate> templates = new HashMap<>();
+    private final Map<String, Set<String>> importsToAdd = new LinkedHashMap<>();
+    private final Set<String> importsToRemove = new LinkedHashSet<>();
+    private final Map<Class<?>, Object> afterVisits = new LinkedHashMap<>();
+
+    AssertJConversionVisitor(AssertJConversion... conversions) {
+        for (AssertJConversion conversion : conversions) {
+            this.conversions.put(conversion.getMethodName(), conversion);
+        }
+    }
+
+    @Override
+    public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+        J.CompilationUnit c = super.visitCompilationUnit(cu, ctx);
+        importsToAdd.forEach((type, members) -> {
+            for (String member : members) {
+                maybeAddImport(type, member);
+            }
+        });
+        for (String type : importsToRemove) {
+            maybeRemoveImport(type);
+        }
+        for (Object afterVisit : afterVisits.values()) {
+            if (afterVisit instanceof Recipe) {
+                doAfterVisit((Recipe) afterVisit);
+            } else {
+                //noinspection unchecked
+                doAfterVisit((TreeVisitor<J, ExecutionContext>) afterVisit);
+            }
+        }
+        importsToAdd.clear();
+        importsToRemove.clear();
+        afterVisits.clear();
+        return c;
+    }
+
+    @Override
+    public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+        J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
+        AssertJConversion conversion = conversionFor(mi);
+        if (conversion == null || !conversion.matches(mi)) {
+            return mi;
+        }
+        if (conversion.isOutermostOnly() && getCursor().getParentOrThrow().firstEnclosing(J.MethodInvocation.class) != null) {
+            return mi;
+        }
+        return conversion.convert(mi, this);
+    }
+
+    @Nullable
+    private AssertJConversion conversionFor(J.MethodInvocation method) {
+        JavaType.Method methodType = method.getMethodType();
+        if (methodType == null ||
+            !AssertJConversion.JUNIT_ASSERTIONS.equals(methodType.getDeclaringType().getFullyQualifiedName())) {
+            return null;
+        }
+        return conversions.get(methodType.getName());
+    }
+
+    @Override
+    public JavaTemplate template(String code, String... staticImports) {
+        return templates.computeIfAbsent(code + Arrays.toString(staticImports), k ->
+                JavaTemplate.builder(this::getCursor, code)
+                        .staticImports(staticImports)
+                        .javaParser(AssertJConversion.ASSERTJ_JAVA_PARSER)
+                        .build());
+    }
+
+    @Override
+    public void addImport(String type, String member) {
+        importsToAdd.computeIfAbsent(type, t -> new LinkedHashSet<>()).add(member);
+    }
+
+    @Override
+    public void removeImport(String type) {
+        importsToRemove.add(type);
+    }
+
+    @Override
+    public void afterVisit(TreeVisitor<?, ExecutionContext> visitor) {
+        afterVisits.putIfAbsent(visitor.getClass(), visitor);
+    }
+
+    @Override
+    public void afterVisit(Recipe recipe) {
+        afterVisits.putIfAbsent(recipe.getClass(), recipe);
+    }
+}
@@ -18,19 +18,14 @@ package org.openrewrite.java.testing.assertj;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
 
 import java.time.Duration;
 import java.util.List;
-import java.util.function.Supplier;
 
 public class JUnitAssertArrayEqualsToAssertThat extends Recipe {
     private static final String JUNIT_QUALIFIED_ASSERTIONS_CLASS_NAME = "org.junit.jupiter.api.Assertions";
@@ -60,16 +55,9 @@ public class JUnitAssertArrayEqualsToAssertThat extends Recipe {
         return new AssertArrayEqualsToAssertThatVisitor();
     }
 
-    public static class AssertArrayEqualsToAssertThatVisitor extends JavaIsoVisitor<ExecutionContext> {
-        private static final MethodMatcher JUNIT_ASSERT_EQUALS = new MethodMatcher(JUNIT_QUALIFIED_ASSERTIONS_CLASS_NAME + " assertArrayEquals(..)");
-        private static final Supplier<JavaParser> ASSERTIONS_PARSER = () -> JavaParser.fromJavaVersion().classpath("assertj-core").build();
-
+    static final AssertJConversion CONVERSION = new AssertJConversion("assertArrayEquals") {
         @Override
-        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
-            if (!JUNIT_ASSERT_EQUALS.matches(method)) {
-                return method;
-            }
-
+        J.MethodInvocation convert(J.MethodInvocation method, Rewriter rewriter) {
             List<Expression> args = method.getArguments();
 
             Expression expected = args.get(0);
@@ -77,84 +65,60 @@ public class JUnitAssertArrayEqualsToAssertThat extends Recipe {
 
             if (args.size() == 2) {
                 method = method.withTemplate(
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{anyArray()}).containsExactly(#{anyArray()});")
-                                .staticImports("org.assertj.core.api.Assertions.assertThat")
-                                .javaParser(ASSERTIONS_PARSER)
-                                .build(),
+                        rewriter.template("assertThat(#{anyArray()}).containsExactly(#{anyArray()});", "org.assertj.core.api.Assertions.assertThat"),
                         method.getCoordinates().replace(),
                         actual,
                         expected
                 );
             } else if (args.size() == 3 && !isFloatingPointType(args.get(2))) {
                 Expression message = args.get(2);
-                JavaTemplate.Builder template = TypeUtils.isString(message.getType()) ?
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{anyArray()}).as(#{any(String)}).containsExactly(#{anyArray()});") :
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{anyArray()}).as(#{any(java.util.function.Supplier)}).containsExactly(#{anyArray()});");
-
-                method = method.withTemplate(template
-                                .staticImports("org.assertj.core.api.Assertions.assertThat")
-                                .javaParser(ASSERTIONS_PARSER)
-                                .build(),
+                JavaTemplate template = TypeUtils.isString(message.getType()) ?
+                        rewriter.template("assertThat(#{anyArray()}).as(#{any(String)}).containsExactly(#{anyArray()});", "org.assertj.core.api.Assertions.assertThat") :
+                        rewriter.template("assertThat(#{anyArray()}).as(#{any(java.util.function.Supplier)}).containsExactly(#{anyArray()});", "org.assertj.core.api.Assertions.assertThat");
+
+                method = method.withTemplate(template,
                         method.getCoordinates().replace(),
                         actual,
                         message,
                         expected
                 );
             } else if (args.size() == 3) {
-                // assert is using floating points with a delta and no message.
                 method = method.withTemplate(
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{anyArray()}).containsExactly(#{anyArray()}, within(#{any()}));")
-                                .staticImports("org.assertj.core.api.Assertions.assertThat", "org.assertj.core.api.Assertions.within")
-                                .javaParser(ASSERTIONS_PARSER)
-                                .build(),
+                        rewriter.template("assertThat(#{anyArray()}).containsExactly(#{anyArray()}, within(#{any()}));",
+                                "org.assertj.core.api.Assertions.assertThat", "org.assertj.core.api.Assertions.within"),
                         method.getCoordinates().replace(),
                         actual,
                         expected,
                         args.get(2)
                 );
-                maybeAddImport("org.assertj.core.api.Assertions", "within");
+                rewriter.addImport(ASSERTJ_ASSERTIONS, "within");
             } else {
-                // The assertEquals is using a floating point with a delta argument and a message.
+                // The assertion is using a floating point with a delta argument and a message.
                 Expression message = args.get(3);
-                JavaTemplate.Builder template = TypeUtils.isString(message.getType()) ?
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{anyArray()}).as(#{any(String)}).containsExactly(#{anyArray()}, within(#{any()}));") :
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{anyArray()}).as(#{any(java.util.function.Supplier)}).containsExactly(#{anyArray()}, within(#{}));");
-
-                method = method.withTemplate(template
-                                .staticImports("org.assertj.core.api.Assertions.assertThat", "org.assertj.core.api.Assertions.within")
-                                .javaParser(ASSERTIONS_PARSER)
-                                .build(),
+                JavaTemplate template = TypeUtils.isString(message.getType()) ?
+                        rewriter.template("assertThat(#{anyArray()}).as(#{any(String)}).containsExactly(#{anyArray()}, within(#{any()}));", "org.assertj.core.api.Assertions.assertThat", "org.assertj.core.api.Assertions.within") :
+                        rewriter.template("assertThat(#{anyArray()}).as(#{any(java.util.function.Supplier)}).containsExactly(#{anyArray()}, within(#{any()}));", "org.assertj.core.api.Assertions.assertThat", "org.assertj.core.api.Assertions.within");
+
+                method = method.withTemplate(template,
                         method.getCoordinates().replace(),
                         actual,
                         message,
                         expected,
                         args.get(2)
                 );
-                maybeAddImport("org.assertj.core.api.Assertions", "within");
+                rewriter.addImport(ASSERTJ_ASSERTIONS, "within");
             }
 
-            maybeAddImport("org.assertj.core.api.Assertions", "assertThat");
-            maybeRemoveImport(JUNIT_QUALIFIED_ASSERTIONS_CLASS_NAME);
+            rewriter.addImport(ASSERTJ_ASSERTIONS, "assertThat");
+            rewriter.removeImport(JUNIT_ASSERTIONS);
 
             return method;
         }
+    };
 
-        /**
-         * Returns true if the expression's type is either a primitive float/double or their object forms Float/Double
-         *
-         * @param expression The expression parsed from the original AST.
-         * @return true if the type is a floating point number.
-         */
-        private static boolean isFloatingPointType(Expression expression) {
-
-            JavaType.FullyQualified fullyQualified = TypeUtils.asFullyQualified(expression.getType());
-            if (fullyQualified != null) {
-                String typeName = fullyQualified.getFullyQualifiedName();
-                return ("java.lang.Double".equals(typeName) || "java.lang.Float".equals(typeName));
-            }
-
-            JavaType.Primitive parameterType = TypeUtils.asPrimitive(expression.getType());
-            return parameterType == JavaType.Primitive.Double || parameterType == JavaType.Primitive.Float;
+    public static class AssertArrayEqualsToAssertThatVisitor extends AssertJConversionVisitor {
+        public AssertArrayEqualsToAssertThatVisitor() {
+            super(CONVERSION);
         }
     }
 }
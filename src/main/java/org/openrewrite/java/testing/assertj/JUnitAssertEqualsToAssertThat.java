@@ -18,19 +18,14 @@ package org.openrewrite.java.testing.assertj;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
 
 import java.time.Duration;
 import java.util.List;
-import java.util.function.Supplier;
 
 public class JUnitAssertEqualsToAssertThat extends Recipe {
 
@@ -59,17 +54,9 @@ public class JUnitAssertEqualsToAssertThat extends Recipe {
         return new AssertEqualsToAssertThatVisitor();
     }
 
-    public static class AssertEqualsToAssertThatVisitor extends JavaIsoVisitor<ExecutionContext> {
-        private static final Supplier<JavaParser> ASSERTIONS_PARSER = () -> JavaParser.fromJavaVersion().classpath("assertj-core").build();
-
-        private static final MethodMatcher JUNIT_ASSERT_EQUALS = new MethodMatcher("org.junit.jupiter.api.Assertions" + " assertEquals(..)");
-
+    static final AssertJConversion CONVERSION = new AssertJConversion("assertEquals") {
         @Override
-        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
-            if (!JUNIT_ASSERT_EQUALS.matches(method)) {
-                return method;
-            }
-
+        J.MethodInvocation convert(J.MethodInvocation method, Rewriter rewriter) {
             List<Expression> args = method.getArguments();
 
             Expression expected = args.get(0);
@@ -77,25 +64,18 @@ public class JUnitAssertEqualsToAssertThat extends Recipe {
 
             if (args.size() == 2) {
                 method = method.withTemplate(
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{any()}).isEqualTo(#{any()});")
-                                .staticImports("org.assertj.core.api.Assertions.assertThat")
-                                .javaParser(ASSERTIONS_PARSER)
-                                .build(),
+                        rewriter.template("assertThat(#{any()}).isEqualTo(#{any()});", "org.assertj.core.api.Assertions.assertThat"),
                         method.getCoordinates().replace(),
                         actual,
                         expected
                 );
             } else if (args.size() == 3 && !isFloatingPointType(args.get(2))) {
                 Expression message = args.get(2);
-                JavaTemplate.Builder template = TypeUtils.isString(message.getType()) ?
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{any()}).as(#{any(String)}).isEqualTo(#{any()});") :
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{any()}).as(#{any(java.util.function.Supplier)}).isEqualTo(#{any()});");
-
-                method = method.withTemplate(template
-                                .staticImports("org.assertj.core.api.Assertions.assertThat")
-                                .imports("java.util.function.Supplier")
-                                .javaParser(ASSERTIONS_PARSER)
-                                .build(),
+                JavaTemplate template = TypeUtils.isString(message.getType()) ?
+                        rewriter.template("assertThat(#{any()}).as(#{any(String)}).isEqualTo(#{any()});", "org.assertj.core.api.Assertions.assertThat") :
+                        rewriter.template("assertThat(#{any()}).as(#{any(java.util.function.Supplier)}).isEqualTo(#{any()});", "org.assertj.core.api.Assertions.assertThat");
+
+                method = method.withTemplate(template,
                         method.getCoordinates().replace(),
                         actual,
                         message,
@@ -103,55 +83,41 @@ public class JUnitAssertEqualsToAssertThat extends Recipe {
                 );
             } else if (args.size() == 3) {
                 method = method.withTemplate(
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{any()}).isCloseTo(#{any()}, within(#{any()}));")
-                                .staticImports("org.assertj.core.api.Assertions.assertThat", "org.assertj.core.api.Assertions.within")
-                                .javaParser(ASSERTIONS_PARSER)
-                                .build(),
+                        rewriter.template("assertThat(#{any()}).isCloseTo(#{any()}, within(#{any()}));",
+                                "org.assertj.core.api.Assertions.assertThat", "org.assertj.core.api.Assertions.within"),
                         method.getCoordinates().replace(),
                         actual,
                         expected,
                         args.get(2)
                 );
-                maybeAddImport("org.assertj.core.api.Assertions", "within");
-
+                rewriter.addImport(ASSERTJ_ASSERTIONS, "within");
             } else {
-                // The assertEquals is using a floating point with a delta argument and a message.
+                // The assertion is using a floating point with a delta argument and a message.
                 Expression message = args.get(3);
+                JavaTemplate template = TypeUtils.isString(message.getType()) ?
+                        rewriter.template("assertThat(#{any()}).as(#{any(String)}).isCloseTo(#{any()}, within(#{any()}));", "org.assertj.core.api.Assertions.assertThat", "org.assertj.core.api.Assertions.within") :
+                        rewriter.template("assertThat(#{any()}).as(#{any(java.util.function.Supplier)}).isCloseTo(#{any()}, within(#{any()}));", "org.assertj.core.api.Assertions.assertThat", "org.assertj.core.api.Assertions.within");
 
-                JavaTemplate.Builder template = TypeUtils.isString(message.getType()) ?
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{any()}).as(#{any(String)}).isCloseTo(#{any()}, within(#{any()}));") :
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{any()}).as(#{any(java.util.function.Supplier)}).isCloseTo(#{any()}, within(#{any()}));");
-
-                method = method.withTemplate(template
-                                .staticImports("org.assertj.core.api.Assertions.assertThat", "org.assertj.core.api.Assertions.within")
-                                .imports("java.util.function.Supplier")
-                                .javaParser(ASSERTIONS_PARSER)
-                                .build(),
+                method = method.withTemplate(template,
                         method.getCoordinates().replace(),
                         actual,
                         message,
                         expected,
                         args.get(2)
                 );
-                maybeAddImport("org.assertj.core.api.Assertions", "within");
+                rewriter.addImport(ASSERTJ_ASSERTIONS, "within");
             }
 
-            maybeAddImport("org.assertj.core.api.Assertions", "assertThat");
-            maybeRemoveImport("org.junit.jupiter.api.Assertions");
+            rewriter.addImport(ASSERTJ_ASSERTIONS, "assertThat");
+            rewriter.removeImport(JUNIT_ASSERTIONS);
 
             return method;
         }
+    };
 
-        private static boolean isFloatingPointType(Expression expression) {
-
-            JavaType.FullyQualified fullyQualified = TypeUtils.asFullyQualified(expression.getType());
-            if (fullyQualified != null) {
-                String typeName = fullyQualified.getFullyQualifiedName();
-                return ("java.lang.Double".equals(typeName) || "java.lang.Float".equals(typeName));
-            }
-
-            JavaType.Primitive parameterType = TypeUtils.asPrimitive(expression.getType());
-            return parameterType == JavaType.Primitive.Double || parameterType == JavaType.Primitive.Float;
+    public static class AssertEqualsToAssertThatVisitor extends AssertJConversionVisitor {
+        public AssertEqualsToAssertThatVisitor() {
+            super(CONVERSION);
         }
     }
 }
@@ -18,19 +18,14 @@ package org.openrewrite.java.testing.assertj;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
 
 import java.time.Duration;
 import java.util.List;
-import java.util.function.Supplier;
 
 public class JUnitAssertNotEqualsToAssertThat extends Recipe {
 
@@ -59,16 +54,9 @@ public class JUnitAssertNotEqualsToAssertThat extends Recipe {
         return new AssertNotEqualsToAssertThatVisitor();
     }
 
-    public static class AssertNotEqualsToAssertThatVisitor extends JavaIsoVisitor<ExecutionContext> {
-        private static final Supplier<JavaParser> ASSERTJ_JAVA_PARSER = () -> JavaParser.fromJavaVersion().classpath("assertj-core").build();
-        private static final MethodMatcher JUNIT_ASSERT_EQUALS = new MethodMatcher("org.junit.jupiter.api.Assertions" + " assertNotEquals(..)");
-
+    static final AssertJConversion CONVERSION = new AssertJConversion("assertNotEquals") {
         @Override
-        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
-            if (!JUNIT_ASSERT_EQUALS.matches(method)) {
-                return method;
-            }
-
+        J.MethodInvocation convert(J.MethodInvocation method, Rewriter rewriter) {
             List<Expression> args = method.getArguments();
 
             Expression expected = args.get(0);
@@ -76,26 +64,18 @@ public class JUnitAssertNotEqualsToAssertThat extends Recipe {
 
             if (args.size() == 2) {
                 method = method.withTemplate(
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{any()}).isNotEqualTo(#{any()});")
-                                .staticImports("org.assertj.core.api.Assertions.assertThat")
-                                .javaParser(ASSERTJ_JAVA_PARSER)
-                                .build(),
+                        rewriter.template("assertThat(#{any()}).isNotEqualTo(#{any()});", "org.assertj.core.api.Assertions.assertThat"),
                         method.getCoordinates().replace(),
                         actual,
                         expected
                 );
             } else if (args.size() == 3 && !isFloatingPointType(args.get(2))) {
                 Expression message = args.get(2);
+                JavaTemplate template = TypeUtils.isString(message.getType()) ?
+                        rewriter.template("assertThat(#{any()}).as(#{any(String)}).isNotEqualTo(#{any()});", "org.assertj.core.api.Assertions.assertThat") :
+                        rewriter.template("assertThat(#{any()}).as(#{any(java.util.function.Supplier)}).isNotEqualTo(#{any()});", "org.assertj.core.api.Assertions.assertThat");
 
-                JavaTemplate.Builder template = TypeUtils.isString(message.getType()) ?
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{any()}).as(#{any(String)}).isNotEqualTo(#{any()});") :
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{any()}).as(#{any(java.util.function.Supplier)}).isNotEqualTo(#{any()});");
-
-
-                method = method.withTemplate(template
-                                .staticImports("org.assertj.core.api.Assertions.assertThat")
-                                .javaParser(ASSERTJ_JAVA_PARSER)
-                                .build(),
+                method = method.withTemplate(template,
                         method.getCoordinates().replace(),
                         actual,
                         message,
@@ -103,54 +83,41 @@ public class JUnitAssertNotEqualsToAssertThat extends Recipe {
                 );
             } else if (args.size() == 3) {
                 method = method.withTemplate(
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{any()}).isNotCloseTo(#{any()}, within(#{any()}));")
-                                .staticImports("org.assertj.core.api.Assertions.assertThat", "org.assertj.core.api.Assertions.within")
-                                .javaParser(ASSERTJ_JAVA_PARSER)
-                                .build(),
+                        rewriter.template("assertThat(#{any()}).isNotCloseTo(#{any()}, within(#{any()}));",
+                                "org.assertj.core.api.Assertions.assertThat", "org.assertj.core.api.Assertions.within"),
                         method.getCoordinates().replace(),
                         actual,
                         expected,
                         args.get(2)
                 );
-                maybeAddImport("org.assertj.core.api.Assertions", "within");
+                rewriter.addImport(ASSERTJ_ASSERTIONS, "within");
             } else {
+                // The assertion is using a floating point with a delta argument and a message.
                 Expression message = args.get(3);
+                JavaTemplate template = TypeUtils.isString(message.getType()) ?
+                        rewriter.template("assertThat(#{any()}).as(#{any(String)}).isNotCloseTo(#{any()}, within(#{any()}));", "org.assertj.core.api.Assertions.assertThat", "org.assertj.core.api.Assertions.within") :
+                        rewriter.template("assertThat(#{any()}).as(#{any(java.util.function.Supplier)}).isNotCloseTo(#{any()}, within(#{any()}));", "org.assertj.core.api.Assertions.assertThat", "org.assertj.core.api.Assertions.within");
 
-                JavaTemplate.Builder template = TypeUtils.isString(message.getType()) ?
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{any()}).as(#{any(String)}).isNotCloseTo(#{any()}, within(#{any()}));") :
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{any()}).as(#{any(java.util.function.Supplier)}).isNotCloseTo(#{any()}, within(#{any()}));");
-
-                method = method.withTemplate(template
-                                .staticImports("org.assertj.core.api.Assertions.assertThat", "org.assertj.core.api.Assertions.within")
-                                .javaParser(ASSERTJ_JAVA_PARSER)
-                                .build(),
+                method = method.withTemplate(template,
                         method.getCoordinates().replace(),
                         actual,
                         message,
                         expected,
                         args.get(2)
                 );
-
-                maybeAddImport("org.assertj.core.api.Assertions", "within");
+                rewriter.addImport(ASSERTJ_ASSERTIONS, "within");
             }
 
-            //Make sure there is a static import for "org.assertj.core.api.Assertions.assertThat"
-            maybeAddImport("org.assertj.core.api.Assertions", "assertThat");
-            //And if there are no longer references to the JUnit assertions class, we can remove the import.
-            maybeRemoveImport("org.junit.jupiter.api.Assertions");
+            rewriter.addImport(ASSERTJ_ASSERTIONS, "assertThat");
+            rewriter.removeImport(JUNIT_ASSERTIONS);
 
             return method;
         }
+    };
 
-        private static boolean isFloatingPointType(Expression expression) {
-            JavaType.FullyQualified fullyQualified = TypeUtils.asFullyQualified(expression.getType());
-            if (fullyQualified != null) {
-                String typeName = fullyQualified.getFullyQualifiedName();
-                return ("java.lang.Double".equals(typeName) || "java.lang.Float".equals(typeName));
-            }
-
-            JavaType.Primitive parameterType = TypeUtils.asPrimitive(expression.getType());
-            return parameterType == JavaType.Primitive.Double || parameterType == JavaType.Primitive.Float;
+    public static class AssertNotEqualsToAssertThatVisitor extends AssertJConversionVisitor {
+        public AssertNotEqualsToAssertThatVisitor() {
+            super(CONVERSION);
         }
     }
 }
@@ -18,10 +18,7 @@ package org.openrewrite.java.testing.assertj;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
@@ -29,7 +26,6 @@ import org.openrewrite.java.tree.TypeUtils;
 
 import java.time.Duration;
 import java.util.List;
-import java.util.function.Supplier;
 
 public class JUnitAssertNotNullToAssertThat extends Recipe {
 
@@ -58,50 +54,41 @@ public class JUnitAssertNotNullToAssertThat extends Recipe {
         return new AssertNotNullToAssertThatVisitor();
     }
 
-    public static class AssertNotNullToAssertThatVisitor extends JavaIsoVisitor<ExecutionContext> {
-        private static final Supplier<JavaParser> ASSERTJ_JAVA_PARSER = () -> JavaParser.fromJavaVersion().classpath("assertj-core").build();
-        private static final MethodMatcher JUNIT_ASSERT_NOT_NULL_MATCHER = new MethodMatcher("org.junit.jupiter.api.Assertions" + " assertNotNull(..)");
-
+    static final AssertJConversion CONVERSION = new AssertJConversion("assertNotNull") {
         @Override
-        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
-            if (!JUNIT_ASSERT_NOT_NULL_MATCHER.matches(method)) {
-                return method;
-            }
-
+        J.MethodInvocation convert(J.MethodInvocation method, Rewriter rewriter) {
             List<Expression> args = method.getArguments();
             Expression actual = args.get(0);
 
             if (args.size() == 1) {
                 method = method.withTemplate(
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{any()}).isNotNull();")
-                                .staticImports("org.assertj.core.api.Assertions.assertThat")
-                                .javaParser(ASSERTJ_JAVA_PARSER)
-                                .build(),
+                        rewriter.template("assertThat(#{any()}).isNotNull();", "org.assertj.core.api.Assertions.assertThat"),
                         method.getCoordinates().replace(),
                         actual
                 );
-
             } else {
                 Expression message = args.get(1);
+                JavaTemplate template = TypeUtils.isString(message.getType()) ?
+                        rewriter.template("assertThat(#{any()}).as(#{any(String)}).isNotNull();", "org.assertj.core.api.Assertions.assertThat") :
+                        rewriter.template("assertThat(#{any()}).as(#{any(java.util.function.Supplier)}).isNotNull();", "org.assertj.core.api.Assertions.assertThat");
 
-                JavaTemplate.Builder template = TypeUtils.isString(message.getType()) ?
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{any()}).as(#{any(String)}).isNotNull();") :
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{any()}).as(#{any(java.util.function.Supplier)}).isNotNull();");
-
-                method = method.withTemplate(template
-                                .staticImports("org.assertj.core.api.Assertions.assertThat")
-                                .javaParser(ASSERTJ_JAVA_PARSER)
-                                .build(),
+                method = method.withTemplate(template,
                         method.getCoordinates().replace(),
                         actual,
                         message
                 );
             }
 
-            maybeRemoveImport("org.junit.jupiter.api.Assertions");
-            maybeAddImport("org.assertj.core.api.Assertions", "assertThat");
+            rewriter.addImport(ASSERTJ_ASSERTIONS, "assertThat");
+            rewriter.removeImport(JUNIT_ASSERTIONS);
 
             return method;
         }
+    };
+
+    public static class AssertNotNullToAssertThatVisitor extends AssertJConversionVisitor {
+        public AssertNotNullToAssertThatVisitor() {
+            super(CONVERSION);
+        }
     }
 }
@@ -18,10 +18,7 @@ package org.openrewrite.java.testing.assertj;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
@@ -29,7 +26,6 @@ import org.openrewrite.java.tree.TypeUtils;
 
 import java.time.Duration;
 import java.util.List;
-import java.util.function.Supplier;
 
 public class JUnitAssertSameToAssertThat extends Recipe {
 
@@ -58,41 +54,27 @@ public class JUnitAssertSameToAssertThat extends Recipe {
         return new AssertSameToAssertThatVisitor();
     }
 
-    public static class AssertSameToAssertThatVisitor extends JavaIsoVisitor<ExecutionContext> {
-        private final Supplier<JavaParser> ASSERTJ_JAVA_PARSER = () -> JavaParser.fromJavaVersion().classpath("assertj-core").build();
-        private static final MethodMatcher JUNIT_ASSERT_SAME_MATCHER = new MethodMatcher("org.junit.jupiter.api.Assertions" + " assertSame(..)");
-
+    static final AssertJConversion CONVERSION = new AssertJConversion("assertSame") {
         @Override
-        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
-            if (!JUNIT_ASSERT_SAME_MATCHER.matches(method)) {
-                return method;
-            }
-
+        J.MethodInvocation convert(J.MethodInvocation method, Rewriter rewriter) {
             List<Expression> args = method.getArguments();
             Expression expected = args.get(0);
             Expression actual = args.get(1);
 
             if (args.size() == 2) {
                 method = method.withTemplate(
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{any()}).isSameAs(#{any()});")
-                                .staticImports("org.assertj.core.api.Assertions.assertThat")
-                                .javaParser(ASSERTJ_JAVA_PARSER)
-                                .build(),
+                        rewriter.template("assertThat(#{any()}).isSameAs(#{any()});", "org.assertj.core.api.Assertions.assertThat"),
                         method.getCoordinates().replace(),
                         actual,
                         expected
                 );
             } else {
                 Expression message = args.get(2);
+                JavaTemplate template = TypeUtils.isString(message.getType()) ?
+                        rewriter.template("assertThat(#{any()}).as(#{any(String)}).isSameAs(#{any()});", "org.assertj.core.api.Assertions.assertThat") :
+                        rewriter.template("assertThat(#{any()}).as(#{any(java.util.function.Supplier)}).isSameAs(#{any()});", "org.assertj.core.api.Assertions.assertThat");
 
-                JavaTemplate.Builder template = TypeUtils.isString(message.getType()) ?
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{any()}).as(#{any(String)}).isSameAs(#{any()});") :
-                        JavaTemplate.builder(this::getCursor, "assertThat(#{any()}).as(#{any(java.util.function.Supplier)}).isSameAs(#{any()});");
-
-                method = method.withTemplate(template
-                                .staticImports("org.assertj.core.api.Assertions.assertThat")
-                                .javaParser(ASSERTJ_JAVA_PARSER)
-                                .build(),
+                method = method.withTemplate(template,
                         method.getCoordinates().replace(),
                         actual,
                         message,
@@ -100,10 +82,16 @@ public class JUnitAssertSameToAssertThat extends Recipe {
                 );
             }
 
-            maybeRemoveImport("org.junit.jupiter.api.Assertions");
-            maybeAddImport("org.assertj.core.api.Assertions", "assertThat");
+            rewriter.addImport(ASSERTJ_ASSERTIONS, "assertThat");
+            rewriter.removeImport(JUNIT_ASSERTIONS);
 
             return method;
         }
+    };
+
+    public static class AssertSameToAssertThatVisitor extends AssertJConversionVisitor {
+        public AssertSameToAssertThatVisitor() {
+            super(CONVERSION);
+        }
     }
 }
@@ -17,16 +17,11 @@ package org.openrewrite.java.testing.assertj;
 
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
-import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 
 import java.time.Duration;
-import java.util.function.Supplier;
 
 public class JUnitAssertThrowsToAssertExceptionType extends Recipe {
 
@@ -55,29 +50,33 @@ public class JUnitAssertThrowsToAssertExceptionType extends Recipe {
         return new AssertExceptionTypeVisitor();
     }
 
-    private static class AssertExceptionTypeVisitor extends JavaIsoVisitor<ExecutionContext> {
-        private static final Supplier<JavaParser> ASSERTJ_JAVA_PARSER = () -> JavaParser.fromJavaVersion().classpath("assertj-core").build();
-        private static final MethodMatcher ASSERT_THROWS_MATCHER = new MethodMatcher("org.junit.jupiter.api.Assertions assertThrows(..)");
+    static final AssertJConversion CONVERSION = new AssertJConversion("assertThrows") {
+        @Override
+        boolean isOutermostOnly() {
+            return false;
+        }
 
         @Override
-        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext executionContext) {
-            J.MethodInvocation mi = super.visitMethodInvocation(method, executionContext);
-            if (ASSERT_THROWS_MATCHER.matches(mi) && mi.getArguments().size() == 2) {
-                J.Lambda lambdaArg = (J.Lambda) mi.getArguments().get(1);
-                lambdaArg = lambdaArg.withType(JavaType.buildType("org.assertj.core.api.ThrowableAssert.ThrowingCallable"));
-                mi = mi.withTemplate(
-                        JavaTemplate
-                                .builder(this::getCursor,
-                                        "assertThatExceptionOfType(#{any(java.lang.Class)}).isThrownBy(#{any(org.assertj.core.api.ThrowableAssert.ThrowingCallable)})")
-                                .javaParser(ASSERTJ_JAVA_PARSER)
-                                .staticImports("org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType")
-                                .build(),
-                        mi.getCoordinates().replace(),
-                        mi.getArguments().get(0), lambdaArg);
-                maybeAddImport("org.assertj.core.api.AssertionsForClassTypes", "assertThatExceptionOfType");
-                maybeRemoveImport("org.junit.jupiter.api.Assertions.assertThrows");
+        J.MethodInvocation convert(J.MethodInvocation mi, Rewriter rewriter) {
+            if (mi.getArguments().size() != 2) {
+                return mi;
             }
+            J.Lambda lambdaArg = (J.Lambda) mi.getArguments().get(1);
+            lambdaArg = lambdaArg.withType(JavaType.buildType("org.assertj.core.api.ThrowableAssert.ThrowingCallable"));
+            mi = mi.withTemplate(
+                    rewriter.template("assertThatExceptionOfType(#{any(java.lang.Class)}).isThrownBy(#{any(org.assertj.core.api.ThrowableAssert.ThrowingCallable)})",
+                            "org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType"),
+                    mi.getCoordinates().replace(),
+                    mi.getArguments().get(0), lambdaArg);
+            rewriter.addImport("org.assertj.core.api.AssertionsForClassTypes", "assertThatExceptionOfType");
+            rewriter.removeImport("org.junit.jupiter.api.Assertions.assertThrows");
             return mi;
         }
+    };
+
+    private static class AssertExceptionTypeVisitor extends AssertJConversionVisitor {
+        AssertExceptionTypeVisitor() {
+            super(CONVERSION);
+        }
     }
 }
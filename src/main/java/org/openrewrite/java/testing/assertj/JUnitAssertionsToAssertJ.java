@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.assertj;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.search.UsesType;
+
+import java.time.Duration;
+
+public class JUnitAssertionsToAssertJ extends Recipe {
+
+    @Override
+    public String getDisplayName() {
+        return "JUnit assertions to AssertJ";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Convert every JUnit-style assertion from `org.junit.jupiter.api.Assertions` to its AssertJ equivalent in a single pass.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(5);
+    }
+
+    @Override
+    protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
+        return new UsesType<>(AssertJConversion.JUNIT_ASSERTIONS);
+    }
+
+    @Override
+    protected TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new AssertJConversionVisitor(
+                JUnitAssertArrayEqualsToAssertThat.CONVERSION,
+                JUnitAssertEqualsToAssertThat.CONVERSION,
+                JUnitAssertFalseToAssertThat.CONVERSION,
+                JUnitAssertNotEqualsToAssertThat.CONVERSION,
+                JUnitAssertNotNullToAssertThat.CONVERSION,
+                JUnitAssertNullToAssertThat.CONVERSION,
+                JUnitAssertSameToAssertThat.CONVERSION,
+                JUnitAssertTrueToAssertThat.CONVERSION,
+                JUnitFailToAssertJFail.CONVERSION,
+                JUnitAssertThrowsToAssertExceptionType.CONVERSION
+        );
+    }
+}
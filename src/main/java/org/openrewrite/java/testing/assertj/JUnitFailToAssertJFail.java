@@ -25,7 +25,6 @@ import org.openrewrite.java.tree.J;
 
 import java.time.Duration;
 import java.util.List;
-import java.util.function.Supplier;
 
 public class JUnitFailToAssertJFail extends Recipe {
     @Override
@@ -53,100 +52,82 @@ public class JUnitFailToAssertJFail extends Recipe {
         return new JUnitFailToAssertJFailVisitor();
     }
 
-    public static class JUnitFailToAssertJFailVisitor extends JavaIsoVisitor<ExecutionContext> {
-        private final Supplier<JavaParser> ASSERTJ_JAVA_PARSER = () -> JavaParser.fromJavaVersion().classpath("assertj-core").build();
-        private static final MethodMatcher JUNIT_FAIL_MATCHER = new MethodMatcher("org.junit.jupiter.api.Assertions" + " fail(..)");
-
+    static final AssertJConversion CONVERSION = new AssertJConversion("fail") {
         @Override
-        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
-            J.MethodInvocation m = method;
-
-            if (!JUNIT_FAIL_MATCHER.matches(m)) {
-                return m;
-            }
-
+        J.MethodInvocation convert(J.MethodInvocation m, Rewriter rewriter) {
             List<Expression> args = m.getArguments();
 
             if (args.size() == 1) {
                 // fail(), fail(String), fail(Supplier<String>), fail(Throwable)
                 if (args.get(0) instanceof J.Empty) {
                     m = m.withTemplate(
-                            JavaTemplate.builder(this::getCursor, "org.assertj.core.api.Assertions.fail(\"\");")
-                                    .javaParser(ASSERTJ_JAVA_PARSER)
-                                    .build(),
+                            rewriter.template("org.assertj.core.api.Assertions.fail(\"\");"),
                             m.getCoordinates().replace()
                     );
                 } else if (args.get(0) instanceof J.Literal) {
                     m = m.withTemplate(
-                            JavaTemplate.builder(this::getCursor, "org.assertj.core.api.Assertions.fail(#{});")
-                                    .javaParser(ASSERTJ_JAVA_PARSER)
-                                    .build(),
+                            rewriter.template("org.assertj.core.api.Assertions.fail(#{});"),
                             m.getCoordinates().replace(),
                             args.get(0)
                     );
                 } else {
                     m = m.withTemplate(
-                            JavaTemplate.builder(this::getCursor, "org.assertj.core.api.Assertions.fail(\"\", #{any()});")
-                                    .javaParser(ASSERTJ_JAVA_PARSER)
-                                    .build(),
+                            rewriter.template("org.assertj.core.api.Assertions.fail(\"\", #{any()});"),
                             m.getCoordinates().replace(),
                             args.get(0)
                     );
                 }
             } else {
                 // fail(String, Throwable)
-                StringBuilder templateBuilder = new StringBuilder("org.assertj.core.api.Assertions.fail(");
-                for (int i = 0; i < args.size(); i++) {
-                    templateBuilder.append("#{any()}");
-                    if (i < args.size() - 1) {
-                        templateBuilder.append(", ");
-                    }
-                }
-                templateBuilder.append(");");
-
-                m = m.withTemplate(JavaTemplate.builder(this::getCursor, templateBuilder.toString())
-                                .javaParser(ASSERTJ_JAVA_PARSER)
-                                .build(),
+                m = m.withTemplate(rewriter.template(failTemplate("org.assertj.core.api.Assertions.fail(", args.size())),
                         m.getCoordinates().replace(),
                         args.toArray()
                 );
             }
 
-            doAfterVisit(new RemoveUnusedImports());
-            doAfterVisit(new UnqualifiedMethodInvocations());
+            rewriter.afterVisit(new RemoveUnusedImports());
+            rewriter.afterVisit(new UnqualifiedMethodInvocations());
             return m;
         }
+    };
+
+    private static String failTemplate(String prefix, int arguments) {
+        StringBuilder templateBuilder = new StringBuilder(prefix);
+        for (int i = 0; i < arguments; i++) {
+            templateBuilder.append("#{any()}");
+            if (i < arguments - 1) {
+                templateBuilder.append(", ");
+            }
+        }
+        templateBuilder.append(");");
+        return templateBuilder.toString();
+    }
 
-        private static class UnqualifiedMethodInvocations extends JavaIsoVisitor<ExecutionContext> {
-            private final Supplier<JavaParser> ASSERTJ_JAVA_PARSER = () -> JavaParser.fromJavaVersion().classpath("assertj-core").build();
-            private static final MethodMatcher ASSERTJ_FAIL_MATCHER = new MethodMatcher("org.assertj.core.api.Assertions" + " fail(..)");
-
-            @Override
-            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext executionContext) {
-                if (!ASSERTJ_FAIL_MATCHER.matches(method)) {
-                    return method;
-                }
+    public static class JUnitFailToAssertJFailVisitor extends AssertJConversionVisitor {
+        public JUnitFailToAssertJFailVisitor() {
+            super(CONVERSION);
+        }
+    }
 
-                StringBuilder templateBuilder = new StringBuilder("fail(");
-                List<Expression> arguments = method.getArguments();
-                for (int i = 0; i < arguments.size(); i++) {
-                    templateBuilder.append("#{any()}");
-                    if (i < arguments.size() - 1) {
-                        templateBuilder.append(", ");
-                    }
-                }
-                templateBuilder.append(");");
+    private static class UnqualifiedMethodInvocations extends JavaIsoVisitor<ExecutionContext> {
+        private static final MethodMatcher ASSERTJ_FAIL_MATCHER = new MethodMatcher("org.assertj.core.api.Assertions" + " fail(..)");
 
-                method = method.withTemplate(JavaTemplate.builder(this::getCursor, templateBuilder.toString())
-                                .staticImports("org.assertj.core.api.Assertions" + ".fail")
-                                .javaParser(ASSERTJ_JAVA_PARSER)
-                                .build(),
-                        method.getCoordinates().replace(),
-                        arguments.toArray()
-                );
-                maybeAddImport("org.assertj.core.api.Assertions", "fail");
-                return super.visitMethodInvocation(method, executionContext);
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext executionContext) {
+            if (!ASSERTJ_FAIL_MATCHER.matches(method)) {
+                return method;
             }
+
+            List<Expression> arguments = method.getArguments();
+            method = method.withTemplate(JavaTemplate.builder(this::getCursor, failTemplate("fail(", arguments.size()))
+                            .staticImports("org.assertj.core.api.Assertions" + ".fail")
+                            .javaParser(AssertJConversion.ASSERTJ_JAVA_PARSER)
+                            .build(),
+                    method.getCoordinates().replace(),
+                    arguments.toArray()
+            );
+            maybeAddImport("org.assertj.core.api.Assertions", "fail");
+            return super.visitMethodInvocation(method, executionContext);
         }
     }
 }
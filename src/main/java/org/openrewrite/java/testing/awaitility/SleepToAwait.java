@@ -0,0 +1,433 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.awaitility;
+
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.testing.internal.LocalVariables;
+import org.openrewrite.java.testing.internal.TestAnnotations;
+import org.openrewrite.java.testing.internal.TypeReferenceIndex;
+import org.openrewrite.java.testing.internal.TypeStub;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.openrewrite.Tree.randomId;
+
+/**
+ * Replaces fixed sleeps in JUnit Jupiter test methods with Awaitility conditions.
+ * <p>
+ * A sleep directly followed by assertions becomes {@code await().atMost(..).untilAsserted(..)} on those assertions,
+ * bounded by twice the time the test used to sleep, but no less than Awaitility's default timeout. A {@code while}
+ * loop that only sleeps becomes {@code await().forever().pollInterval(..).until(..)} on the negated loop condition,
+ * which keeps waiting for as long as the loop did instead of giving up after Awaitility's default timeout.
+ * <p>
+ * Sleeps that can not be converted are marked instead: those that nothing is asserted after, those followed by
+ * assertions capturing local variables that are not effectively final, and those followed by assertions that
+ * something did <em>not</em> happen, such as {@code assertTrue(events.isEmpty())} or
+ * {@code verify(listener, never()).onEvent(any())}. Polling would make such an assertion pass before the thing it
+ * rules out had a chance to happen.
+ */
+public class SleepToAwait extends Recipe {
+    private static final MethodMatcher THREAD_SLEEP = new MethodMatcher("java.lang.Thread sleep(long)");
+    private static final MethodMatcher TIME_UNIT_SLEEP = new MethodMatcher("java.util.concurrent.TimeUnit sleep(long)");
+    private static final String TIME_UNIT = "java.util.concurrent.TimeUnit";
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * Assertion methods that check for something to be absent, false or empty.
+     */
+    private static final Set<String> ABSENCE_ASSERTIONS = new HashSet<>(Arrays.asList(
+            "assertFalse", "assertNull", "isEmpty", "isFalse", "isNull", "isZero", "doesNotContain",
+            "never", "verifyNoInteractions", "verifyNoMoreInteractions", "verifyZeroInteractions"));
+
+    /**
+     * Assertion methods that check for something to be absent when they expect {@code 0}, {@code false} or
+     * {@code null}.
+     */
+    private static final Set<String> EXPECTING_ASSERTIONS = new HashSet<>(Arrays.asList(
+            "assertEquals", "assertSame", "isEqualTo", "isSameAs", "hasSize", "times", "is", "equalTo"));
+
+    private static final Map<String, String> DURATION_FACTORIES = new HashMap<>();
+
+    static {
+        DURATION_FACTORIES.put("NANOSECONDS", "ofNanos");
+        DURATION_FACTORIES.put("MILLISECONDS", "ofMillis");
+        DURATION_FACTORIES.put("SECONDS", "ofSeconds");
+        DURATION_FACTORIES.put("MINUTES", "ofMinutes");
+        DURATION_FACTORIES.put("HOURS", "ofHours");
+        DURATION_FACTORIES.put("DAYS", "ofDays");
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Replace `Thread.sleep` in tests with Awaitility conditions";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Replaces fixed sleeps followed by assertions and polling loops that sleep in JUnit 5 tests with Awaitility, " +
+               "so tests stop waiting as soon as the condition holds. Polling loops keep waiting without a time limit, as they did " +
+               "before. Sleeps followed by assertions that something did not happen, and other sleeps that can not be converted " +
+               "safely, are marked.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(5);
+    }
+
+    @Override
+    protected @Nullable TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
+        Set<String> testAnnotations = TestAnnotations.typesWithRole(TestAnnotations.TEST_METHOD);
+        List<String> sleeps = Arrays.asList(
+                TypeReferenceIndex.methodKey("java.lang.Thread", "sleep"),
+                TypeReferenceIndex.methodKey(TIME_UNIT, "sleep"));
+        return TypeReferenceIndex.applicableIf(index -> index.referencesAnyMethod(sleeps) && index.referencesAnyType(testAnnotations));
+    }
+
+    @Override
+    protected TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new SleepToAwaitVisitor();
+    }
+
+    private static class SleepToAwaitVisitor extends JavaVisitor<ExecutionContext> {
+        private static final Supplier<JavaParser> AWAITILITY_PARSER = TypeStub.javaParser(
+                TypeStub.AWAITILITY, TypeStub.AWAITILITY_CONDITION_FACTORY, TypeStub.AWAITILITY_THROWING_RUNNABLE);
+
+        /**
+         * The statements to assert on, keyed on the id of the sleep statement they follow.
+         */
+        private static final String AWAITED = "awaited";
+
+        /**
+         * The ids of sleep statements followed by assertions that something did not happen.
+         */
+        private static final String ABSENT = "absent";
+
+        /**
+         * The local variables of a test method that lambdas can not capture.
+         */
+        private static final String REASSIGNED = "reassigned";
+
+        private final JavaTemplate untilAsserted = JavaTemplate.builder(this::getCursor,
+                        "await().atMost(Duration.#{}(#{})).untilAsserted(() -> #{})")
+                .javaParser(AWAITILITY_PARSER)
+                .imports("java.time.Duration")
+                .staticImports("org.awaitility.Awaitility.await")
+                .build();
+
+        private final JavaTemplate untilAssertedComputedBound = JavaTemplate.builder(this::getCursor,
+                        "await().atMost(Duration.#{}(#{any(long)}).multipliedBy(2).plusSeconds(10)).untilAsserted(() -> #{})")
+                .javaParser(AWAITILITY_PARSER)
+                .imports("java.time.Duration")
+                .staticImports("org.awaitility.Awaitility.await")
+                .build();
+
+        private final JavaTemplate until = JavaTemplate.builder(this::getCursor,
+                        "await().forever().pollInterval(Duration.#{}(#{any(long)})).until(() -> #{any(boolean)});")
+                .javaParser(AWAITILITY_PARSER)
+                .imports("java.time.Duration")
+                .staticImports("org.awaitility.Awaitility.await")
+                .build();
+
+        private final JavaTemplate untilNot = JavaTemplate.builder(this::getCursor,
+                        "await().forever().pollInterval(Duration.#{}(#{any(long)})).until(() -> !(#{any(boolean)}));")
+                .javaParser(AWAITILITY_PARSER)
+                .imports("java.time.Duration")
+                .staticImports("org.awaitility.Awaitility.await")
+                .build();
+
+        @Override
+        public J visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+            if (method.getBody() == null || !TestAnnotations.isTestMethod(method)) {
+                return method;
+            }
+            getCursor().putMessage(REASSIGNED, LocalVariables.notEffectivelyFinal(method));
+            return super.visitMethodDeclaration(method, ctx);
+        }
+
+        @Override
+        public J visitBlock(J.Block block, ExecutionContext ctx) {
+            if (!inTestMethod(getCursor())) {
+                return super.visitBlock(block, ctx);
+            }
+
+            List<Statement> statements = block.getStatements();
+            List<Statement> remaining = new ArrayList<>(statements.size());
+            Map<UUID, Statement> awaited = new HashMap<>();
+            Set<UUID> absent = new HashSet<>();
+            for (int i = 0; i < statements.size(); i++) {
+                Statement statement = statements.get(i);
+                remaining.add(statement);
+                if (!(statement instanceof J.MethodInvocation) || durationFactory((J.MethodInvocation) statement) == null) {
+                    continue;
+                }
+
+                List<Statement> assertions = new ArrayList<>();
+                for (int j = i + 1; j < statements.size() && isAssertion(statements.get(j)); j++) {
+                    assertions.add(statements.get(j));
+                }
+                if (assertions.isEmpty() || capturesReassignedLocal(assertions)) {
+                    continue;
+                } else if (assertsAbsence(assertions)) {
+                    absent.add(statement.getId());
+                    continue;
+                }
+
+                Statement body = assertions.size() == 1 ? assertions.get(0) :
+                        new J.Block(randomId(), Space.EMPTY, Markers.EMPTY, JRightPadded.build(false),
+                                JRightPadded.withElements(Collections.emptyList(), assertions), Space.format("\n"));
+                awaited.put(statement.getId(), body);
+                i += assertions.size();
+            }
+
+            if (!absent.isEmpty()) {
+                getCursor().putMessage(ABSENT, absent);
+            }
+            if (awaited.isEmpty()) {
+                return super.visitBlock(block, ctx);
+            }
+            getCursor().putMessage(AWAITED, awaited);
+            return super.visitBlock(block.withStatements(remaining), ctx);
+        }
+
+        @Override
+        public J visitWhileLoop(J.WhileLoop whileLoop, ExecutionContext ctx) {
+            J.MethodInvocation sleep = onlySleep(whileLoop.getBody());
+            if (sleep == null || !inTestMethod(getCursor())) {
+                return super.visitWhileLoop(whileLoop, ctx);
+            }
+
+            Expression condition = whileLoop.getCondition().getTree();
+            if (capturesReassignedLocal(Collections.singletonList(condition))) {
+                return whileLoop.withMarkers(whileLoop.getMarkers().searchResult(
+                        "The loop condition uses local variables that are not effectively final"));
+            }
+
+            String factory = durationFactory(sleep);
+            Expression duration = sleep.getArguments().get(0);
+            J awaitLoop;
+            if (condition instanceof J.Unary && ((J.Unary) condition).getOperator() == J.Unary.Type.Not) {
+                awaitLoop = whileLoop.withTemplate(until, whileLoop.getCoordinates().replace(),
+                        factory, duration, ((J.Unary) condition).getExpression());
+            } else {
+                awaitLoop = whileLoop.withTemplate(untilNot, whileLoop.getCoordinates().replace(),
+                        factory, duration, condition);
+            }
+            updateImports(sleep);
+            return awaitLoop;
+        }
+
+        @Override
+        public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+            J.MethodInvocation m = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+            String factory = durationFactory(m);
+            if (factory == null || !inTestMethod(getCursor())) {
+                return m;
+            }
+
+            Map<UUID, Statement> awaited = getCursor().getNearestMessage(AWAITED);
+            Statement assertions = awaited == null ? null : awaited.get(m.getId());
+            if (assertions == null) {
+                Set<UUID> absent = getCursor().getNearestMessage(ABSENT);
+                if (absent != null && absent.contains(m.getId())) {
+                    return m.withMarkers(m.getMarkers().searchResult(
+                            "Followed by assertions that something did not happen, which would pass before it could happen"));
+                }
+                return m.withMarkers(m.getMarkers().searchResult(
+                        "Not followed by assertions on local variables that are effectively final"));
+            }
+            updateImports(m);
+            Expression sleepTime = m.getArguments().get(0);
+            if (sleepTime instanceof J.Literal && ((J.Literal) sleepTime).getValue() instanceof Number) {
+                Duration bound = bound(factory, ((Number) ((J.Literal) sleepTime).getValue()).longValue());
+                if (bound.toMillis() % 60_000 == 0) {
+                    return m.withTemplate(untilAsserted, m.getCoordinates().replace(), "ofMinutes", bound.toMinutes(), assertions);
+                } else if (bound.toMillis() % 1_000 == 0) {
+                    return m.withTemplate(untilAsserted, m.getCoordinates().replace(), "ofSeconds", bound.getSeconds(), assertions);
+                }
+                return m.withTemplate(untilAsserted, m.getCoordinates().replace(), "ofMillis", bound.toMillis(), assertions);
+            }
+            return m.withTemplate(untilAssertedComputedBound, m.getCoordinates().replace(), factory, sleepTime, assertions);
+        }
+
+        /**
+         * Awaitility checks the condition every 100 ms, so a bound of exactly the sleep time would give up before
+         * the moment the test used to assert. The bound is twice the sleep time, but no less than Awaitility's
+         * default timeout of 10 seconds.
+         */
+        private static Duration bound(String factory, long sleepTime) {
+            Duration sleep;
+            switch (factory) {
+                case "ofNanos":
+                    sleep = Duration.ofNanos(sleepTime);
+                    break;
+                case "ofSeconds":
+                    sleep = Duration.ofSeconds(sleepTime);
+                    break;
+                case "ofMinutes":
+                    sleep = Duration.ofMinutes(sleepTime);
+                    break;
+                case "ofHours":
+                    sleep = Duration.ofHours(sleepTime);
+                    break;
+                case "ofDays":
+                    sleep = Duration.ofDays(sleepTime);
+                    break;
+                case "ofMillis":
+                default:
+                    sleep = Duration.ofMillis(sleepTime);
+                    break;
+            }
+            Duration bound = sleep.multipliedBy(2);
+            if (bound.compareTo(DEFAULT_TIMEOUT) < 0) {
+                return DEFAULT_TIMEOUT;
+            }
+            // whole milliseconds, rounded up
+            return Duration.ofMillis(bound.plusNanos(999_999).toMillis());
+        }
+
+        private void updateImports(J.MethodInvocation sleep) {
+            maybeAddImport("org.awaitility.Awaitility", "await");
+            maybeAddImport("java.time.Duration");
+            if (TIME_UNIT_SLEEP.matches(sleep)) {
+                maybeRemoveImport(TIME_UNIT);
+                if (sleep.getSelect() instanceof J.Identifier) {
+                    maybeRemoveImport(TIME_UNIT + "." + ((J.Identifier) sleep.getSelect()).getSimpleName());
+                }
+            }
+        }
+
+        /**
+         * @return The {@link Duration} factory method for the unit the invocation sleeps in, or {@code null} when
+         * the invocation is not a sleep that can be converted.
+         */
+        @Nullable
+        private static String durationFactory(J.MethodInvocation method) {
+            if (THREAD_SLEEP.matches(method)) {
+                return "ofMillis";
+            } else if (TIME_UNIT_SLEEP.matches(method)) {
+                Expression select = method.getSelect();
+                if (select instanceof J.FieldAccess) {
+                    return DURATION_FACTORIES.get(((J.FieldAccess) select).getSimpleName());
+                } else if (select instanceof J.Identifier) {
+                    return DURATION_FACTORIES.get(((J.Identifier) select).getSimpleName());
+                }
+            }
+            return null;
+        }
+
+        @Nullable
+        private static J.MethodInvocation onlySleep(Statement body) {
+            Statement statement = body;
+            if (body instanceof J.Block) {
+                List<Statement> statements = ((J.Block) body).getStatements();
+                if (statements.size() != 1) {
+                    return null;
+                }
+                statement = statements.get(0);
+            }
+            return statement instanceof J.MethodInvocation && durationFactory((J.MethodInvocation) statement) != null ?
+                    (J.MethodInvocation) statement : null;
+        }
+
+        /**
+         * An assertion is an invocation chain starting with a JUnit, AssertJ or Hamcrest {@code assert*} method
+         * or with Mockito's {@code verify}.
+         */
+        private static boolean isAssertion(Statement statement) {
+            if (!(statement instanceof J.MethodInvocation)) {
+                return false;
+            }
+            J.MethodInvocation first = (J.MethodInvocation) statement;
+            while (first.getSelect() instanceof J.MethodInvocation) {
+                first = (J.MethodInvocation) first.getSelect();
+            }
+            return first.getSimpleName().startsWith("assert") || "verify".equals(first.getSimpleName());
+        }
+
+        /**
+         * Whether any of the assertions checks that something is absent, false or empty. Double negations such as
+         * {@code assertFalse(events.isEmpty())} are not told apart, so they count as checking for absence too.
+         */
+        private static boolean assertsAbsence(List<Statement> assertions) {
+            AtomicBoolean absence = new AtomicBoolean();
+            JavaIsoVisitor<AtomicBoolean> visitor = new JavaIsoVisitor<AtomicBoolean>() {
+                @Override
+                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, AtomicBoolean found) {
+                    String name = method.getSimpleName();
+                    if (ABSENCE_ASSERTIONS.contains(name) ||
+                        EXPECTING_ASSERTIONS.contains(name) && method.getArguments().stream().anyMatch(SleepToAwaitVisitor::isNothing)) {
+                        found.set(true);
+                        return method;
+                    }
+                    return super.visitMethodInvocation(method, found);
+                }
+            };
+            for (Statement assertion : assertions) {
+                visitor.visit(assertion, absence);
+            }
+            return absence.get();
+        }
+
+        private static boolean isNothing(Expression expression) {
+            if (!(expression instanceof J.Literal)) {
+                return false;
+            }
+            Object value = ((J.Literal) expression).getValue();
+            return value == null || Boolean.FALSE.equals(value) ||
+                   value instanceof Number && ((Number) value).doubleValue() == 0;
+        }
+
+        private static boolean inTestMethod(Cursor cursor) {
+            for (Cursor c = cursor; c != null; c = c.getParent()) {
+                Object value = c.getValue();
+                if (value instanceof J.MethodDeclaration) {
+                    return c.getMessage(REASSIGNED) != null;
+                } else if (value instanceof J.Lambda || value instanceof J.ClassDeclaration) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        private boolean capturesReassignedLocal(List<? extends J> trees) {
+            Set<String> reassigned = getCursor().getNearestMessage(REASSIGNED);
+            if (reassigned == null) {
+                return false;
+            }
+            for (J tree : trees) {
+                if (LocalVariables.referencesAny(tree, reassigned)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
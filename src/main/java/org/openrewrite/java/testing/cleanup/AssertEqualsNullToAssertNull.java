@@ -18,18 +18,63 @@ package org.openrewrite.java.testing.cleanup;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.*;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 
-import java.util.function.Supplier;
-
 public class AssertEqualsNullToAssertNull extends Recipe {
     private static final MethodMatcher ASSERT_EQUALS = new MethodMatcher(
             "org.junit.jupiter.api.Assertions assertEquals(..)");
 
+    static final AssertionRewrite REWRITE = new AssertionRewrite(AssertionRewrite.JUPITER_ASSERTIONS, "assertEquals") {
+        @Override
+        J.MethodInvocation rewrite(JavaVisitor<ExecutionContext> visitor, J.MethodInvocation method,
+                                   J.MethodInvocation mi, ExecutionContext ctx) {
+            if (!hasNullLiteralArg(mi)) {
+                return mi;
+            }
+            StringBuilder sb = new StringBuilder();
+            Object[] args;
+            if (mi.getSelect() != null) {
+                sb.append("Assertions.");
+            }
+            sb.append("assertNull(#{any(java.lang.Object)}");
+            if (mi.getArguments().size() == 3) {
+                sb.append(", #{any()}");
+                args = new Object[]{(isNullLiteral(mi.getArguments().get(0)) ? mi.getArguments().get(1) : mi.getArguments().get(0)), mi.getArguments().get(2)};
+            } else {
+                args = new Object[]{(isNullLiteral(mi.getArguments().get(0)) ? mi.getArguments().get(1) : mi.getArguments().get(0))};
+            }
+            sb.append(")");
+            JavaTemplate t;
+            if(method.getSelect() == null) {
+                visitor.maybeRemoveImport("org.junit.jupiter.api.Assertions");
+                visitor.maybeAddImport("org.junit.jupiter.api.Assertions", "assertNull");
+                t = JavaTemplate.builder(visitor::getCursor, sb.toString()).javaParser(JUPITER_PARSER)
+                        .staticImports("org.junit.jupiter.api.Assertions.assertNull").build();
+            } else {
+                t = JavaTemplate.builder(visitor::getCursor, sb.toString()).javaParser(JUPITER_PARSER)
+                        .imports("org.junit.jupiter.api.Assertions.assertNull").build();
+            }
+            return mi.withTemplate(t, mi.getCoordinates().replace(), args);
+        }
+
+        private boolean hasNullLiteralArg(J.MethodInvocation method) {
+            if (method.getArguments().size() > 1) {
+                return isNullLiteral(method.getArguments().get(0)) || isNullLiteral(method.getArguments().get(1));
+            }
+            return false;
+        }
+
+        private boolean isNullLiteral(Expression expr) {
+            return expr.getType() == JavaType.Primitive.Null;
+        }
+    };
+
     @Override
     public String getDisplayName() {
         return "`assertEquals(a, null)` to `assertNull(a)`";
@@ -49,51 +94,10 @@ public class AssertEqualsNullToAssertNull extends Recipe {
     protected JavaVisitor<ExecutionContext> getVisitor() {
 
         return new JavaVisitor<ExecutionContext>() {
-            final Supplier<JavaParser> javaParser = () -> JavaParser.fromJavaVersion()
-                    .classpath("junit-jupiter-api")
-                    .build();
-
             @Override
             public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
-                if (ASSERT_EQUALS.matches(method) && hasNullLiteralArg(mi)) {
-                    StringBuilder sb = new StringBuilder();
-                    Object[] args;
-                    if (mi.getSelect() != null) {
-                        sb.append("Assertions.");
-                    }
-                    sb.append("assertNull(#{any(java.lang.Object)}");
-                    if (mi.getArguments().size() == 3) {
-                        sb.append(", #{any()}");
-                        args = new Object[]{(isNullLiteral(mi.getArguments().get(0)) ? mi.getArguments().get(1) : mi.getArguments().get(0)), mi.getArguments().get(2)};
-                    } else {
-                        args = new Object[]{(isNullLiteral(mi.getArguments().get(0)) ? mi.getArguments().get(1) : mi.getArguments().get(0))};
-                    }
-                    sb.append(")");
-                    JavaTemplate t;
-                    if(method.getSelect() == null) {
-                        maybeRemoveImport("org.junit.jupiter.api.Assertions");
-                        maybeAddImport("org.junit.jupiter.api.Assertions", "assertNull");
-                        t = JavaTemplate.builder(this::getCursor, sb.toString()).javaParser(javaParser)
-                                .staticImports("org.junit.jupiter.api.Assertions.assertNull").build();
-                    } else {
-                        t = JavaTemplate.builder(this::getCursor, sb.toString()).javaParser(javaParser)
-                                .imports("org.junit.jupiter.api.Assertions.assertNull").build();
-                    }
-                    return mi.withTemplate(t, mi.getCoordinates().replace(), args);
-                }
-                return mi;
-            }
-
-            private boolean hasNullLiteralArg(J.MethodInvocation method) {
-                if (method.getArguments().size() > 1) {
-                    return isNullLiteral(method.getArguments().get(0)) || isNullLiteral(method.getArguments().get(1));
-                }
-                return false;
-            }
-
-            private boolean isNullLiteral(Expression expr) {
-                return expr.getType() == JavaType.Primitive.Null;
+                return REWRITE.matches(method) ? REWRITE.rewrite(this, method, mi, ctx) : mi;
             }
         };
     }
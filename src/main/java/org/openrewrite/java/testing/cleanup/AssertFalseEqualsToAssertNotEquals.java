@@ -18,17 +18,63 @@ package org.openrewrite.java.testing.cleanup;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.*;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 
-import java.util.function.Supplier;
-
 public class AssertFalseEqualsToAssertNotEquals extends Recipe {
     private static final MethodMatcher ASSERT_FALSE = new MethodMatcher(
             "org.junit.jupiter.api.Assertions assertFalse(..)");
 
+    static final AssertionRewrite REWRITE = new AssertionRewrite(AssertionRewrite.JUPITER_ASSERTIONS, "assertFalse") {
+        @Override
+        J.MethodInvocation rewrite(JavaVisitor<ExecutionContext> visitor, J.MethodInvocation method,
+                                   J.MethodInvocation mi, ExecutionContext ctx) {
+            if (!isEquals(method.getArguments().get(0))) {
+                return mi;
+            }
+            StringBuilder sb = new StringBuilder();
+            Object[] args;
+            if (mi.getSelect() == null) {
+                visitor.maybeRemoveImport("org.junit.jupiter.api.Assertions");
+                visitor.maybeAddImport("org.junit.jupiter.api.Assertions", "assertNotEquals");
+            } else {
+                sb.append("Assertions.");
+            }
+            sb.append("assertNotEquals(#{any(java.lang.Object)}, #{any(java.lang.Object)}");
+            if (mi.getArguments().size() == 2) {
+                sb.append(", #{any()}");
+            }
+            sb.append(")");
+
+            J.MethodInvocation s = (J.MethodInvocation) method.getArguments().get(0);
+            args = method.getArguments().size() == 2 ? new Object[]{s.getSelect(), s.getArguments().get(0), mi.getArguments().get(1)} : new Object[]{s.getSelect(), s.getArguments().get(0)};
+            JavaTemplate t;
+            if (mi.getSelect() == null) {
+                t = JavaTemplate.builder(visitor::getCursor, sb.toString())
+                        .staticImports("org.junit.jupiter.api.Assertions.assertNotEquals").javaParser(JUPITER_PARSER).build();
+            } else {
+                t = JavaTemplate.builder(visitor::getCursor, sb.toString())
+                        .imports("org.junit.jupiter.api.Assertions").javaParser(JUPITER_PARSER).build();
+            }
+            return mi.withTemplate(t, mi.getCoordinates().replace(), args);
+        }
+
+        private boolean isEquals(Expression expr) {
+            if (!(expr instanceof J.MethodInvocation)) {
+                return false;
+            }
+
+            J.MethodInvocation methodInvocation = (J.MethodInvocation) expr;
+
+            return "equals".equals(methodInvocation.getName().getSimpleName())
+                    && methodInvocation.getArguments().size() == 1;
+        }
+    };
+
     @Override
     public String getDisplayName() {
         return "Replace JUnit `assertFalse(a.equals(b))` to `assertNotEquals(a,b)`";
@@ -47,52 +93,10 @@ public class AssertFalseEqualsToAssertNotEquals extends Recipe {
     @Override
     protected JavaVisitor<ExecutionContext> getVisitor() {
         return new JavaVisitor<ExecutionContext>() {
-            final Supplier<JavaParser> javaParser = () -> JavaParser.fromJavaVersion()
-                    .classpath("junit-jupiter-api")
-                    .build();
-
             @Override
             public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
-                if (ASSERT_FALSE.matches(method) && isEquals(method.getArguments().get(0))) {
-                    StringBuilder sb = new StringBuilder();
-                    Object[] args;
-                    if (mi.getSelect() == null) {
-                        maybeRemoveImport("org.junit.jupiter.api.Assertions");
-                        maybeAddImport("org.junit.jupiter.api.Assertions", "assertNotEquals");
-                    } else {
-                        sb.append("Assertions.");
-                    }
-                    sb.append("assertNotEquals(#{any(java.lang.Object)}, #{any(java.lang.Object)}");
-                    if (mi.getArguments().size() == 2) {
-                        sb.append(", #{any()}");
-                    }
-                    sb.append(")");
-
-                    J.MethodInvocation s = (J.MethodInvocation) method.getArguments().get(0);
-                    args = method.getArguments().size() == 2 ? new Object[]{s.getSelect(), s.getArguments().get(0), mi.getArguments().get(1)} : new Object[]{s.getSelect(), s.getArguments().get(0)};
-                    JavaTemplate t;
-                    if (mi.getSelect() == null) {
-                        t = JavaTemplate.builder(this::getCursor, sb.toString())
-                                .staticImports("org.junit.jupiter.api.Assertions.assertNotEquals").javaParser(javaParser).build();
-                    } else {
-                        t = JavaTemplate.builder(this::getCursor, sb.toString())
-                                .imports("org.junit.jupiter.api.Assertions").javaParser(javaParser).build();
-                    }
-                    return mi.withTemplate(t, mi.getCoordinates().replace(), args);
-                }
-                return mi;
-            }
-
-            private boolean isEquals(Expression expr) {
-                if (!(expr instanceof J.MethodInvocation)) {
-                    return false;
-                }
-
-                J.MethodInvocation methodInvocation = (J.MethodInvocation) expr;
-
-                return "equals".equals(methodInvocation.getName().getSimpleName())
-                        && methodInvocation.getArguments().size() == 1;
+                return REWRITE.matches(method) ? REWRITE.rewrite(this, method, mi, ctx) : mi;
             }
         };
     }
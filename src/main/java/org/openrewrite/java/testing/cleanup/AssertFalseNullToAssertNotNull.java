@@ -18,17 +18,88 @@ package org.openrewrite.java.testing.cleanup;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.*;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 
-import java.util.function.Supplier;
-
 public class AssertFalseNullToAssertNotNull extends Recipe {
     private static final MethodMatcher ASSERT_FALSE = new MethodMatcher(
             "org.junit.jupiter.api.Assertions assertFalse(..)");
 
+    static final AssertionRewrite REWRITE = new AssertionRewrite(AssertionRewrite.JUPITER_ASSERTIONS, "assertFalse") {
+        @Override
+        J.MethodInvocation rewrite(JavaVisitor<ExecutionContext> visitor, J.MethodInvocation original,
+                                   J.MethodInvocation mi, ExecutionContext ctx) {
+            if (!isEqualBinary(mi)) {
+                return mi;
+            }
+            StringBuilder sb = new StringBuilder();
+
+            J.Binary binary = (J.Binary) mi.getArguments().get(0);
+            Expression nonNullExpression = getNonNullExpression(binary);
+
+            if (mi.getSelect() == null) {
+                visitor.maybeRemoveImport("org.junit.jupiter.api.Assertions");
+                visitor.maybeAddImport("org.junit.jupiter.api.Assertions", "assertNotNull");
+            } else {
+                sb.append("Assertions.");
+            }
+            sb.append("assertNotNull(#{any(java.lang.Object)}");
+            Object[] args;
+            if (mi.getArguments().size() == 2) {
+                sb.append(", #{any()}");
+                args = new J[]{nonNullExpression, mi.getArguments().get(1)};
+            } else {
+                args = new J[]{nonNullExpression};
+            }
+            sb.append(")");
+
+            JavaTemplate t;
+            if (mi.getSelect() == null) {
+                t = JavaTemplate.builder(visitor::getCursor, sb.toString())
+                        .staticImports("org.junit.jupiter.api.Assertions.assertNotNull")
+                        .javaParser(JUPITER_PARSER).build();
+            } else {
+                t = JavaTemplate.builder(visitor::getCursor, sb.toString())
+                        .imports("org.junit.jupiter.api.Assertions")
+                        .javaParser(JUPITER_PARSER).build();
+            }
+            return mi.withTemplate(t, mi.getCoordinates().replace(), args);
+        }
+
+
+        private Expression getNonNullExpression(J.Binary binary) {
+
+            if (binary.getRight() instanceof J.Literal){
+                boolean isNull = ((J.Literal) binary.getRight()).getValue() == null;
+                if (isNull){
+                    return binary.getLeft();
+                }
+            }
+
+            return binary.getRight();
+        }
+
+        private boolean isEqualBinary(J.MethodInvocation method) {
+
+            if (method.getArguments().isEmpty()) {
+                return false;
+            }
+
+            final Expression firstArgument = method.getArguments().get(0);
+            if (!(firstArgument instanceof J.Binary)) {
+                return false;
+            }
+
+            J.Binary binary = (J.Binary) firstArgument;
+            J.Binary.Type operator = binary.getOperator();
+            return operator.equals(J.Binary.Type.Equal);
+        }
+    };
+
     @Override
     public String getDisplayName() {
         return "Replace JUnit `assertFalse(a == null)` to `assertNotNull(a)`";
@@ -47,77 +118,10 @@ public class AssertFalseNullToAssertNotNull extends Recipe {
     @Override
     protected JavaVisitor<ExecutionContext> getVisitor() {
         return new JavaVisitor<ExecutionContext>() {
-            final Supplier<JavaParser> javaParser = () -> JavaParser.fromJavaVersion()
-                    .classpath("junit-jupiter-api")
-                    .build();
-
             @Override
             public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
-                if (ASSERT_FALSE.matches(mi) && isEqualBinary(mi)) {
-                    StringBuilder sb = new StringBuilder();
-                    
-                    J.Binary binary = (J.Binary) mi.getArguments().get(0);
-                    Expression nonNullExpression = getNonNullExpression(binary);
-
-                    if (mi.getSelect() == null) {
-                        maybeRemoveImport("org.junit.jupiter.api.Assertions");
-                        maybeAddImport("org.junit.jupiter.api.Assertions", "assertNotNull");
-                    } else {
-                        sb.append("Assertions.");
-                    }
-                    sb.append("assertNotNull(#{any(java.lang.Object)}");
-                    Object[] args;
-                    if (mi.getArguments().size() == 2) {
-                        sb.append(", #{any()}");
-                        args = new J[]{nonNullExpression, mi.getArguments().get(1)};
-                    } else {
-                        args = new J[]{nonNullExpression};
-                    }
-                    sb.append(")");
-
-                    JavaTemplate t;
-                    if (mi.getSelect() == null) {
-                        t = JavaTemplate.builder(this::getCursor, sb.toString())
-                                .staticImports("org.junit.jupiter.api.Assertions.assertNotNull")
-                                .javaParser(javaParser).build();
-                    } else {
-                        t = JavaTemplate.builder(this::getCursor, sb.toString())
-                                .imports("org.junit.jupiter.api.Assertions")
-                                .javaParser(javaParser).build();
-                    }
-                    return mi.withTemplate(t, mi.getCoordinates().replace(), args);
-                }
-                return mi;
-            }
-
-
-            private Expression getNonNullExpression(J.Binary binary) {
-
-                if (binary.getRight() instanceof J.Literal){
-                    boolean isNull = ((J.Literal) binary.getRight()).getValue() == null;
-                    if (isNull){
-                        return binary.getLeft();
-                    }
-                }
-
-                return binary.getRight();
-            }
-
-            private boolean isEqualBinary(J.MethodInvocation method) {
-
-                if (method.getArguments().isEmpty()) {
-                    return false;
-                }
-
-                final Expression firstArgument = method.getArguments().get(0);
-                if (!(firstArgument instanceof J.Binary)) {
-                    return false;
-                }
-
-                J.Binary binary = (J.Binary) firstArgument;
-                J.Binary.Type operator = binary.getOperator();
-                return operator.equals(J.Binary.Type.Equal);
+                return REWRITE.matches(mi) ? REWRITE.rewrite(this, method, mi, ctx) : mi;
             }
         };
     }
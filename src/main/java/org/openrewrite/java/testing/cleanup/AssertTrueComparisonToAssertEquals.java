@@ -18,18 +18,81 @@ package org.openrewrite.java.testing.cleanup;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.*;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 
-import java.util.function.Supplier;
-
 public class AssertTrueComparisonToAssertEquals extends Recipe {
     private static final MethodMatcher ASSERT_TRUE = new MethodMatcher(
             "org.junit.jupiter.api.Assertions assertTrue(..)");
 
+    static final AssertionRewrite REWRITE = new AssertionRewrite(AssertionRewrite.JUPITER_ASSERTIONS, "assertTrue") {
+        @Override
+        J.MethodInvocation rewrite(JavaVisitor<ExecutionContext> visitor, J.MethodInvocation original,
+                                   J.MethodInvocation mi, ExecutionContext ctx) {
+            if (!isEqualBinary(mi)) {
+                return mi;
+            }
+            J.Binary binary = (J.Binary) mi.getArguments().get(0);
+            StringBuilder sb = new StringBuilder();
+            Object[] args;
+            if (mi.getSelect() != null) {
+                sb.append("Assertions.");
+            }
+            sb.append("assertEquals(#{any(java.lang.Object)}, #{any(java.lang.Object)}");
+            if (mi.getArguments().size() == 2) {
+                sb.append(", #{any()}");
+                args = new Object[]{binary.getLeft(), binary.getRight(), mi.getArguments().get(1)};
+            } else {
+                args = new Object[]{binary.getLeft(), binary.getRight()};
+            }
+            sb.append(")");
+            JavaTemplate t;
+            if (mi.getSelect() == null) {
+                visitor.maybeRemoveImport("org.junit.jupiter.api.Assertions");
+                visitor.maybeAddImport("org.junit.jupiter.api.Assertions", "assertEquals");
+                t = JavaTemplate.builder(visitor::getCursor, sb.toString()).javaParser(JUPITER_PARSER)
+                        .staticImports("org.junit.jupiter.api.Assertions.assertEquals").build();
+            } else {
+                t = JavaTemplate.builder(visitor::getCursor, sb.toString()).javaParser(JUPITER_PARSER)
+                        .imports("org.junit.jupiter.api.Assertions").build();
+
+            }
+            return mi.withTemplate(t, mi.getCoordinates().replace(), args);
+        }
+
+        private boolean isEqualBinary(J.MethodInvocation method) {
+
+            if (method.getArguments().isEmpty()) {
+                return false;
+            }
+
+            final Expression firstArgument = method.getArguments().get(0);
+            if (!(firstArgument instanceof J.Binary)) {
+                return false;
+            }
+
+            J.Binary binary = (J.Binary) firstArgument;
+            J.Binary.Type operator = binary.getOperator();
+
+            if (!operator.equals(J.Binary.Type.Equal)) {
+                return false;
+            }
+
+            // Prevent breaking identity comparison.
+            // Objects that are compared with == should not be compared with `.equals()` instead.
+            // Out of the primitives == is not allowed when both are of type String
+            return binary.getLeft().getType() instanceof JavaType.Primitive
+                    && binary.getRight().getType() instanceof JavaType.Primitive
+                    && !(binary.getLeft().getType() == JavaType.Primitive.String
+                    && binary.getRight().getType() == JavaType.Primitive.String);
+        }
+    };
+
     @Override
     public String getDisplayName() {
         return "Junit `assertTrue(a == b)` to `assertEquals(a,b)`";
@@ -48,69 +111,10 @@ public class AssertTrueComparisonToAssertEquals extends Recipe {
     @Override
     protected JavaVisitor<ExecutionContext> getVisitor() {
         return new JavaVisitor<ExecutionContext>() {
-            final Supplier<JavaParser> javaParser = () -> JavaParser.fromJavaVersion()
-                    .classpath("junit-jupiter-api")
-                    .build();
-
             @Override
             public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
-                if (ASSERT_TRUE.matches(mi) && isEqualBinary(mi)) {
-                    J.Binary binary = (J.Binary) mi.getArguments().get(0);
-                    StringBuilder sb = new StringBuilder();
-                    Object[] args;
-                    if (mi.getSelect() != null) {
-                        sb.append("Assertions.");
-                    }
-                    sb.append("assertEquals(#{any(java.lang.Object)}, #{any(java.lang.Object)}");
-                    if (mi.getArguments().size() == 2) {
-                        sb.append(", #{any()}");
-                        args = new Object[]{binary.getLeft(), binary.getRight(), mi.getArguments().get(1)};
-                    } else {
-                        args = new Object[]{binary.getLeft(), binary.getRight()};
-                    }
-                    sb.append(")");
-                    JavaTemplate t;
-                    if (mi.getSelect() == null) {
-                        maybeRemoveImport("org.junit.jupiter.api.Assertions");
-                        maybeAddImport("org.junit.jupiter.api.Assertions", "assertEquals");
-                        t = JavaTemplate.builder(this::getCursor, sb.toString()).javaParser(javaParser)
-                                .staticImports("org.junit.jupiter.api.Assertions.assertEquals").build();
-                    } else {
-                        t = JavaTemplate.builder(this::getCursor, sb.toString()).javaParser(javaParser)
-                                .imports("org.junit.jupiter.api.Assertions").build();
-
-                    }
-                    return mi.withTemplate(t, mi.getCoordinates().replace(), args);
-                }
-                return mi;
-            }
-
-            private boolean isEqualBinary(J.MethodInvocation method) {
-
-                if (method.getArguments().isEmpty()) {
-                    return false;
-                }
-
-                final Expression firstArgument = method.getArguments().get(0);
-                if (!(firstArgument instanceof J.Binary)) {
-                    return false;
-                }
-
-                J.Binary binary = (J.Binary) firstArgument;
-                J.Binary.Type operator = binary.getOperator();
-
-                if (!operator.equals(J.Binary.Type.Equal)) {
-                    return false;
-                }
-
-                // Prevent breaking identity comparison.
-                // Objects that are compared with == should not be compared with `.equals()` instead.
-                // Out of the primitives == is not allowed when both are of type String
-                return binary.getLeft().getType() instanceof JavaType.Primitive
-                        && binary.getRight().getType() instanceof JavaType.Primitive
-                        && !(binary.getLeft().getType() == JavaType.Primitive.String
-                        && binary.getRight().getType() == JavaType.Primitive.String);
+                return REWRITE.matches(mi) ? REWRITE.rewrite(this, method, mi, ctx) : mi;
             }
         };
     }
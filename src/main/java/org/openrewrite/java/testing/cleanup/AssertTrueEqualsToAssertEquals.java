@@ -18,17 +18,66 @@ package org.openrewrite.java.testing.cleanup;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.*;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 
-import java.util.function.Supplier;
-
 public class AssertTrueEqualsToAssertEquals extends Recipe {
     private static final MethodMatcher ASSERT_TRUE = new MethodMatcher(
             "org.junit.jupiter.api.Assertions assertTrue(..)");
 
+    static final AssertionRewrite REWRITE = new AssertionRewrite(AssertionRewrite.JUPITER_ASSERTIONS, "assertTrue") {
+        @Override
+        J.MethodInvocation rewrite(JavaVisitor<ExecutionContext> visitor, J.MethodInvocation original,
+                                   J.MethodInvocation mi, ExecutionContext ctx) {
+            if (!isEquals(mi.getArguments().get(0))) {
+                return mi;
+            }
+            StringBuilder sb = new StringBuilder();
+            if (mi.getSelect() == null) {
+                visitor.maybeRemoveImport("org.junit.jupiter.api.Assertions");
+                visitor.maybeAddImport("org.junit.jupiter.api.Assertions", "assertEquals");
+            } else {
+                sb.append("Assertions.");
+            }
+            J.MethodInvocation s = (J.MethodInvocation) mi.getArguments().get(0);
+            sb.append("assertEquals(#{any(java.lang.Object)},#{any(java.lang.Object)}");
+            Object[] args;
+            if (mi.getArguments().size() == 2) {
+                args = new Object[]{s.getSelect(), s.getArguments().get(0), mi.getArguments().get(1)};
+                sb.append(", #{any()}");
+            } else {
+                args = new Object[]{s.getSelect(),  s.getArguments().get(0)};
+            }
+            sb.append(")");
+            JavaTemplate t;
+            if(mi.getSelect() == null) {
+                t = JavaTemplate.builder(visitor::getCursor, sb.toString())
+                        .staticImports("org.junit.jupiter.api.Assertions.assertEquals")
+                        .javaParser(JUPITER_PARSER).build();
+            } else {
+                t = JavaTemplate.builder(visitor::getCursor, sb.toString())
+                        .imports("org.junit.jupiter.api.Assertions.assertEquals")
+                        .javaParser(JUPITER_PARSER).build();
+            }
+            return mi.withTemplate(t, mi.getCoordinates().replace(), args);
+        }
+
+        private boolean isEquals(Expression expr) {
+            if (!(expr instanceof J.MethodInvocation)) {
+                return false;
+            }
+
+           J.MethodInvocation methodInvocation = (J.MethodInvocation) expr;
+
+           return "equals".equals(methodInvocation.getName().getSimpleName())
+                  && methodInvocation.getArguments().size() == 1;
+        }
+    };
+
     @Override
     public String getDisplayName() {
         return "Replace JUnit `assertTrue(a.equals(b))` to `assertEquals(a,b)`";
@@ -48,55 +97,10 @@ public class AssertTrueEqualsToAssertEquals extends Recipe {
     protected JavaVisitor<ExecutionContext> getVisitor() {
 
         return new JavaVisitor<ExecutionContext>() {
-            final Supplier<JavaParser> javaParser = () -> JavaParser.fromJavaVersion()
-                    .classpath("junit-jupiter-api")
-                    .build();
-
             @Override
             public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
-                if (ASSERT_TRUE.matches(mi) && isEquals(mi.getArguments().get(0))) {
-                    StringBuilder sb = new StringBuilder();
-                    if (mi.getSelect() == null) {
-                        maybeRemoveImport("org.junit.jupiter.api.Assertions");
-                        maybeAddImport("org.junit.jupiter.api.Assertions", "assertEquals");
-                    } else {
-                        sb.append("Assertions.");
-                    }
-                    J.MethodInvocation s = (J.MethodInvocation) mi.getArguments().get(0);
-                    sb.append("assertEquals(#{any(java.lang.Object)},#{any(java.lang.Object)}");
-                    Object[] args;
-                    if (mi.getArguments().size() == 2) {
-                        args = new Object[]{s.getSelect(), s.getArguments().get(0), mi.getArguments().get(1)};
-                        sb.append(", #{any()}");
-                    } else {
-                        args = new Object[]{s.getSelect(),  s.getArguments().get(0)};
-                    }
-                    sb.append(")");
-                    JavaTemplate t;
-                    if(mi.getSelect() == null) {
-                        t = JavaTemplate.builder(this::getCursor, sb.toString())
-                                .staticImports("org.junit.jupiter.api.Assertions.assertEquals")
-                                .javaParser(javaParser).build();
-                    } else {
-                        t = JavaTemplate.builder(this::getCursor, sb.toString())
-                                .imports("org.junit.jupiter.api.Assertions.assertEquals")
-                                .javaParser(javaParser).build();
-                    }
-                    return mi.withTemplate(t, mi.getCoordinates().replace(), args);
-                }
-                return mi;
-            }
-
-            private boolean isEquals(Expression expr) {
-                if (!(expr instanceof J.MethodInvocation)) {
-                    return false;
-                }
-
-               J.MethodInvocation methodInvocation = (J.MethodInvocation) expr;
-
-               return "equals".equals(methodInvocation.getName().getSimpleName())
-                      && methodInvocation.getArguments().size() == 1;
+                return REWRITE.matches(mi) ? REWRITE.rewrite(this, method, mi, ctx) : mi;
             }
         };
     }
@@ -17,14 +17,55 @@ package org.openrewrite.java.testing.cleanup;
 
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
-import org.openrewrite.java.*;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.tree.J;
 
-import java.util.function.Supplier;
-
 public class AssertTrueNegationToAssertFalse extends Recipe {
-    private static final MethodMatcher ASSERT_TRUE = new MethodMatcher(
-            "org.junit.jupiter.api.Assertions assertTrue(..)");
+    static final AssertionRewrite REWRITE = new AssertionRewrite(AssertionRewrite.JUPITER_ASSERTIONS, "assertTrue") {
+        @Override
+        J.MethodInvocation rewrite(JavaVisitor<ExecutionContext> visitor, J.MethodInvocation original,
+                                   J.MethodInvocation mi, ExecutionContext ctx) {
+            if (!isUnaryOperatorNot(mi)) {
+                return mi;
+            }
+            StringBuilder sb = new StringBuilder();
+            J.Unary unary = (J.Unary) mi.getArguments().get(0);
+            if (mi.getSelect() == null) {
+                visitor.maybeRemoveImport("org.junit.jupiter.api.Assertions");
+                visitor.maybeAddImport("org.junit.jupiter.api.Assertions", "assertFalse");
+            } else {
+                sb.append("Assertions.");
+            }
+            sb.append("assertFalse(#{any(java.lang.Boolean)}");
+            Object[] args;
+            if (mi.getArguments().size() == 2) {
+                args = new Object[]{unary.getExpression(), mi.getArguments().get(1)};
+                sb.append(", #{any()}");
+            } else {
+                args = new Object[]{unary.getExpression()};
+            }
+            sb.append(")");
+            JavaTemplate t;
+            if (mi.getSelect() == null) {
+                t = JavaTemplate.builder(visitor::getCursor, sb.toString())
+                        .staticImports("org.junit.jupiter.api.Assertions.assertFalse").javaParser(JUPITER_PARSER).build();
+            } else {
+                t = JavaTemplate.builder(visitor::getCursor, sb.toString())
+                        .imports("org.junit.jupiter.api.Assertions").javaParser(JUPITER_PARSER).build();
+            }
+            return mi.withTemplate(t, mi.getCoordinates().replace(), args);
+        }
+
+        private boolean isUnaryOperatorNot(J.MethodInvocation method) {
+            if (!method.getArguments().isEmpty() && method.getArguments().get(0) instanceof J.Unary) {
+                J.Unary unary = (J.Unary) method.getArguments().get(0);
+                return unary.getOperator().equals(J.Unary.Type.Not);
+            }
+
+            return false;
+        }
+    };
 
     @Override
     public String getDisplayName() {
@@ -40,50 +81,10 @@ public class AssertTrueNegationToAssertFalse extends Recipe {
     @Override
     protected JavaVisitor<ExecutionContext> getVisitor() {
         return new JavaVisitor<ExecutionContext>() {
-            final Supplier<JavaParser> javaParser = () -> JavaParser.fromJavaVersion()
-                    .classpath("junit-jupiter-api")
-                    .build();
             @Override
             public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
-                if (ASSERT_TRUE.matches(mi) && isUnaryOperatorNot(mi)) {
-                    StringBuilder sb = new StringBuilder();
-                    J.Unary unary = (J.Unary) mi.getArguments().get(0);
-                    if (mi.getSelect() == null) {
-                        maybeRemoveImport("org.junit.jupiter.api.Assertions");
-                        maybeAddImport("org.junit.jupiter.api.Assertions", "assertFalse");
-                    } else {
-                        sb.append("Assertions.");
-                    }
-                    sb.append("assertFalse(#{any(java.lang.Boolean)}");
-                    Object[] args;
-                    if (mi.getArguments().size() == 2) {
-                        args = new Object[]{unary.getExpression(), mi.getArguments().get(1)};
-                        sb.append(", #{any()}");
-                    } else {
-                        args = new Object[]{unary.getExpression()};
-                    }
-                    sb.append(")");
-                    JavaTemplate t;
-                    if (mi.getSelect() == null) {
-                        t = JavaTemplate.builder(this::getCursor, sb.toString())
-                                .staticImports("org.junit.jupiter.api.Assertions.assertFalse").javaParser(javaParser).build();
-                    } else {
-                        t = JavaTemplate.builder(this::getCursor, sb.toString())
-                                .imports("org.junit.jupiter.api.Assertions").javaParser(javaParser).build();
-                    }
-                    return mi.withTemplate(t, mi.getCoordinates().replace(), args);
-                }
-                return mi;
-            }
-
-            private boolean isUnaryOperatorNot(J.MethodInvocation method) {
-                if (!method.getArguments().isEmpty() && method.getArguments().get(0) instanceof J.Unary) {
-                    J.Unary unary = (J.Unary) method.getArguments().get(0);
-                    return unary.getOperator().equals(J.Unary.Type.Not);
-                }
-
-                return false;
+                return REWRITE.matches(mi) ? REWRITE.rewrite(this, method, mi, ctx) : mi;
             }
         };
     }
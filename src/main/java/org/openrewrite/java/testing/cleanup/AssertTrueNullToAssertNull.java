@@ -20,6 +20,7 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.testing.internal.JavaParserPool;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 
@@ -48,9 +49,7 @@ public class AssertTrueNullToAssertNull extends Recipe {
     protected JavaVisitor<ExecutionContext> getVisitor() {
 
         return new JavaVisitor<ExecutionContext>() {
-            final Supplier<JavaParser> javaParser = () -> JavaParser.fromJavaVersion()
-                    .classpath("junit-jupiter-api")
-                    .build();
+            final Supplier<JavaParser> javaParser = JavaParserPool.classpath("junit-jupiter-api");
 
             @Override
             public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.cleanup;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.testing.internal.JavaParserPool;
+import org.openrewrite.java.testing.internal.TypeReferenceIndex;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * A single assertion simplification, shared between its standalone recipe and {@link SimplifyAssertions}.
+ * <p>
+ * A rewrite only ever looks at invocations of the assertion methods it declares, identified by the fully
+ * qualified name of their declaring type and their simple name, so that callers can dispatch invocations to
+ * rewrites with a single table lookup instead of trying every {@link org.openrewrite.java.MethodMatcher}.
+ */
+abstract class AssertionRewrite {
+    static final String JUPITER_ASSERTIONS = "org.junit.jupiter.api.Assertions";
+    static final String TESTNG_ASSERT = "org.testng.Assert";
+
+    static final Supplier<JavaParser> JUPITER_PARSER = JavaParserPool.classpath("junit-jupiter-api");
+
+    private final Set<String> keys;
+
+    AssertionRewrite(String declaringType, String... methodNames) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String methodName : methodNames) {
+            keys.add(key(declaringType, methodName));
+        }
+        this.keys = Collections.unmodifiableSet(keys);
+    }
+
+    AssertionRewrite(Collection<String> keys) {
+        this.keys = Collections.unmodifiableSet(new LinkedHashSet<>(keys));
+    }
+
+    /**
+     * @return The lookup keys, as produced by {@link #key(J.MethodInvocation)}, of the invocations this rewrite
+     * applies to.
+     */
+    Set<String> getKeys() {
+        return keys;
+    }
+
+    boolean matches(J.MethodInvocation method) {
+        String key = key(method);
+        return key != null && keys.contains(key);
+    }
+
+    /**
+     * @param visitor  The visitor on whose behalf the rewrite happens, used for its cursor and import handling.
+     * @param original The invocation before its arguments were visited.
+     * @param mi       The invocation after its arguments were visited, which the rewrite replaces.
+     * @return The rewritten invocation, or {@code mi} itself when the rewrite does not apply.
+     */
+    abstract J.MethodInvocation rewrite(JavaVisitor<ExecutionContext> visitor, J.MethodInvocation original,
+                                        J.MethodInvocation mi, ExecutionContext ctx);
+
+    static String key(String declaringType, String methodName) {
+        return TypeReferenceIndex.methodKey(declaringType, methodName);
+    }
+
+    @Nullable
+    static String key(J.MethodInvocation method) {
+        JavaType.Method methodType = method.getMethodType();
+        if (methodType == null) {
+            return null;
+        }
+        return key(methodType.getDeclaringType().getFullyQualifiedName(), methodType.getName());
+    }
+}
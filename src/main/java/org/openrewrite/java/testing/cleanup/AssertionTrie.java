@@ -0,0 +1,117 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.cleanup;
+
+import org.openrewrite.internal.lang.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable trie of packages, classes and methods that are considered assertions.
+ * <p>
+ * An entry matches a method when its segments are a prefix of the segments of the method's declaring type followed by
+ * the method name, so {@code org.assertj} matches every method of every type in that package and its subpackages,
+ * and {@code org.mockito.Mockito.verify} matches just that method. Nested types can be written with either
+ * {@code $} or {@code .}. Matching walks the trie directly along the characters of the names, without allocating.
+ */
+final class AssertionTrie {
+    private static final char SEPARATOR = '.';
+
+    private final Node root;
+
+    private AssertionTrie(Node root) {
+        this.root = root;
+    }
+
+    static AssertionTrie of(Collection<String> entries) {
+        Builder root = new Builder();
+        for (String entry : entries) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            Builder node = root;
+            for (int i = 0; i < trimmed.length(); i++) {
+                node = node.children.computeIfAbsent(normalize(trimmed.charAt(i)), c -> new Builder());
+            }
+            node.terminal = true;
+        }
+        return new AssertionTrie(root.build());
+    }
+
+    boolean matches(String declaringType, String methodName) {
+        Node node = root;
+        for (int i = 0; i < declaringType.length(); i++) {
+            char c = normalize(declaringType.charAt(i));
+            if (c == SEPARATOR && node.terminal) {
+                return true;
+            }
+            node = node.child(c);
+            if (node == null) {
+                return false;
+            }
+        }
+        if (node.terminal) {
+            return true;
+        }
+        node = node.child(SEPARATOR);
+        for (int i = 0; node != null && i < methodName.length(); i++) {
+            node = node.child(methodName.charAt(i));
+        }
+        return node != null && node.terminal;
+    }
+
+    private static char normalize(char c) {
+        return c == '$' ? SEPARATOR : c;
+    }
+
+    private static final class Node {
+        private final boolean terminal;
+        private final char[] labels;
+        private final Node[] children;
+
+        private Node(boolean terminal, char[] labels, Node[] children) {
+            this.terminal = terminal;
+            this.labels = labels;
+            this.children = children;
+        }
+
+        @Nullable
+        Node child(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            return i < 0 ? null : children[i];
+        }
+    }
+
+    private static final class Builder {
+        private final Map<Character, Builder> children = new TreeMap<>();
+        private boolean terminal;
+
+        Node build() {
+            char[] labels = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Builder> child : children.entrySet()) {
+                labels[i] = child.getKey();
+                nodes[i++] = child.getValue().build();
+            }
+            return new Node(terminal, labels, nodes);
+        }
+    }
+}
@@ -21,8 +21,9 @@ import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.testing.internal.TypeReferenceIndex;
 import org.openrewrite.java.tree.*;
 
 import java.util.*;
@@ -48,19 +49,7 @@ public class AssertionsArgumentOrder extends Recipe {
 
     @Override
     protected @Nullable TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public JavaSourceFile visitJavaSourceFile(JavaSourceFile cu, ExecutionContext executionContext) {
-                for (MethodMatcher jupiterAssertionMatcher : jupiterAssertionMatchers) {
-                    doAfterVisit(new UsesMethod<>(jupiterAssertionMatcher));
-                }
-                for (MethodMatcher testNgAssertionMatcher : testNgMatcher) {
-                    doAfterVisit(new UsesMethod<>(testNgAssertionMatcher));
-                }
-                doAfterVisit(new UsesMethod<>(jupiterAssertIterableEqualsMatcher));
-                return cu;
-            }
-        };
+        return TypeReferenceIndex.applicableIf(index -> index.referencesAnyMethod(REWRITE.getKeys()));
     }
 
     @Override
@@ -83,7 +72,18 @@ public class AssertionsArgumentOrder extends Recipe {
         return new AssertionsArgumentOrderVisitor();
     }
 
-    private static class AssertionsArgumentOrderVisitor extends JavaIsoVisitor<ExecutionContext> {
+    static final AssertionRewrite REWRITE = new AssertionRewrite(Arrays.asList(
+            AssertionRewrite.key(AssertionRewrite.JUPITER_ASSERTIONS, "assertArrayEquals"),
+            AssertionRewrite.key(AssertionRewrite.JUPITER_ASSERTIONS, "assertEquals"),
+            AssertionRewrite.key(AssertionRewrite.JUPITER_ASSERTIONS, "assertNotEquals"),
+            AssertionRewrite.key(AssertionRewrite.JUPITER_ASSERTIONS, "assertSame"),
+            AssertionRewrite.key(AssertionRewrite.JUPITER_ASSERTIONS, "assertNotSame"),
+            AssertionRewrite.key(AssertionRewrite.JUPITER_ASSERTIONS, "assertIterableEquals"),
+            AssertionRewrite.key(AssertionRewrite.TESTNG_ASSERT, "assertSame"),
+            AssertionRewrite.key(AssertionRewrite.TESTNG_ASSERT, "assertNotSame"),
+            AssertionRewrite.key(AssertionRewrite.TESTNG_ASSERT, "assertEquals"),
+            AssertionRewrite.key(AssertionRewrite.TESTNG_ASSERT, "assertNotEquals"))) {
+
         private final MethodMatcher[] newListMatchers = new MethodMatcher[]{
                 new MethodMatcher("java.util.List of(..)"),
                 new MethodMatcher("java.util.Collections singleton(..)"),
@@ -92,9 +92,8 @@ public class AssertionsArgumentOrder extends Recipe {
         };
 
         @Override
-        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext executionContext) {
-            J.MethodInvocation mi = super.visitMethodInvocation(method, executionContext);
-
+        J.MethodInvocation rewrite(JavaVisitor<ExecutionContext> visitor, J.MethodInvocation original,
+                                   J.MethodInvocation mi, ExecutionContext executionContext) {
             final Expression expected;
             final Expression actual;
             if (isJupiterAssertion(mi)) {
@@ -108,14 +107,14 @@ public class AssertionsArgumentOrder extends Recipe {
             }
 
             if (!isCorrectOrder(expected, actual, mi)) {
-                mi = maybeAutoFormat(mi, mi.withArguments(ListUtils.map(mi.getArguments(), arg -> {
+                mi = visitor.maybeAutoFormat(mi, mi.withArguments(ListUtils.map(mi.getArguments(), arg -> {
                     if (arg.equals(actual)) {
                         return expected;
                     } else if (arg.equals(expected)) {
                         return actual;
                     }
                     return arg;
-                })), executionContext, getCursor().getParentOrThrow());
+                })), executionContext, visitor.getCursor().getParentOrThrow());
             }
             return mi;
         }
@@ -171,5 +170,13 @@ public class AssertionsArgumentOrder extends Recipe {
             }
             return false;
         }
+    };
+
+    private static class AssertionsArgumentOrderVisitor extends JavaIsoVisitor<ExecutionContext> {
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext executionContext) {
+            J.MethodInvocation mi = super.visitMethodInvocation(method, executionContext);
+            return REWRITE.matches(mi) ? REWRITE.rewrite(this, method, mi, executionContext) : mi;
+        }
     }
 }
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.cleanup;
+
+import lombok.Value;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.testing.internal.TestAnnotations;
+import org.openrewrite.java.testing.internal.TypeReferenceIndex;
+import org.openrewrite.java.tree.*;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Finds the state tests share with the tests of other classes, which makes them unsafe to run concurrently.
+ * <p>
+ * Each hazard is marked in the source and recorded as a {@link Hazard} row. The rows of a run are collected in the
+ * {@link ExecutionContext} and can be read with {@link #hazards(ExecutionContext)}.
+ */
+public class FindParallelExecutionHazards extends Recipe {
+    private static final String HAZARDS = "org.openrewrite.java.testing.cleanup.FindParallelExecutionHazards.hazards";
+
+    private static final Set<String> TEST_OR_LIFECYCLE_ANNOTATIONS = TestAnnotations.typesWithRole(TestAnnotations.TEST_OR_LIFECYCLE_METHOD);
+    private static final String BEFORE_EACH = "org.junit.jupiter.api.BeforeEach";
+
+    private static final Map<MethodMatcher, String> GLOBAL_STATE_WRITERS = new LinkedHashMap<>();
+    private static final List<MethodMatcher> PORT_BINDERS = Arrays.asList(
+            new MethodMatcher("java.net.ServerSocket <constructor>(..)"),
+            new MethodMatcher("java.net.Socket <constructor>(..)"),
+            new MethodMatcher("java.net.InetSocketAddress <constructor>(..)"),
+            new MethodMatcher("java.net.DatagramSocket <constructor>(..)"));
+    private static final List<MethodMatcher> FILE_OPENERS = Arrays.asList(
+            new MethodMatcher("java.io.File <constructor>(..)"),
+            new MethodMatcher("java.io.FileInputStream <constructor>(..)"),
+            new MethodMatcher("java.io.FileOutputStream <constructor>(..)"),
+            new MethodMatcher("java.io.FileReader <constructor>(..)"),
+            new MethodMatcher("java.io.FileWriter <constructor>(..)"),
+            new MethodMatcher("java.nio.file.Paths get(..)"),
+            new MethodMatcher("java.nio.file.Path of(..)"));
+
+    static {
+        GLOBAL_STATE_WRITERS.put(new MethodMatcher("java.lang.System setProperty(..)"), "Sets a system property");
+        GLOBAL_STATE_WRITERS.put(new MethodMatcher("java.lang.System clearProperty(..)"), "Clears a system property");
+        GLOBAL_STATE_WRITERS.put(new MethodMatcher("java.lang.System setProperties(..)"), "Replaces the system properties");
+        GLOBAL_STATE_WRITERS.put(new MethodMatcher("java.lang.System setOut(..)"), "Replaces System.out");
+        GLOBAL_STATE_WRITERS.put(new MethodMatcher("java.lang.System setErr(..)"), "Replaces System.err");
+        GLOBAL_STATE_WRITERS.put(new MethodMatcher("java.lang.System setIn(..)"), "Replaces System.in");
+    }
+
+    public enum Severity {
+        /**
+         * Concurrent tests will interfere whenever they run at the same time.
+         */
+        HIGH,
+
+        /**
+         * Concurrent tests interfere when they rely on the same shared object.
+         */
+        MEDIUM,
+
+        /**
+         * Concurrent tests interfere when they use the same external resource.
+         */
+        LOW
+    }
+
+    @Value
+    public static class Hazard {
+        String sourcePath;
+        String className;
+
+        /**
+         * The method or field the hazard is in.
+         */
+        String member;
+
+        Severity severity;
+        String description;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Find hazards to parallel test execution";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Finds state test classes share with each other: non-final static fields written by test or lifecycle methods, " +
+               "singletons mutated in `@BeforeEach`, changes to system properties and the standard streams, and fixed ports and absolute file paths.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(10);
+    }
+
+    @Override
+    protected @Nullable TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
+        return TypeReferenceIndex.applicableIf(index -> index.referencesAnyType(TEST_OR_LIFECYCLE_ANNOTATIONS));
+    }
+
+    @Override
+    protected TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new HazardVisitor();
+    }
+
+    /**
+     * @return The hazards found in this run so far.
+     */
+    public static Set<Hazard> hazards(ExecutionContext ctx) {
+        Set<Hazard> hazards = ctx.getMessage(HAZARDS);
+        return hazards == null ? Collections.emptySet() : hazards;
+    }
+
+    private static class HazardVisitor extends JavaIsoVisitor<ExecutionContext> {
+        private static final String STATIC_FIELDS = "staticFields";
+        private static final String TEST_OR_LIFECYCLE = "testOrLifecycle";
+        private static final String BEFORE_EACH_METHOD = "beforeEach";
+
+        @Override
+        public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+            Set<String> staticFields = new HashSet<>();
+            for (Statement statement : classDecl.getBody().getStatements()) {
+                if (statement instanceof J.VariableDeclarations) {
+                    J.VariableDeclarations field = (J.VariableDeclarations) statement;
+                    if (field.hasModifier(J.Modifier.Type.Static) && !field.hasModifier(J.Modifier.Type.Final)) {
+                        for (J.VariableDeclarations.NamedVariable variable : field.getVariables()) {
+                            staticFields.add(variable.getSimpleName());
+                        }
+                    }
+                }
+            }
+            getCursor().putMessage(STATIC_FIELDS, staticFields);
+            return super.visitClassDeclaration(classDecl, ctx);
+        }
+
+        @Override
+        public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+            getCursor().putMessage(TEST_OR_LIFECYCLE, TestAnnotations.isTestOrLifecycleMethod(method));
+            boolean beforeEach = false;
+            for (J.Annotation annotation : method.getLeadingAnnotations()) {
+                if (TypeUtils.isOfClassType(annotation.getType(), BEFORE_EACH)) {
+                    beforeEach = true;
+                    break;
+                }
+            }
+            getCursor().putMessage(BEFORE_EACH_METHOD, beforeEach);
+            return super.visitMethodDeclaration(method, ctx);
+        }
+
+        @Override
+        public J.Assignment visitAssignment(J.Assignment assignment, ExecutionContext ctx) {
+            J.Assignment a = super.visitAssignment(assignment, ctx);
+            return staticFieldWrite(a, a.getVariable(), ctx);
+        }
+
+        @Override
+        public J.AssignmentOperation visitAssignmentOperation(J.AssignmentOperation assignOp, ExecutionContext ctx) {
+            J.AssignmentOperation a = super.visitAssignmentOperation(assignOp, ctx);
+            return staticFieldWrite(a, a.getVariable(), ctx);
+        }
+
+        @Override
+        public J.Unary visitUnary(J.Unary unary, ExecutionContext ctx) {
+            J.Unary u = super.visitUnary(unary, ctx);
+            switch (u.getOperator()) {
+                case PreIncrement:
+                case PreDecrement:
+                case PostIncrement:
+                case PostDecrement:
+                    return staticFieldWrite(u, u.getExpression(), ctx);
+                default:
+                    return u;
+            }
+        }
+
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+            J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+            for (Map.Entry<MethodMatcher, String> writer : GLOBAL_STATE_WRITERS.entrySet()) {
+                if (writer.getKey().matches(m)) {
+                    return hazard(m, Severity.HIGH, writer.getValue(), ctx);
+                }
+            }
+            if (Boolean.TRUE.equals(getCursor().getNearestMessage(BEFORE_EACH_METHOD)) && isSingleton(m.getSelect())) {
+                return hazard(m, Severity.MEDIUM, "Mutates a singleton with `" + m.getSimpleName() + "`", ctx);
+            }
+            return fixedResource(m, m.getArguments(), ctx);
+        }
+
+        @Override
+        public J.NewClass visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
+            J.NewClass n = super.visitNewClass(newClass, ctx);
+            return n.getArguments() == null ? n : fixedResource(n, n.getArguments(), ctx);
+        }
+
+        private <T extends J> T staticFieldWrite(T write, Expression variable, ExecutionContext ctx) {
+            if (!Boolean.TRUE.equals(getCursor().getNearestMessage(TEST_OR_LIFECYCLE))) {
+                return write;
+            }
+            J.Identifier name = variable instanceof J.Identifier ? (J.Identifier) variable :
+                    variable instanceof J.FieldAccess ? ((J.FieldAccess) variable).getName() : null;
+            if (name == null) {
+                return write;
+            }
+            boolean staticField;
+            if (name.getFieldType() != null) {
+                staticField = name.getFieldType().hasFlags(Flag.Static) && !name.getFieldType().hasFlags(Flag.Final);
+            } else {
+                Set<String> staticFields = getCursor().getNearestMessage(STATIC_FIELDS);
+                staticField = variable instanceof J.Identifier && staticFields != null && staticFields.contains(name.getSimpleName());
+            }
+            return staticField ?
+                    hazard(write, Severity.HIGH, "Writes the non-final static field `" + name.getSimpleName() + "`", ctx) :
+                    write;
+        }
+
+        /**
+         * A singleton is reached through a static accessor like {@code Registry.getInstance()} or a static field of
+         * another class.
+         */
+        private static boolean isSingleton(@Nullable Expression select) {
+            if (select instanceof J.MethodInvocation) {
+                J.MethodInvocation accessor = (J.MethodInvocation) select;
+                JavaType.Method type = accessor.getMethodType();
+                return type != null && type.hasFlags(Flag.Static) &&
+                       ("getInstance".equals(accessor.getSimpleName()) || "instance".equals(accessor.getSimpleName()));
+            }
+            if (select instanceof J.FieldAccess) {
+                J.FieldAccess field = (J.FieldAccess) select;
+                return field.getTarget() instanceof J.Identifier &&
+                       ((J.Identifier) field.getTarget()).getFieldType() == null &&
+                       field.getName().getFieldType() != null &&
+                       field.getName().getFieldType().hasFlags(Flag.Static) &&
+                       !field.getName().getFieldType().hasFlags(Flag.Final);
+            }
+            return false;
+        }
+
+        private <T extends Expression> T fixedResource(T call, List<Expression> arguments, ExecutionContext ctx) {
+            for (MethodMatcher portBinder : PORT_BINDERS) {
+                if (portBinder.matches(call)) {
+                    for (Expression argument : arguments) {
+                        if (argument instanceof J.Literal && ((J.Literal) argument).getValue() instanceof Integer &&
+                            (Integer) ((J.Literal) argument).getValue() > 0) {
+                            return hazard(call, Severity.LOW, "Uses the fixed port " + ((J.Literal) argument).getValue(), ctx);
+                        }
+                    }
+                    return call;
+                }
+            }
+            for (MethodMatcher fileOpener : FILE_OPENERS) {
+                if (fileOpener.matches(call)) {
+                    if (!arguments.isEmpty() && arguments.get(0) instanceof J.Literal &&
+                        ((J.Literal) arguments.get(0)).getValue() instanceof String &&
+                        isAbsolute((String) ((J.Literal) arguments.get(0)).getValue())) {
+                        return hazard(call, Severity.LOW, "Uses the fixed path " + ((J.Literal) arguments.get(0)).getValue(), ctx);
+                    }
+                    return call;
+                }
+            }
+            return call;
+        }
+
+        private static boolean isAbsolute(String path) {
+            return path.startsWith("/") || path.startsWith("\\") ||
+                   (path.length() > 2 && Character.isLetter(path.charAt(0)) && path.charAt(1) == ':' &&
+                    (path.charAt(2) == '\\' || path.charAt(2) == '/'));
+        }
+
+        private <T extends J> T hazard(T tree, Severity severity, String description, ExecutionContext ctx) {
+            J.CompilationUnit cu = getCursor().firstEnclosing(J.CompilationUnit.class);
+            J.ClassDeclaration classDecl = getCursor().firstEnclosing(J.ClassDeclaration.class);
+            ctx.putMessageInSet(HAZARDS, new Hazard(
+                    cu == null ? "" : cu.getSourcePath().toString(),
+                    classDecl == null ? "" : classDecl.getType() == null ? classDecl.getSimpleName() : classDecl.getType().getFullyQualifiedName(),
+                    member(),
+                    severity,
+                    description));
+            return tree.withMarkers(tree.getMarkers().searchResult(severity + ": " + description));
+        }
+
+        private String member() {
+            for (Cursor c = getCursor(); c != null; c = c.getParent()) {
+                Object value = c.getValue();
+                if (value instanceof J.MethodDeclaration) {
+                    return ((J.MethodDeclaration) value).getSimpleName();
+                } else if (value instanceof J.VariableDeclarations.NamedVariable &&
+                           c.getParentOrThrow().firstEnclosing(J.Block.class) != null &&
+                           c.getParentOrThrow().firstEnclosing(J.MethodDeclaration.class) == null) {
+                    return ((J.VariableDeclarations.NamedVariable) value).getSimpleName();
+                } else if (value instanceof J.ClassDeclaration) {
+                    break;
+                }
+            }
+            return "";
+        }
+    }
+}
@@ -16,32 +16,32 @@
 package org.openrewrite.java.testing.cleanup;
 
 import java.time.Duration;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.TestAnnotations;
+import org.openrewrite.java.testing.internal.TypeReferenceIndex;
 import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.JavaType;
-import org.openrewrite.java.tree.J.MethodDeclaration;
+import org.openrewrite.java.tree.Statement;
 import org.openrewrite.java.tree.TypeUtils;
 
 public class RemoveTestPrefix extends Recipe {
 
-    private static final List<String> RESERVED_KEYWORDS = Arrays.asList("abstract", "continue", "for", "new", "switch",
+    private static final Set<String> TEST_METHOD_ANNOTATIONS = TestAnnotations.typesWithRole(TestAnnotations.TEST_METHOD);
+
+    private static final Set<String> RESERVED_KEYWORDS = new HashSet<>(Arrays.asList("abstract", "continue", "for", "new", "switch",
             "assert", "default", "if", "package", "synchronized", "boolean", "do", "goto", "private", "this", "break",
             "double", "implements", "protected", "throw", "byte", "else", "import", "public", "throws", "case", "enum",
             "instanceof", "return", "transient", "catch", "extends", "int", "short", "try", "char", "final",
             "interface", "static", "void", "class", "finally", "long", "strictfp", "volatile", "const", "float",
             "native", "super", "while",
             // Non keywords that still result in an error
-            "null", "clone", "finalize", "hashCode", "notify", "notifyAll", "toString", "wait");
+            "null", "clone", "finalize", "hashCode", "notify", "notifyAll", "toString", "wait"));
 
     @Override
     public String getDisplayName() {
@@ -55,17 +55,7 @@ public class RemoveTestPrefix extends Recipe {
 
     @Override
     protected @Nullable TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new JavaVisitor<ExecutionContext>() {
-            @Override
-            public J visitJavaSourceFile(JavaSourceFile cu, ExecutionContext executionContext) {
-                doAfterVisit(new UsesType<>("org.junit.jupiter.api.Test"));
-                doAfterVisit(new UsesType<>("org.junit.jupiter.api.TestTemplate"));
-                doAfterVisit(new UsesType<>("org.junit.jupiter.api.RepeatedTest"));
-                doAfterVisit(new UsesType<>("org.junit.jupiter.params.ParameterizedTest"));
-                doAfterVisit(new UsesType<>("org.junit.jupiter.api.TestFactory"));
-                return cu;
-            }
-        };
+        return TypeReferenceIndex.applicableIf(index -> index.referencesAnyType(TEST_METHOD_ANNOTATIONS));
     }
 
     @Override
@@ -79,19 +69,78 @@ public class RemoveTestPrefix extends Recipe {
     }
 
     private static class RemoveTestPrefixVisitor extends JavaIsoVisitor<ExecutionContext> {
+        private static final String RENAMES = "renames";
+
+        @Override
+        public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext executionContext) {
+            getCursor().putMessage(RENAMES, renames(classDecl.getBody(), classDecl.getType()));
+            return super.visitClassDeclaration(classDecl, executionContext);
+        }
+
+        @Override
+        public J.NewClass visitNewClass(J.NewClass newClass, ExecutionContext executionContext) {
+            if (newClass.getBody() != null) {
+                // Anonymous classes declare their methods in the body of the new class expression
+                getCursor().putMessage(RENAMES, renames(newClass.getBody(), TypeUtils.asFullyQualified(newClass.getType())));
+            }
+            return super.visitNewClass(newClass, executionContext);
+        }
+
         @Override
         public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method,
                 ExecutionContext executionContext) {
             J.MethodDeclaration m = super.visitMethodDeclaration(method, executionContext);
+            Map<UUID, String> renames = getCursor().getNearestMessage(RENAMES);
+            String newMethodName = renames == null ? null : renames.get(method.getId());
+            if (newMethodName == null || m.getMethodType() == null) {
+                return m;
+            }
+
+            return m.withName(m.getName()
+                    .withSimpleName(newMethodName))
+                    .withMethodType(m.getMethodType().withName(newMethodName));
+        }
+
+        /**
+         * Decides the renames of all test methods of a class body at once, against an index of the signatures of the methods
+         * the class declares and inherits. Every rename claims its new signature in the index, so two tests that would
+         * be renamed to the same signature do not both get it.
+         *
+         * @return The new names by method declaration id.
+         */
+        private static Map<UUID, String> renames(J.Block body, @Nullable JavaType.FullyQualified type) {
+            Map<UUID, String> renames = new HashMap<>();
+            Set<String> signatures = null;
+            for (Statement statement : body.getStatements()) {
+                if (!(statement instanceof J.MethodDeclaration)) {
+                    continue;
+                }
+                J.MethodDeclaration method = (J.MethodDeclaration) statement;
+                String newMethodName = newMethodName(method);
+                if (newMethodName == null) {
+                    continue;
+                }
+                if (signatures == null) {
+                    signatures = signatures(body, type);
+                }
+                if (signatures.add(signature(newMethodName, method.getMethodType()))) {
+                    renames.put(method.getId(), newMethodName);
+                }
+            }
+            return renames;
+        }
 
+        @Nullable
+        private static String newMethodName(J.MethodDeclaration method) {
             // Quickly reject invalid methods
             String simpleName = method.getSimpleName();
             int nameLength = simpleName.length();
             if (nameLength < 5
                     || !simpleName.startsWith("test")
+                    || method.getMethodType() == null
                     || TypeUtils.isOverride(method.getMethodType())
-                    || !hasJUnit5MethodAnnotation(method)) {
-                return m;
+                    || !TestAnnotations.isTestMethod(method)) {
+                return null;
             }
 
             // Reject invalid start character
@@ -99,44 +148,69 @@ public class RemoveTestPrefix extends Recipe {
                     && 5 < nameLength
                     && Character.isAlphabetic(simpleName.charAt(5));
             if (!snakecase && !Character.isAlphabetic(simpleName.charAt(4))) {
-                return m;
+                return null;
             }
 
-            // Rename method
-            String newMethodName = snakecase
-                    ? Character.toLowerCase(simpleName.charAt(5)) + simpleName.substring(6)
-                    : Character.toLowerCase(simpleName.charAt(4)) + simpleName.substring(5);
-            if (RESERVED_KEYWORDS.contains(newMethodName)) {
-                return m;
-            }
-
-            JavaType.Method type = m.getMethodType();
+            int start = snakecase ? 5 : 4;
+            String newMethodName = new StringBuilder(nameLength - start)
+                    .append(Character.toLowerCase(simpleName.charAt(start)))
+                    .append(simpleName, start + 1, nameLength)
+                    .toString();
+            return RESERVED_KEYWORDS.contains(newMethodName) ? null : newMethodName;
+        }
 
-            if (type == null || methodExists(type, newMethodName)) {
-                return m;
+        private static Set<String> signatures(J.Block body, @Nullable JavaType.FullyQualified type) {
+            Set<String> signatures = new HashSet<>();
+            for (Statement statement : body.getStatements()) {
+                if (statement instanceof J.MethodDeclaration) {
+                    J.MethodDeclaration method = (J.MethodDeclaration) statement;
+                    signatures.add(signature(method.getSimpleName(), method.getMethodType()));
+                }
             }
-
-            type = type.withName(newMethodName);
-            return m.withName(m.getName()
-                    .withSimpleName(newMethodName))
-                    .withMethodType(type);
+            addSignatures(type, signatures, new HashSet<>());
+            return signatures;
         }
 
-        private boolean methodExists(JavaType.Method method, String newName) {
-            return TypeUtils.findDeclaredMethod(method.getDeclaringType(), newName, method.getParameterTypes()).orElse(null) != null;
+        private static void addSignatures(@Nullable JavaType.FullyQualified type, Set<String> signatures, Set<String> visited) {
+            if (type == null || !visited.add(type.getFullyQualifiedName())) {
+                return;
+            }
+            for (JavaType.Method method : type.getMethods()) {
+                signatures.add(signature(method.getName(), method));
+            }
+            addSignatures(type.getSupertype(), signatures, visited);
+            for (JavaType.FullyQualified anInterface : type.getInterfaces()) {
+                addSignatures(anInterface, signatures, visited);
+            }
         }
 
-        private static boolean hasJUnit5MethodAnnotation(MethodDeclaration method) {
-            for (J.Annotation a : method.getLeadingAnnotations()) {
-                if (TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.Test")
-                        || TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.TestTemplate")
-                        || TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.RepeatedTest")
-                        || TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.params.ParameterizedTest")
-                        || TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.TestFactory")) {
-                    return true;
+        private static String signature(String name, @Nullable JavaType.Method type) {
+            StringBuilder signature = new StringBuilder(name).append('(');
+            if (type != null) {
+                List<JavaType> parameterTypes = type.getParameterTypes();
+                for (int i = 0; i < parameterTypes.size(); i++) {
+                    if (i > 0) {
+                        signature.append(',');
+                    }
+                    appendTypeName(signature, parameterTypes.get(i));
                 }
             }
-            return false;
+            return signature.append(')').toString();
+        }
+
+        private static void appendTypeName(StringBuilder signature, @Nullable JavaType type) {
+            if (type instanceof JavaType.FullyQualified) {
+                signature.append(((JavaType.FullyQualified) type).getFullyQualifiedName());
+            } else if (type instanceof JavaType.Primitive) {
+                signature.append(((JavaType.Primitive) type).getKeyword());
+            } else if (type instanceof JavaType.Array) {
+                appendTypeName(signature, ((JavaType.Array) type).getElemType());
+                signature.append("[]");
+            } else if (type instanceof JavaType.GenericTypeVariable) {
+                signature.append(((JavaType.GenericTypeVariable) type).getName());
+            } else {
+                signature.append(type);
+            }
         }
     }
 
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.cleanup;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.testing.internal.TypeReferenceIndex;
+import org.openrewrite.java.tree.J;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Applies the assertion simplifications of the individual cleanup recipes in a single traversal.
+ * <p>
+ * Each invocation is dispatched through a table keyed on the declaring type and name of the invoked method.
+ * The rewrites are tried in the same order as the recipes they come from, and an invocation is revisited until
+ * none of them applies anymore, which is what running the individual recipes over repeated cycles converges to.
+ */
+public class SimplifyAssertions extends Recipe {
+    /**
+     * Rewrites in the order their recipes used to run in.
+     */
+    private static final List<AssertionRewrite> REWRITES = Arrays.asList(
+            AssertTrueNegationToAssertFalse.REWRITE,
+            AssertFalseNegationToAssertTrue.REWRITE,
+            AssertTrueEqualsToAssertEquals.REWRITE,
+            AssertTrueComparisonToAssertEquals.REWRITE,
+            AssertFalseEqualsToAssertNotEquals.REWRITE,
+            AssertEqualsNullToAssertNull.REWRITE,
+            AssertFalseNullToAssertNotNull.REWRITE,
+            AssertionsArgumentOrder.REWRITE
+    );
+
+    private static final Map<String, int[]> REWRITES_BY_KEY = new HashMap<>();
+
+    static {
+        Map<String, List<Integer>> byKey = new HashMap<>();
+        for (int i = 0; i < REWRITES.size(); i++) {
+            for (String key : REWRITES.get(i).getKeys()) {
+                byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+        }
+        byKey.forEach((key, indices) -> REWRITES_BY_KEY.put(key, indices.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Guards against two rewrites undoing each other forever.
+     */
+    private static final int MAX_ROUNDS = 10;
+
+    @Override
+    public String getDisplayName() {
+        return "Simplify assertions";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Simplifies JUnit Jupiter assertions to their most-direct equivalents and puts the expected and " +
+               "actual arguments of JUnit Jupiter and TestNG assertions in the right order, in a single pass.";
+    }
+
+    @Override
+    public Set<String> getTags() {
+        return Collections.singleton("RSPEC-3415");
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(1);
+    }
+
+    @Override
+    protected @Nullable TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
+        return TypeReferenceIndex.usesAnyType(AssertionRewrite.JUPITER_ASSERTIONS, AssertionRewrite.TESTNG_ASSERT);
+    }
+
+    @Override
+    protected JavaVisitor<ExecutionContext> getVisitor() {
+        return new JavaVisitor<ExecutionContext>() {
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                J.MethodInvocation original = method;
+                for (int round = 0; round < MAX_ROUNDS; round++) {
+                    boolean changed = false;
+                    for (int i = nextRewrite(mi, 0); i >= 0; i = nextRewrite(mi, i + 1)) {
+                        J.MethodInvocation rewritten = REWRITES.get(i).rewrite(this, original, mi, ctx);
+                        if (rewritten != mi) {
+                            original = mi = rewritten;
+                            changed = true;
+                        }
+                    }
+                    if (!changed) {
+                        break;
+                    }
+                }
+                return mi;
+            }
+        };
+    }
+
+    /**
+     * @return The position in {@link #REWRITES} of the first rewrite at or after {@code from} that applies to
+     * invocations of the same method as {@code method}, or -1 if there is none.
+     */
+    private static int nextRewrite(J.MethodInvocation method, int from) {
+        String key = AssertionRewrite.key(method);
+        int[] candidates = key == null ? null : REWRITES_BY_KEY.get(key);
+        if (candidates != null) {
+            for (int candidate : candidates) {
+                if (candidate >= from) {
+                    return candidate;
+                }
+            }
+        }
+        return -1;
+    }
+}
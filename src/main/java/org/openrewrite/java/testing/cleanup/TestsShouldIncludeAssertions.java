@@ -22,22 +22,23 @@ import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.JavaParserPool;
+import org.openrewrite.java.testing.internal.TestAnnotations;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
-import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.java.tree.Statement;
 
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 @SuppressWarnings("SimplifyStreamApiCallChains")
 @Value
 @EqualsAndHashCode(callSuper = true)
 public class TestsShouldIncludeAssertions extends Recipe {
-    private static final List<String> TEST_ANNOTATIONS = Collections.singletonList("org.junit.jupiter.api.Test");
+    private static final Set<TestAnnotations.Role> TEST_ROLES = Collections.singleton(TestAnnotations.Role.TEST);
 
     private static final List<String> DEFAULT_ASSERTIONS = Arrays.asList(
             "org.assertj.core.api",
@@ -53,6 +54,11 @@ public class TestsShouldIncludeAssertions extends Recipe {
             "org.junit.Assert"// rarely, the test annotation is junit 5 but the assert is junit 4
     );
 
+    /**
+     * Tries of the default and additional assertions, per value of {@link #additionalAsserts}.
+     */
+    private static final Map<String, AssertionTrie> ASSERTION_TRIES = new ConcurrentHashMap<>();
+
     @Option(displayName = "Additional assertions",
             description = "A comma delimited list of packages and/or classes that will be identified as assertions. I.E. a common assertion utility `org.foo.TestUtil`.",
             example = "org.foo.TestUtil, org.bar",
@@ -101,31 +107,32 @@ public class TestsShouldIncludeAssertions extends Recipe {
 
     @Override
     protected TestShouldIncludeAssertionsVisitor getVisitor() {
-        return new TestShouldIncludeAssertionsVisitor(additionalAsserts);
+        return new TestShouldIncludeAssertionsVisitor(ASSERTION_TRIES.computeIfAbsent(
+                additionalAsserts == null ? "" : additionalAsserts,
+                additional -> {
+                    List<String> assertions = new ArrayList<>(DEFAULT_ASSERTIONS);
+                    assertions.addAll(Arrays.asList(additional.split(",")));
+                    return AssertionTrie.of(assertions);
+                }));
     }
 
     private static class TestShouldIncludeAssertionsVisitor extends JavaIsoVisitor<ExecutionContext> {
-        private static final Supplier<JavaParser> ASSERTJ_JAVA_PARSER = () -> JavaParser.fromJavaVersion()
-                .classpath("junit-jupiter-api")
-                .build();
+        private static final Supplier<JavaParser> ASSERTJ_JAVA_PARSER = JavaParserPool.classpath("junit-jupiter-api");
 
-        private final Map<String, Set<J.Block>> matcherPatternToClassInvocation = new HashMap<>();
-        private final List<String> additionalAsserts;
+        /**
+         * The call graph of each class, built the first time one of its test methods is visited.
+         */
+        private final Map<J.ClassDeclaration, CallGraph> callGraphs = new IdentityHashMap<>();
+        private final AssertionTrie assertions;
 
-        TestShouldIncludeAssertionsVisitor(@Nullable String additionalAsserts) {
-            List<String> assertions = new ArrayList<>();
-            if (additionalAsserts != null) {
-                assertions.addAll(Arrays.asList(additionalAsserts.split(",\\s*")));
-            }
-            this.additionalAsserts = assertions;
+        TestShouldIncludeAssertionsVisitor(AssertionTrie assertions) {
+            this.assertions = assertions;
         }
 
         @Override
         public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext
                 executionContext) {
-            if ((!methodIsTest(method) || method.getBody() == null) ||
-                methodHasAssertion(method.getBody()) ||
-                methodInvocationInBodyContainsAssertion()) {
+            if (!methodIsTest(method) || method.getBody() == null || reachesAssertion(method)) {
                 return method;
             }
 
@@ -143,108 +150,118 @@ public class TestsShouldIncludeAssertions extends Recipe {
         }
 
         private boolean methodIsTest(J.MethodDeclaration methodDeclaration) {
-            for (J.Annotation leadingAnnotation : methodDeclaration.getLeadingAnnotations()) {
-                for (String testAnnotation : TEST_ANNOTATIONS) {
-                    if (TypeUtils.isOfClassType(leadingAnnotation.getType(), testAnnotation)) {
-                        return true;
-                    }
-                }
+            return TestAnnotations.hasRole(methodDeclaration, TEST_ROLES);
+        }
+
+        private boolean reachesAssertion(J.MethodDeclaration method) {
+            J.ClassDeclaration classDeclaration = getCursor().firstEnclosing(J.ClassDeclaration.class);
+            if (classDeclaration == null) {
+                return method.getBody() != null && summarize(method.getBody(), null).asserts;
             }
-            return false;
+            return callGraphs.computeIfAbsent(classDeclaration, CallGraph::new).reachesAssertion(method);
         }
 
-        private boolean methodHasAssertion(J.Block body) {
-            AtomicBoolean hasAssertion = new AtomicBoolean(Boolean.FALSE);
-            JavaIsoVisitor<AtomicBoolean> findAssertionVisitor = new JavaIsoVisitor<AtomicBoolean>() {
-                @Override
-                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, AtomicBoolean atomicBoolean) {
-                    J.MethodInvocation mi = super.visitMethodInvocation(method, atomicBoolean);
-                    if (isAssertion(mi)) {
-                        atomicBoolean.set(Boolean.TRUE);
+        /**
+         * The methods of one class, the calls between them, and which of them assert, directly or through any number
+         * of helper methods of the same class.
+         */
+        private class CallGraph {
+            @Nullable
+            private final String classFqn;
+
+            private final Map<String, Boolean> reachesAssertion = new HashMap<>();
+
+            CallGraph(J.ClassDeclaration classDeclaration) {
+                this.classFqn = classDeclaration.getType() == null ? null : classDeclaration.getType().getFullyQualifiedName();
+
+                Map<String, Set<String>> callers = new HashMap<>();
+                Deque<String> asserting = new ArrayDeque<>();
+                for (Statement statement : classDeclaration.getBody().getStatements()) {
+                    if (!(statement instanceof J.MethodDeclaration)) {
+                        continue;
+                    }
+                    J.MethodDeclaration method = (J.MethodDeclaration) statement;
+                    if (method.getBody() == null || method.getMethodType() == null) {
+                        continue;
+                    }
+                    String signature = signature(method.getMethodType());
+                    reachesAssertion.putIfAbsent(signature, false);
+                    MethodSummary summary = summarize(method.getBody(), classFqn);
+                    if (summary.asserts && !reachesAssertion.put(signature, true)) {
+                        asserting.add(signature);
+                    }
+                    for (String callee : summary.callees) {
+                        callers.computeIfAbsent(callee, k -> new HashSet<>()).add(signature);
                     }
-                    return mi;
                 }
-            };
-            findAssertionVisitor.visit(body, hasAssertion);
-            return hasAssertion.get();
-        }
 
-        private boolean methodInvocationInBodyContainsAssertion() {
-            J.ClassDeclaration classDeclaration = getCursor().dropParentUntil(is -> is instanceof J.ClassDeclaration).getValue();
-
-            JavaIsoVisitor<Set<MethodMatcher>> findMethodDeclarationsVisitor = new JavaIsoVisitor<Set<MethodMatcher>>() {
-                @Override
-                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Set<MethodMatcher> methodMatchers) {
-                    J.MethodInvocation mi = super.visitMethodInvocation(method, methodMatchers);
-                    if (classDeclaration.getType() != null && mi.getMethodType() != null) {
-                        JavaType.Method mType = mi.getMethodType();
-                        if (classDeclaration.getType().getFullyQualifiedName().equals(mType.getDeclaringType().getFullyQualifiedName())) {
-                            methodMatchers.add(new MethodMatcher(mType));
+                // propagate backwards along the calls, visiting each method at most once, which also takes care of recursion
+                while (!asserting.isEmpty()) {
+                    for (String caller : callers.getOrDefault(asserting.poll(), Collections.emptySet())) {
+                        if (!reachesAssertion.get(caller)) {
+                            reachesAssertion.put(caller, true);
+                            asserting.add(caller);
                         }
                     }
-                    return mi;
                 }
-            };
-
-            Set<MethodMatcher> methodMatchers = new HashSet<>();
-            findMethodDeclarationsVisitor.visit(classDeclaration, methodMatchers);
-            Set<J.Block> methodBodies = new HashSet<>();
-
-            methodMatchers.forEach(matcher -> {
-                Set<J.Block> declarationBodies = matcherPatternToClassInvocation.computeIfAbsent(matcherPattern(matcher),
-                        k -> findMethodDeclarations(classDeclaration, matcher));
-                methodBodies.addAll(declarationBodies);
-            });
-            return methodBodies.stream().anyMatch(this::methodHasAssertion);
+            }
+
+            boolean reachesAssertion(J.MethodDeclaration method) {
+                if (method.getMethodType() != null) {
+                    Boolean reaches = reachesAssertion.get(signature(method.getMethodType()));
+                    if (reaches != null) {
+                        return reaches;
+                    }
+                }
+                if (method.getBody() == null) {
+                    return false;
+                }
+                MethodSummary summary = summarize(method.getBody(), classFqn);
+                return summary.asserts || summary.callees.stream().anyMatch(callee -> reachesAssertion.getOrDefault(callee, false));
+            }
         }
 
-        private String matcherPattern(MethodMatcher methodMatcher) {
-            return methodMatcher.getTargetTypePattern() + " " + methodMatcher.getMethodNamePattern() + "(" + methodMatcher.getArgumentPattern() + ")";
+        private static class MethodSummary {
+            boolean asserts;
+            final Set<String> callees = new HashSet<>();
         }
 
-        private Set<J.Block> findMethodDeclarations(J.ClassDeclaration classDeclaration, MethodMatcher methodMatcher) {
-            JavaIsoVisitor<Set<J.Block>> findMethodDeclarationVisitor = new JavaIsoVisitor<Set<J.Block>>() {
+        /**
+         * @param classFqn The class whose methods are recorded as callees, if any.
+         */
+        private MethodSummary summarize(J.Block body, @Nullable String classFqn) {
+            MethodSummary summary = new MethodSummary();
+            new JavaIsoVisitor<MethodSummary>() {
                 @Override
-                public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, Set<J.Block> blocks) {
-                    J.MethodDeclaration m = super.visitMethodDeclaration(method, blocks);
-                    if (methodMatcher.matches(m, classDeclaration)) {
-                        if (m.getBody() != null) {
-                            blocks.add(m.getBody());
+                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, MethodSummary s) {
+                    J.MethodInvocation mi = super.visitMethodInvocation(method, s);
+                    JavaType.Method methodType = mi.getMethodType();
+                    if (methodType != null) {
+                        if (isAssertion(mi)) {
+                            s.asserts = true;
+                        } else if (methodType.getDeclaringType().getFullyQualifiedName().equals(classFqn)) {
+                            s.callees.add(signature(methodType));
                         }
                     }
-                    return m;
+                    return mi;
                 }
-            };
+            }.visit(body, summary);
+            return summary;
+        }
 
-            Set<J.Block> blocks = new HashSet<>();
-            findMethodDeclarationVisitor.visit(classDeclaration, blocks);
-            return blocks;
+        /**
+         * Identifies a method by its declaring type, name and number of parameters, which unlike the parameter types
+         * themselves is the same at the declaration and at generic invocations.
+         */
+        private static String signature(JavaType.Method methodType) {
+            return methodType.getDeclaringType().getFullyQualifiedName() + "#" + methodType.getName() + "/" +
+                   methodType.getParameterTypes().size();
         }
 
         private boolean isAssertion(J.MethodInvocation methodInvocation) {
-            if (methodInvocation.getMethodType() == null) {
-                return false;
-            }
-            String fqt = methodInvocation.getMethodType().getDeclaringType().getFullyQualifiedName();
-            for (String assertionClassOrPackage : DEFAULT_ASSERTIONS) {
-                if (fqt.startsWith(assertionClassOrPackage)) {
-                    return true;
-                }
-            }
-            String methodFqn = methodInvocation.getMethodType().getDeclaringType().getFullyQualifiedName() + "." + methodInvocation.getSimpleName();
-            for (String assertMethod : DEFAULT_ASSERTIONS) {
-                if (assertMethod.equals(methodFqn)) {
-                    return true;
-                }
-            }
-            if (additionalAsserts != null) {
-                for (String assertionClassOrPackage : additionalAsserts) {
-                    if (fqt.startsWith(assertionClassOrPackage)) {
-                        return true;
-                    }
-                }
-            }
-            return false;
+            JavaType.Method methodType = methodInvocation.getMethodType();
+            return methodType != null &&
+                   assertions.matches(methodType.getDeclaringType().getFullyQualifiedName(), methodType.getName());
         }
     }
 }
@@ -23,20 +23,21 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
-import org.openrewrite.java.ChangeMethodAccessLevelVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.testing.internal.Modifiers;
+import org.openrewrite.java.testing.internal.TestAnnotations;
 import org.openrewrite.java.tree.Comment;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.J.ClassDeclaration;
-import org.openrewrite.java.tree.J.MethodDeclaration;
 import org.openrewrite.java.tree.J.Modifier;
 import org.openrewrite.java.tree.J.Modifier.Type;
+import org.openrewrite.java.tree.Statement;
 import org.openrewrite.java.tree.TypeUtils;
 
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 
@@ -77,58 +78,29 @@ public class TestsShouldNotBePublic extends Recipe {
     }
 
     private static class TestsNotPublicVisitor extends JavaIsoVisitor<ExecutionContext> {
-        private final Boolean orProtected;
+        private static final Set<Type> PUBLIC = Collections.singleton(Type.Public);
+        private static final Set<Type> ABSTRACT = Collections.singleton(Type.Abstract);
+        private static final Set<Type> PUBLIC_OR_PROTECTED = Collections.unmodifiableSet(EnumSet.of(Type.Public, Type.Protected));
+
+        private final Set<Type> methodAccessModifiers;
 
         private TestsNotPublicVisitor(Boolean orProtected) {
-            this.orProtected = orProtected;
+            this.methodAccessModifiers = orProtected ? PUBLIC_OR_PROTECTED : PUBLIC;
         }
 
         @Override
         public ClassDeclaration visitClassDeclaration(ClassDeclaration classDecl, ExecutionContext executionContext) {
             ClassDeclaration c = super.visitClassDeclaration(classDecl, executionContext);
 
-            if (c.getModifiers().stream().anyMatch(mod -> mod.getType() == J.Modifier.Type.Public)
-                    && c.getModifiers().stream().noneMatch(mod -> mod.getType() == Type.Abstract)) {
-
-                boolean hasTestMethods = c.getBody().getStatements().stream()
-                        .filter(statement -> statement instanceof J.MethodDeclaration)
-                        .map(J.MethodDeclaration.class::cast)
-                        .anyMatch(this::hasJUnit5MethodAnnotation);
-
-                boolean hasPublicNonTestMethods = c.getBody().getStatements().stream()
-                        .filter(statement -> statement instanceof J.MethodDeclaration)
-                        .map(J.MethodDeclaration.class::cast)
-                        .filter(m -> m.getModifiers().stream().anyMatch(mod -> mod.getType() == J.Modifier.Type.Public))
-                        .anyMatch(method -> !hasJUnit5MethodAnnotation(method));
-
-                boolean hasPublicVariableDeclarations = c.getBody().getStatements().stream()
-                        .filter(statement -> statement instanceof J.VariableDeclarations)
-                        .map(J.VariableDeclarations.class::cast)
-                        .anyMatch(m -> m.getModifiers().stream().anyMatch(mod -> mod.getType() == J.Modifier.Type.Public));
-
-                if (hasTestMethods && !hasPublicNonTestMethods && !hasPublicVariableDeclarations) {
-                    // Remove public modifier and move associated comment
-                    final List<Comment> modifierComments = new ArrayList<>();
-                    List<Modifier> modifiers = ListUtils.map(c.getModifiers(), mod -> {
-                        if (mod.getType() == J.Modifier.Type.Public) {
-                            modifierComments.addAll(mod.getComments());
-                            return null;
-                        }
-
-                        // copy access level modifier comment to next modifier if it exists
-                        if (!modifierComments.isEmpty()) {
-                            J.Modifier nextModifier = mod.withComments(ListUtils.concatAll(new ArrayList<>(modifierComments), mod.getComments()));
-                            modifierComments.clear();
-                            return nextModifier;
-                        }
-                        return mod;
-                    });
-                    // if no following modifier exists, add comments to method itself
-                    if (!modifierComments.isEmpty()) {
-                        c = c.withComments(ListUtils.concatAll(c.getComments(), modifierComments));
-                    }
-                    c = maybeAutoFormat(c, c.withModifiers(modifiers), executionContext, getCursor().dropParentUntil(J.class::isInstance));
+            if (Modifiers.hasAny(c.getModifiers(), PUBLIC) && !Modifiers.hasAny(c.getModifiers(), ABSTRACT) && isTestClass(c)) {
+                // Remove public modifier and move associated comment
+                List<Comment> orphanedComments = new ArrayList<>();
+                List<Modifier> modifiers = Modifiers.remove(c.getModifiers(), PUBLIC, orphanedComments);
+                // if no following modifier exists, add comments to the class itself
+                if (!orphanedComments.isEmpty()) {
+                    c = c.withComments(ListUtils.concatAll(c.getComments(), orphanedComments));
                 }
+                c = maybeAutoFormat(c, c.withModifiers(modifiers), executionContext, getCursor().dropParentUntil(J.class::isInstance));
             }
             return c;
         }
@@ -137,30 +109,41 @@ public class TestsShouldNotBePublic extends Recipe {
         public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext executionContext) {
             J.MethodDeclaration m = super.visitMethodDeclaration(method, executionContext);
 
-            if (m.getModifiers().stream().anyMatch(mod -> (mod.getType() == J.Modifier.Type.Public || (orProtected && mod.getType() == Type.Protected)))
+            if (Modifiers.hasAny(m.getModifiers(), methodAccessModifiers)
                     && Boolean.FALSE.equals(TypeUtils.isOverride(method.getMethodType()))
-                    && hasJUnit5MethodAnnotation(m)) {
-                // remove public modifier
-                doAfterVisit(new ChangeMethodAccessLevelVisitor<>(new MethodMatcher(method), null));
+                    && TestAnnotations.isTestOrLifecycleMethod(m)) {
+                // Remove the access modifier in place rather than through another visit of the whole compilation unit
+                List<Comment> orphanedComments = new ArrayList<>();
+                List<Modifier> modifiers = Modifiers.remove(m.getModifiers(), methodAccessModifiers, orphanedComments);
+                // if no following modifier exists, add comments to method itself
+                if (!orphanedComments.isEmpty()) {
+                    m = m.withComments(ListUtils.concatAll(m.getComments(), orphanedComments));
+                }
+                m = maybeAutoFormat(m, m.withModifiers(modifiers), m.getName(), executionContext, getCursor().getParentOrThrow());
             }
 
             return m;
         }
 
-        private boolean hasJUnit5MethodAnnotation(MethodDeclaration method) {
-            for (J.Annotation a : method.getLeadingAnnotations()) {
-                if (TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.Test")
-                        || TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.RepeatedTest")
-                        || TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.params.ParameterizedTest")
-                        || TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.TestFactory")
-                        || TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.AfterEach")
-                        || TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.BeforeEach")
-                        || TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.AfterAll")
-                        || TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.BeforeAll")) {
-                    return true;
+        /**
+         * @return Whether the class has test or lifecycle methods and no other public members.
+         */
+        private static boolean isTestClass(ClassDeclaration c) {
+            boolean hasTestMethods = false;
+            for (Statement statement : c.getBody().getStatements()) {
+                if (statement instanceof J.MethodDeclaration) {
+                    J.MethodDeclaration method = (J.MethodDeclaration) statement;
+                    if (TestAnnotations.isTestOrLifecycleMethod(method)) {
+                        hasTestMethods = true;
+                    } else if (Modifiers.hasAny(method.getModifiers(), PUBLIC)) {
+                        return false;
+                    }
+                } else if (statement instanceof J.VariableDeclarations &&
+                           Modifiers.hasAny(((J.VariableDeclarations) statement).getModifiers(), PUBLIC)) {
+                    return false;
                 }
             }
-            return false;
+            return hasTestMethods;
         }
     }
 }
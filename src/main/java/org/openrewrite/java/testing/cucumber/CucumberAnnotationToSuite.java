@@ -28,6 +28,7 @@ import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.TypeStub;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.J.ClassDeclaration;
 import org.openrewrite.java.tree.JavaType;
@@ -73,7 +74,7 @@ public class CucumberAnnotationToSuite extends Recipe {
                     return classDecl;
                 }
 
-                Supplier<JavaParser> javaParserSupplier = () -> JavaParser.fromJavaVersion().classpath("junit-platform-suite-api").build();
+                Supplier<JavaParser> javaParserSupplier = TypeStub.javaParser(TypeStub.SUITE, TypeStub.SUITE_SELECT_CLASSPATH_RESOURCE);
 
                 JavaType.FullyQualified classFqn = TypeUtils.asFullyQualified(classDecl.getType());
                 if (classFqn != null) {
@@ -0,0 +1,375 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.cucumber;
+
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Translates the regular expressions of step definitions to equivalent Cucumber expressions.
+ * <p>
+ * The regex is parsed into a small syntax tree first. Literal text, optional single characters and the capturing
+ * groups Cucumber has a parameter type for are translated; anything else makes the whole regex untranslatable.
+ * Translations only depend on the regex, so they are memoized across files and only checked against the parameter
+ * types of each step definition method when rendered.
+ *
+ * @see <a href="https://github.com/cucumber/cucumber-expressions#readme">Cucumber expressions</a>
+ */
+final class CucumberExpressionTranslator {
+    private static final int MAX_CACHED_TRANSLATIONS = 50_000;
+    private static final Map<String, Optional<Translation>> TRANSLATIONS = new ConcurrentHashMap<>();
+
+    private static final Set<String> INTEGER_GROUPS = new HashSet<>(Arrays.asList(
+            "\\d+", "-?\\d+", "[-+]?\\d+", "[0-9]+", "-?[0-9]+"));
+    private static final Set<String> WORD_GROUPS = new HashSet<>(Arrays.asList("\\S+", "[^\\s]+"));
+    private static final Set<String> ANONYMOUS_GROUPS = Collections.singleton(".*");
+
+    private static final String DATA_TABLE = "io.cucumber.datatable.DataTable";
+    private static final String DOC_STRING = "io.cucumber.docstring.DocString";
+
+    private CucumberExpressionTranslator() {
+    }
+
+    enum ParameterKind {
+        INTEGER, STRING, WORD, ANONYMOUS
+    }
+
+    /**
+     * @param regex A step definition regex without its anchors.
+     * @return The translation, or {@code null} when the regex has no Cucumber expression equivalent.
+     */
+    @Nullable
+    static Translation translate(String regex) {
+        Optional<Translation> translation = TRANSLATIONS.get(regex);
+        if (translation == null) {
+            if (TRANSLATIONS.size() >= MAX_CACHED_TRANSLATIONS) {
+                TRANSLATIONS.clear();
+            }
+            translation = Optional.ofNullable(doTranslate(regex));
+            TRANSLATIONS.put(regex, translation);
+        }
+        return translation.orElse(null);
+    }
+
+    @Nullable
+    private static Translation doTranslate(String regex) {
+        List<Node> nodes;
+        try {
+            Parser parser = new Parser(regex);
+            nodes = parser.sequence();
+            if (!parser.atEnd()) {
+                return null;
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        List<Object> parts = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            ParameterKind kind = null;
+            if (node instanceof Literal) {
+                char c = ((Literal) node).c;
+                Node next = i + 1 < nodes.size() ? nodes.get(i + 1) : null;
+                Node afterNext = i + 2 < nodes.size() ? nodes.get(i + 2) : null;
+                if ((c == '"' || c == '\'') && next instanceof Group && afterNext instanceof Literal &&
+                    ((Literal) afterNext).c == c && ((Group) next).capturing &&
+                    ((Group) next).source.equals("[^" + c + "]*")) {
+                    kind = ParameterKind.STRING;
+                    i += 2;
+                } else {
+                    appendEscaped(text, c);
+                    continue;
+                }
+            } else if (node instanceof Quantified) {
+                Quantified quantified = (Quantified) node;
+                if (!(quantified.node instanceof Literal) || !"?".equals(quantified.quantifier)) {
+                    return null;
+                }
+                text.append('(');
+                appendEscaped(text, ((Literal) quantified.node).c);
+                text.append(')');
+                continue;
+            } else if (node instanceof Group && ((Group) node).capturing) {
+                String source = ((Group) node).source;
+                if (INTEGER_GROUPS.contains(source)) {
+                    kind = ParameterKind.INTEGER;
+                } else if (WORD_GROUPS.contains(source)) {
+                    kind = ParameterKind.WORD;
+                } else if (ANONYMOUS_GROUPS.contains(source)) {
+                    kind = ParameterKind.ANONYMOUS;
+                }
+            }
+
+            if (kind == null) {
+                return null;
+            }
+            if (text.length() > 0) {
+                parts.add(text.toString());
+                text.setLength(0);
+            }
+            parts.add(kind);
+        }
+        if (text.length() > 0) {
+            parts.add(text.toString());
+        }
+        return new Translation(parts);
+    }
+
+    private static void appendEscaped(StringBuilder text, char c) {
+        if ("(){}/\\".indexOf(c) >= 0) {
+            text.append('\\');
+        }
+        text.append(c);
+    }
+
+    static final class Translation {
+        /**
+         * Literal text as {@link String} and parameters as {@link ParameterKind}.
+         */
+        private final List<Object> parts;
+
+        private Translation(List<Object> parts) {
+            this.parts = parts;
+        }
+
+        /**
+         * @param parameterTypes The parameter types of the step definition method.
+         * @return The Cucumber expression, or {@code null} when the method parameters do not fit its parameters.
+         */
+        @Nullable
+        String render(List<JavaType> parameterTypes) {
+            StringBuilder expression = new StringBuilder();
+            int parameter = 0;
+            for (Object part : parts) {
+                if (part instanceof String) {
+                    expression.append(part);
+                    continue;
+                }
+                if (parameter >= parameterTypes.size()) {
+                    return null;
+                }
+                String parameterType = parameterType((ParameterKind) part, parameterTypes.get(parameter++));
+                if (parameterType == null) {
+                    return null;
+                }
+                expression.append('{').append(parameterType).append('}');
+            }
+            if (parameter > 0 && !onlyTableOrDocString(parameterTypes.subList(parameter, parameterTypes.size()))) {
+                return null;
+            }
+
+            // Cucumber would take anything that looks like this for a regex again
+            String result = expression.toString();
+            if (result.startsWith("^") || result.endsWith("$") || (result.startsWith("/") && result.endsWith("/"))) {
+                return null;
+            }
+            return result;
+        }
+
+        @Nullable
+        private static String parameterType(ParameterKind kind, @Nullable JavaType type) {
+            switch (kind) {
+                case INTEGER:
+                    if (type == JavaType.Primitive.Int || TypeUtils.isOfClassType(type, "java.lang.Integer")) {
+                        return "int";
+                    } else if (type == JavaType.Primitive.Long || TypeUtils.isOfClassType(type, "java.lang.Long")) {
+                        return "long";
+                    } else if (TypeUtils.isOfClassType(type, "java.math.BigInteger")) {
+                        return "biginteger";
+                    }
+                    return null;
+                case STRING:
+                    return TypeUtils.isString(type) ? "string" : null;
+                case WORD:
+                    return TypeUtils.isString(type) ? "word" : null;
+                case ANONYMOUS:
+                default:
+                    return TypeUtils.isString(type) ? "" : null;
+            }
+        }
+
+        private static boolean onlyTableOrDocString(List<JavaType> remaining) {
+            return remaining.isEmpty() || (remaining.size() == 1 &&
+                                           (TypeUtils.isOfClassType(remaining.get(0), DATA_TABLE) ||
+                                            TypeUtils.isOfClassType(remaining.get(0), DOC_STRING)));
+        }
+    }
+
+    private interface Node {
+    }
+
+    private static final class Literal implements Node {
+        private final char c;
+
+        private Literal(char c) {
+            this.c = c;
+        }
+    }
+
+    /**
+     * Character classes, class escapes like {@code \d} and the wildcard {@code .}.
+     */
+    private static final class CharacterSet implements Node {
+    }
+
+    private static final class Group implements Node {
+        private final boolean capturing;
+        private final String source;
+
+        private Group(boolean capturing, String source) {
+            this.capturing = capturing;
+            this.source = source;
+        }
+    }
+
+    private static final class Alternation implements Node {
+    }
+
+    private static final class Quantified implements Node {
+        private final Node node;
+        private final String quantifier;
+
+        private Quantified(Node node, String quantifier) {
+            this.node = node;
+            this.quantifier = quantifier;
+        }
+    }
+
+    /**
+     * A recursive descent parser for the subset of {@link java.util.regex.Pattern} syntax found in step definitions.
+     * Constructs beyond that subset are rejected with an {@link IllegalArgumentException}.
+     */
+    private static final class Parser {
+        private final String regex;
+        private int pos;
+
+        private Parser(String regex) {
+            this.regex = regex;
+        }
+
+        boolean atEnd() {
+            return pos == regex.length();
+        }
+
+        List<Node> sequence() {
+            List<Node> nodes = new ArrayList<>();
+            while (!atEnd() && regex.charAt(pos) != ')') {
+                char c = regex.charAt(pos);
+                if (c == '|') {
+                    pos++;
+                    nodes.add(new Alternation());
+                } else if (c == '*' || c == '+' || c == '?' || c == '{') {
+                    if (nodes.isEmpty()) {
+                        throw new IllegalArgumentException("Dangling quantifier");
+                    }
+                    nodes.add(new Quantified(nodes.remove(nodes.size() - 1), quantifier()));
+                } else {
+                    nodes.add(atom());
+                }
+            }
+            return nodes;
+        }
+
+        private Node atom() {
+            char c = regex.charAt(pos++);
+            switch (c) {
+                case '\\':
+                    char escaped = next();
+                    if (Character.isLetterOrDigit(escaped)) {
+                        // character class escapes, back references, boundaries and the like
+                        return new CharacterSet();
+                    }
+                    return new Literal(escaped);
+                case '[':
+                    characterClass();
+                    return new CharacterSet();
+                case '.':
+                    return new CharacterSet();
+                case '(':
+                    return group();
+                case '^':
+                case '$':
+                    throw new IllegalArgumentException("Anchor inside the regex");
+                default:
+                    return new Literal(c);
+            }
+        }
+
+        private Group group() {
+            boolean capturing = true;
+            if (regex.startsWith("?:", pos)) {
+                capturing = false;
+                pos += 2;
+            } else if (!atEnd() && regex.charAt(pos) == '?') {
+                throw new IllegalArgumentException("Unsupported group construct");
+            }
+            int start = pos;
+            sequence();
+            if (atEnd()) {
+                throw new IllegalArgumentException("Unclosed group");
+            }
+            String source = regex.substring(start, pos++);
+            return new Group(capturing, source);
+        }
+
+        private void characterClass() {
+            if (!atEnd() && regex.charAt(pos) == '^') {
+                pos++;
+            }
+            // a leading ] is part of the class
+            if (!atEnd() && regex.charAt(pos) == ']') {
+                pos++;
+            }
+            while (true) {
+                char c = next();
+                if (c == '\\') {
+                    next();
+                } else if (c == '[') {
+                    throw new IllegalArgumentException("Nested character class");
+                } else if (c == ']') {
+                    return;
+                }
+            }
+        }
+
+        private String quantifier() {
+            int start = pos;
+            if (regex.charAt(pos++) == '{') {
+                while (next() != '}') {
+                    // skip bounds
+                }
+            }
+            // lazy or possessive
+            if (!atEnd() && (regex.charAt(pos) == '?' || regex.charAt(pos) == '+')) {
+                pos++;
+            }
+            return regex.substring(start, pos);
+        }
+
+        private char next() {
+            if (atEnd()) {
+                throw new IllegalArgumentException("Unexpected end of regex");
+            }
+            return regex.charAt(pos++);
+        }
+    }
+}
@@ -15,74 +15,124 @@
  */
 package org.openrewrite.java.testing.cucumber;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Supplier;
 
-import lombok.RequiredArgsConstructor;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.cleanup.RemoveUnneededBlock;
+import org.openrewrite.java.cleanup.UnnecessaryThrows;
+import org.openrewrite.java.testing.internal.JavaParserPool;
 import org.openrewrite.java.tree.*;
-import org.openrewrite.java.tree.JavaType.FullyQualified;
 
-@RequiredArgsConstructor
-class CucumberJava8ClassVisitor extends JavaIsoVisitor<ExecutionContext> {
+/**
+ * Collects the Cucumber-Java8 lambdas that subclasses migrate in a class, and replaces all of them with annotated
+ * methods in one template insertion once the whole class has been visited.
+ */
+abstract class CucumberJava8ClassVisitor extends JavaVisitor<ExecutionContext> {
 
     private static final String IO_CUCUMBER_JAVA = "io.cucumber.java";
     private static final String IO_CUCUMBER_JAVA8 = "io.cucumber.java8";
+    private static final String MIGRATED_METHODS = "cucumberJava8MigratedMethods";
+
+    private static final Supplier<JavaParser> CUCUMBER_JAVA_PARSER = JavaParserPool.classpath("cucumber-java", "cucumber-java8");
 
-    private final FullyQualified stepDefinitionsClass;
-    private final String replacementImport;
-    private final String template;
-    private final Object[] templateParameters;
+    private boolean migrated;
+
+    @Override
+    public J visitCompilationUnit(J.CompilationUnit cu, ExecutionContext p) {
+        migrated = false;
+        J c = super.visitCompilationUnit(cu, p);
+        if (migrated) {
+            // Remove nested braces from lambda body blocks inserted into new methods
+            doAfterVisit(new RemoveUnneededBlock());
+
+            // Remove unnecessary throws from templates that maybe-throw-exceptions
+            doAfterVisit(new UnnecessaryThrows());
+        }
+        return c;
+    }
 
     @Override
-    public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration cd, ExecutionContext p) {
-        J.ClassDeclaration classDeclaration = super.visitClassDeclaration(cd, p);
-        if (!TypeUtils.isOfType(classDeclaration.getType(), stepDefinitionsClass)) {
-            // We aren't looking at the specified class so return without making any modifications
+    public J visitClassDeclaration(J.ClassDeclaration cd, ExecutionContext p) {
+        List<MigratedMethod> methods = new ArrayList<>();
+        getCursor().putMessage(MIGRATED_METHODS, methods);
+        J.ClassDeclaration classDeclaration = (J.ClassDeclaration) super.visitClassDeclaration(cd, p);
+        if (methods.isEmpty()) {
             return classDeclaration;
         }
+        migrated = true;
+
+        StringBuilder template = new StringBuilder();
+        List<Object> templateParameters = new ArrayList<>();
+        Set<String> replacementImports = new LinkedHashSet<>();
+        for (MigratedMethod method : methods) {
+            if (template.length() > 0) {
+                template.append('\n');
+            }
+            template.append(method.template);
+            templateParameters.addAll(Arrays.asList(method.templateParameters));
+            replacementImports.add(method.replacementImport);
+        }
+
+        // Import Given/When/Then or Before/After as applicable
+        for (String replacementImport : replacementImports) {
+            maybeAddImport(replacementImport);
+        }
 
         // Remove implement of Java8 interfaces & imports; return retained
         List<TypeTree> retained = filterImplementingInterfaces(classDeclaration);
 
-        // Import Given/When/Then or Before/After as applicable
-        maybeAddImport(replacementImport);
+        // Update implements & add new methods
+        classDeclaration = classDeclaration
+                .withImplements(retained)
+                .withTemplate(JavaTemplate.builder(this::getCursor, template.toString())
+                                .javaParser(CUCUMBER_JAVA_PARSER)
+                                .imports(replacementImports.toArray(new String[0]))
+                                .build(),
+                        coordinatesForNewMethod(classDeclaration.getBody()),
+                        templateParameters.toArray());
 
         // Remove empty constructor which might be left over after removing method invocations with typical usage
-        doAfterVisit(new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration md, ExecutionContext p) {
-                J.MethodDeclaration methodDeclaration = super.visitMethodDeclaration(md, p);
-                if (methodDeclaration.isConstructor() && methodDeclaration.getBody().getStatements().isEmpty()) {
-                    return null;
-                }
-                return methodDeclaration;
-            }
-        });
+        return classDeclaration.withBody(classDeclaration.getBody().withStatements(
+                ListUtils.map(classDeclaration.getBody().getStatements(), statement -> {
+                    if (statement instanceof J.MethodDeclaration) {
+                        J.MethodDeclaration method = (J.MethodDeclaration) statement;
+                        if (method.isConstructor() && method.getBody() != null && method.getBody().getStatements().isEmpty()) {
+                            return null;
+                        }
+                    }
+                    return statement;
+                })));
+    }
 
-        // Remove nested braces from lambda body block inserted into new method
-        doAfterVisit(new org.openrewrite.java.cleanup.RemoveUnneededBlock());
-        
-        // Remove unnecessary throws from templates that maybe-throw-exceptions
-        doAfterVisit(new org.openrewrite.java.cleanup.UnnecessaryThrows());
+    /**
+     * Queue a new method for the class enclosing the current cursor position.
+     *
+     * @return Whether the method will be added, in which case the caller removes the lambda it was made from.
+     */
+    protected boolean migrate(String replacementImport, String template, Object[] templateParameters) {
+        List<MigratedMethod> methods = getCursor().getNearestMessage(MIGRATED_METHODS);
+        if (methods == null) {
+            return false;
+        }
+        methods.add(new MigratedMethod(replacementImport, template, templateParameters));
+        return true;
+    }
 
-        // Update implements & add new method
-        return classDeclaration
-                .withImplements(retained)
-                .withTemplate(JavaTemplate.builder(this::getCursor, template)
-                        .javaParser(() -> JavaParser.fromJavaVersion().classpath(
-                                "cucumber-java",
-                                "cucumber-java8")
-                                .build())
-                        .imports(replacementImport)
-                        .build(),
-                        coordinatesForNewMethod(classDeclaration.getBody()),
-                        templateParameters);
+    private static class MigratedMethod {
+        private final String replacementImport;
+        private final String template;
+        private final Object[] templateParameters;
+
+        MigratedMethod(String replacementImport, String template, Object[] templateParameters) {
+            this.replacementImport = replacementImport;
+            this.template = template;
+            this.templateParameters = templateParameters;
+        }
     }
 
     /**
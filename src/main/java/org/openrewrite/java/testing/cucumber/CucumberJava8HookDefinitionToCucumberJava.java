@@ -22,7 +22,6 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
-import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.Expression;
@@ -76,7 +75,7 @@ public class CucumberJava8HookDefinitionToCucumberJava extends Recipe {
         return new CucumberJava8HooksVisitor();
     }
 
-    static final class CucumberJava8HooksVisitor extends JavaVisitor<ExecutionContext> {
+    static final class CucumberJava8HooksVisitor extends CucumberJava8ClassVisitor {
         @Override
         public J visitMethodInvocation(J.MethodInvocation mi, ExecutionContext p) {
             J.MethodInvocation methodInvocation = (J.MethodInvocation) super.visitMethodInvocation(mi, p);
@@ -95,17 +94,12 @@ public class CucumberJava8HookDefinitionToCucumberJava extends Recipe {
             HookArguments hookArguments = parseHookArguments(methodInvocation.getSimpleName(),
                     methodInvocation.getArguments());
 
-            // Add new template method at end of class declaration
-            J.ClassDeclaration parentClass = getCursor()
-                    .dropParentUntil(J.ClassDeclaration.class::isInstance)
-                    .getValue();
-            doAfterVisit(new CucumberJava8ClassVisitor(
-                    parentClass.getType(),
-                    hookArguments.replacementImport(),
-                    hookArguments.template(),
-                    hookArguments.parameters()));
-
-            // Remove original method invocation; it's replaced in the above visitor
+            // Add new template method to the class declaration
+            if (!migrate(hookArguments.replacementImport(), hookArguments.template(), hookArguments.parameters())) {
+                return methodInvocation;
+            }
+
+            // Remove original method invocation; it's replaced once the enclosing class has been visited
             return null;
         }
 
@@ -20,7 +20,6 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
-import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.Expression;
@@ -64,7 +63,7 @@ public class CucumberJava8StepDefinitionToCucumberJava extends Recipe {
         return new CucumberStepDefinitionBodyVisitor();
     }
 
-    static final class CucumberStepDefinitionBodyVisitor extends JavaVisitor<ExecutionContext> {
+    static final class CucumberStepDefinitionBodyVisitor extends CucumberJava8ClassVisitor {
         @Override
         public J visitMethodInvocation(J.MethodInvocation mi, ExecutionContext p) {
             J.MethodInvocation methodInvocation = (J.MethodInvocation) super.visitMethodInvocation(mi, p);
@@ -97,21 +96,15 @@ public class CucumberJava8StepDefinitionToCucumberJava extends Recipe {
             StepDefinitionArguments stepArguments = new StepDefinitionArguments(
                     methodInvocation.getSimpleName(), literal, lambda);
 
-            // Determine step definitions class name
-            J.ClassDeclaration parentClass = getCursor()
-                    .dropParentUntil(J.ClassDeclaration.class::isInstance)
-                    .getValue();
             String replacementImport = String.format("%s.%s",
                     methodInvocation.getMethodType().getDeclaringType().getFullyQualifiedName()
                             .replace("java8", "java").toLowerCase(),
                     methodInvocation.getSimpleName());
-            doAfterVisit(new CucumberJava8ClassVisitor(
-                    parentClass.getType(),
-                    replacementImport,
-                    stepArguments.template(),
-                    stepArguments.parameters()));
+            if (!migrate(replacementImport, stepArguments.template(), stepArguments.parameters())) {
+                return methodInvocation;
+            }
 
-            // Remove original method invocation; it's replaced in the above visitor
+            // Remove original method invocation; it's replaced once the enclosing class has been visited
             return null;
         }
     }
@@ -25,9 +25,11 @@ import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Statement;
 import org.openrewrite.java.tree.TypeUtils;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
@@ -51,7 +53,8 @@ public class RegexToCucumberExpression extends Recipe {
 
     @Override
     public String getDescription() {
-        return "Strip regex prefix and suffix from step annotation expressions arguments where possible.";
+        return "Replace step annotation regexes with equivalent Cucumber expressions where possible, " +
+               "turning common capturing groups into parameter types that match the method parameters.";
     }
 
     @Override
@@ -102,19 +105,36 @@ public class RegexToCucumberExpression extends Recipe {
             }
 
             // Strip leading/trailing regex anchors
-            String replacement = stripAnchors(possibleExpression.get());
+            String regex = stripAnchors(possibleExpression.get());
+            if (regex.equals(possibleExpression.get())) {
+                return annotation;
+            }
 
-            // Back off when special characters are encountered in regex
-            if (Stream.of("(", ")", "{", "}", "[", "]", "?", "*", "+", "/", "\\", "^", "|")
-                    .anyMatch(replacement::contains)) {
+            // Back off when the regex has no equivalent Cucumber expression for the method parameters
+            CucumberExpressionTranslator.Translation translation = CucumberExpressionTranslator.translate(regex);
+            String replacement = translation == null ? null : translation.render(parameterTypes(methodDeclaration));
+            if (replacement == null) {
                 return annotation;
             }
 
             // Replace regular expression with cucumber expression
-            final String finalReplacement = String.format("\"%s\"", replacement);
+            final String finalReplacement = replacement;
+            final String finalReplacementSource = String.format("\"%s\"", replacement
+                    .replace("\\", "\\\\")
+                    .replace("\"", "\\\""));
             return annotation.withArguments(ListUtils.map(annotation.getArguments(), arg -> ((J.Literal) arg)
                     .withValue(finalReplacement)
-                    .withValueSource(finalReplacement)));
+                    .withValueSource(finalReplacementSource)));
+        }
+
+        private static List<JavaType> parameterTypes(J.MethodDeclaration methodDeclaration) {
+            List<JavaType> parameterTypes = new ArrayList<>();
+            for (Statement parameter : methodDeclaration.getParameters()) {
+                if (parameter instanceof J.VariableDeclarations) {
+                    parameterTypes.add(((J.VariableDeclarations) parameter).getType());
+                }
+            }
+            return parameterTypes;
         }
 
         private static String stripAnchors(final String initialExpression) {
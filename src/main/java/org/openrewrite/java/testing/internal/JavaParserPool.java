@@ -0,0 +1,203 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import lombok.Value;
+import org.openrewrite.java.JavaParser;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Shared registry of the {@link JavaParser}s used to compile {@link org.openrewrite.java.JavaTemplate}s.
+ * <p>
+ * Building a parser resolves its classpath artifacts and sets up a compiler, so recipes should not build one
+ * per template. Parsers are keyed by their classpath artifacts and stub sources, and a warmed parser is handed
+ * out again to any recipe asking for the same key. A {@link JavaParser} is not thread safe, so a parser is only
+ * ever lent to one thread at a time, and the number of idle parsers kept per key is bounded.
+ * <p>
+ * Parsers handed out by {@link #supplier(Key)} stay with the calling thread until it needs room for another key.
+ * A thread keeps at most {@value #MAX_LEASED_PER_THREAD} of them and all threads together at most four per
+ * available processor, counting only threads that are still alive. A thread that holds none when that total is
+ * reached gets a parser that is not pooled.
+ */
+public final class JavaParserPool {
+    private static final int MAX_IDLE_PER_KEY = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final int MAX_LEASED_PER_THREAD = 16;
+    private static final int MAX_LEASED = 4 * Runtime.getRuntime().availableProcessors();
+
+    private static final Map<Key, Pool> POOLS = new ConcurrentHashMap<>();
+
+    private static final Set<Leases> ALL_LEASES = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger LEASED_COUNT = new AtomicInteger();
+
+    /**
+     * Parsers held by the current thread on behalf of {@link #supplier(Key)}.
+     */
+    private static final ThreadLocal<Leases> LEASED = ThreadLocal.withInitial(() -> {
+        Leases leases = new Leases();
+        ALL_LEASES.add(leases);
+        return leases;
+    });
+
+    private JavaParserPool() {
+    }
+
+    /**
+     * @param artifactNames The classpath artifacts, as accepted by {@link JavaParser.Builder#classpath(String...)}.
+     * @return A parser supplier suitable for {@link org.openrewrite.java.JavaTemplate.Builder#javaParser(Supplier)}.
+     */
+    public static Supplier<JavaParser> classpath(String... artifactNames) {
+        return supplier(new Key(Arrays.asList(artifactNames), Collections.emptyList()));
+    }
+
+    /**
+     * @param stubs Java sources the parser depends on, as accepted by {@link JavaParser.Builder#dependsOn(String...)}.
+     * @return A parser supplier suitable for {@link org.openrewrite.java.JavaTemplate.Builder#javaParser(Supplier)}.
+     */
+    public static Supplier<JavaParser> stubs(String... stubs) {
+        return supplier(new Key(Collections.emptyList(), Arrays.asList(stubs)));
+    }
+
+    public static Supplier<JavaParser> of(List<String> artifactNames, String... stubs) {
+        return supplier(new Key(artifactNames, Arrays.asList(stubs)));
+    }
+
+    /**
+     * Supply the calling thread's parser for the given key, borrowing one from the shared pool the first time
+     * the thread asks for it. {@link org.openrewrite.java.JavaTemplate} resets the parser before every use, so
+     * the same parser can serve every template on that thread.
+     * <p>
+     * When the thread may not hold another parser, it hands back the one it used least recently to make room.
+     */
+    public static Supplier<JavaParser> supplier(Key key) {
+        return () -> {
+            Leases leases = LEASED.get();
+            JavaParser parser = leases.parsers.get(key);
+            if (parser != null) {
+                return parser;
+            }
+            if (leases.parsers.size() >= MAX_LEASED_PER_THREAD) {
+                leases.releaseLeastRecentlyUsed();
+            } else if (!reserveLease()) {
+                if (leases.parsers.isEmpty()) {
+                    // used by a single template, then left to the garbage collector
+                    return key.build();
+                }
+                leases.releaseLeastRecentlyUsed();
+            }
+            parser = borrow(key);
+            leases.parsers.put(key, parser);
+            return parser;
+        };
+    }
+
+    private static boolean reserveLease() {
+        if (LEASED_COUNT.incrementAndGet() <= MAX_LEASED) {
+            return true;
+        }
+        LEASED_COUNT.decrementAndGet();
+
+        // Threads that have ended no longer use their parsers
+        for (Leases leases : ALL_LEASES) {
+            if (leases.ownerEnded() && ALL_LEASES.remove(leases)) {
+                LEASED_COUNT.addAndGet(-leases.parsers.size());
+                leases.parsers.forEach(JavaParserPool::release);
+            }
+        }
+        if (LEASED_COUNT.incrementAndGet() <= MAX_LEASED) {
+            return true;
+        }
+        LEASED_COUNT.decrementAndGet();
+        return false;
+    }
+
+    /**
+     * Take exclusive ownership of a parser for the given key. Callers must hand it back with
+     * {@link #release(Key, JavaParser)} once they are done with it.
+     */
+    public static JavaParser borrow(Key key) {
+        Pool pool = POOLS.computeIfAbsent(key, k -> new Pool());
+        JavaParser parser = pool.idle.pollFirst();
+        if (parser != null) {
+            pool.size.decrementAndGet();
+            return parser;
+        }
+        return key.build();
+    }
+
+    /**
+     * Return a parser previously obtained from {@link #borrow(Key)}. The parser is discarded when the pool for
+     * its key is already full.
+     */
+    public static void release(Key key, JavaParser parser) {
+        Pool pool = POOLS.computeIfAbsent(key, k -> new Pool());
+        if (pool.size.incrementAndGet() <= MAX_IDLE_PER_KEY) {
+            parser.reset();
+            pool.idle.offerFirst(parser);
+        } else {
+            pool.size.decrementAndGet();
+        }
+    }
+
+    @Value
+    public static class Key {
+        List<String> classpath;
+        List<String> stubs;
+
+        JavaParser build() {
+            JavaParser.Builder<? extends JavaParser, ?> builder = JavaParser.fromJavaVersion();
+            if (!classpath.isEmpty()) {
+                builder.classpath(classpath.toArray(new String[0]));
+            }
+            if (!stubs.isEmpty()) {
+                builder.dependsOn(stubs.toArray(new String[0]));
+            }
+            return builder.build();
+        }
+    }
+
+    /**
+     * The parsers of one thread, in least recently used order. Only the owning thread touches them while it runs.
+     */
+    private static class Leases {
+        final WeakReference<Thread> owner = new WeakReference<>(Thread.currentThread());
+        final Map<Key, JavaParser> parsers = new LinkedHashMap<>(16, 0.75f, true);
+
+        boolean ownerEnded() {
+            Thread thread = owner.get();
+            return thread == null || !thread.isAlive();
+        }
+
+        void releaseLeastRecentlyUsed() {
+            Iterator<Map.Entry<Key, JavaParser>> entries = parsers.entrySet().iterator();
+            Map.Entry<Key, JavaParser> eldest = entries.next();
+            Key key = eldest.getKey();
+            JavaParser parser = eldest.getValue();
+            entries.remove();
+            release(key, parser);
+        }
+    }
+
+    private static class Pool {
+        final Deque<JavaParser> idle = new ConcurrentLinkedDeque<>();
+        final AtomicInteger size = new AtomicInteger();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tells which local variables recipes can move into a lambda.
+ * <p>
+ * Variables are told apart by name only, so a variable shadowing another one of the same name counts as the same
+ * variable. That at worst keeps an expression out of a lambda.
+ */
+public final class LocalVariables {
+    private LocalVariables() {
+    }
+
+    /**
+     * @return The names of the parameters and local variables declared in the tree that are assigned after their
+     * declaration, and so are not effectively final.
+     */
+    public static Set<String> notEffectivelyFinal(J tree) {
+        Set<String> declared = new HashSet<>();
+        Set<String> assigned = new HashSet<>();
+        new JavaIsoVisitor<Integer>() {
+            @Override
+            public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, Integer p) {
+                declared.add(variable.getSimpleName());
+                return super.visitVariable(variable, p);
+            }
+
+            @Override
+            public J.Assignment visitAssignment(J.Assignment assignment, Integer p) {
+                assigned(assignment.getVariable());
+                return super.visitAssignment(assignment, p);
+            }
+
+            @Override
+            public J.AssignmentOperation visitAssignmentOperation(J.AssignmentOperation assignOp, Integer p) {
+                assigned(assignOp.getVariable());
+                return super.visitAssignmentOperation(assignOp, p);
+            }
+
+            @Override
+            public J.Unary visitUnary(J.Unary unary, Integer p) {
+                switch (unary.getOperator()) {
+                    case PreIncrement:
+                    case PreDecrement:
+                    case PostIncrement:
+                    case PostDecrement:
+                        assigned(unary.getExpression());
+                        break;
+                    default:
+                        break;
+                }
+                return super.visitUnary(unary, p);
+            }
+
+            private void assigned(Expression variable) {
+                if (variable instanceof J.Identifier) {
+                    assigned.add(((J.Identifier) variable).getSimpleName());
+                }
+            }
+        }.visit(tree, 0);
+        declared.retainAll(assigned);
+        return declared;
+    }
+
+    /**
+     * @return Whether the tree refers to any of the variables.
+     */
+    public static boolean referencesAny(J tree, Set<String> names) {
+        if (names.isEmpty()) {
+            return false;
+        }
+        boolean[] found = new boolean[1];
+        new JavaIsoVisitor<Integer>() {
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier identifier, Integer p) {
+                if (names.contains(identifier.getSimpleName())) {
+                    found[0] = true;
+                }
+                return identifier;
+            }
+        }.visit(tree, 0);
+        return found[0];
+    }
+}
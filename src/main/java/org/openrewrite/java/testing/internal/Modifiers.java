@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.tree.Comment;
+import org.openrewrite.java.tree.J;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public final class Modifiers {
+    private Modifiers() {
+    }
+
+    public static boolean hasAny(List<J.Modifier> modifiers, Set<J.Modifier.Type> types) {
+        for (J.Modifier modifier : modifiers) {
+            if (types.contains(modifier.getType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes modifiers the same way {@link org.openrewrite.java.ChangeMethodAccessLevelVisitor} does: the comments
+     * of a removed modifier move to the next modifier that is kept.
+     *
+     * @param orphanedComments Receives the comments of removed modifiers that no kept modifier follows, which callers
+     *                         move to the declaration itself.
+     */
+    public static List<J.Modifier> remove(List<J.Modifier> modifiers, Set<J.Modifier.Type> types, List<Comment> orphanedComments) {
+        List<Comment> modifierComments = new ArrayList<>();
+        List<J.Modifier> kept = ListUtils.map(modifiers, mod -> {
+            if (types.contains(mod.getType())) {
+                modifierComments.addAll(mod.getComments());
+                return null;
+            }
+
+            // copy access level modifier comment to next modifier if it exists
+            if (!modifierComments.isEmpty()) {
+                J.Modifier nextModifier = mod.withComments(ListUtils.concatAll(new ArrayList<>(modifierComments), mod.getComments()));
+                modifierComments.clear();
+                return nextModifier;
+            }
+            return mod;
+        });
+        orphanedComments.addAll(modifierComments);
+        return kept;
+    }
+}
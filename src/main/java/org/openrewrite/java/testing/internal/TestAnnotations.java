@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.*;
+
+/**
+ * Classifies JUnit Jupiter method annotations by the role they give the annotated method.
+ * <p>
+ * The role of an annotation type is looked up by its fully qualified name once and then cached per
+ * {@link JavaType}, so classifying a method costs one map probe per leading annotation.
+ */
+public final class TestAnnotations {
+    public enum Role {
+        /**
+         * {@code @Test}
+         */
+        TEST,
+
+        /**
+         * {@code @TestTemplate} and the annotations meta-annotated with it, {@code @RepeatedTest} and
+         * {@code @ParameterizedTest}.
+         */
+        TEMPLATE,
+
+        /**
+         * {@code @TestFactory}
+         */
+        FACTORY,
+
+        /**
+         * {@code @BeforeEach}, {@code @AfterEach}, {@code @BeforeAll} and {@code @AfterAll}.
+         */
+        LIFECYCLE
+    }
+
+    /**
+     * The roles of methods that JUnit runs as tests.
+     */
+    public static final Set<Role> TEST_METHOD = Collections.unmodifiableSet(EnumSet.of(Role.TEST, Role.TEMPLATE, Role.FACTORY));
+
+    /**
+     * The roles of methods that JUnit invokes itself and so do not need to be visible outside the package.
+     */
+    public static final Set<Role> TEST_OR_LIFECYCLE_METHOD = Collections.unmodifiableSet(EnumSet.allOf(Role.class));
+
+    private static final Map<String, Role> ROLES_BY_TYPE = new HashMap<>();
+
+    static {
+        ROLES_BY_TYPE.put("org.junit.jupiter.api.Test", Role.TEST);
+        ROLES_BY_TYPE.put("org.junit.jupiter.api.TestTemplate", Role.TEMPLATE);
+        ROLES_BY_TYPE.put("org.junit.jupiter.api.RepeatedTest", Role.TEMPLATE);
+        ROLES_BY_TYPE.put("org.junit.jupiter.params.ParameterizedTest", Role.TEMPLATE);
+        ROLES_BY_TYPE.put("org.junit.jupiter.api.TestFactory", Role.FACTORY);
+        ROLES_BY_TYPE.put("org.junit.jupiter.api.BeforeEach", Role.LIFECYCLE);
+        ROLES_BY_TYPE.put("org.junit.jupiter.api.AfterEach", Role.LIFECYCLE);
+        ROLES_BY_TYPE.put("org.junit.jupiter.api.BeforeAll", Role.LIFECYCLE);
+        ROLES_BY_TYPE.put("org.junit.jupiter.api.AfterAll", Role.LIFECYCLE);
+    }
+
+    /**
+     * Annotation types are shared by every tree parsed with the same parser, so most lookups hit the cache.
+     * Types that have no role are cached as well, as {@link Optional#empty()}.
+     */
+    private static final Map<JavaType, Optional<Role>> ROLES_BY_JAVA_TYPE =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private TestAnnotations() {
+    }
+
+    /**
+     * @return The fully qualified names of the annotation types giving methods any of the roles.
+     */
+    public static Set<String> typesWithRole(Set<Role> roles) {
+        Set<String> types = new LinkedHashSet<>();
+        ROLES_BY_TYPE.forEach((type, role) -> {
+            if (roles.contains(role)) {
+                types.add(type);
+            }
+        });
+        return types;
+    }
+
+    @Nullable
+    public static Role roleOf(@Nullable JavaType annotationType) {
+        if (annotationType == null) {
+            return null;
+        }
+        return ROLES_BY_JAVA_TYPE.computeIfAbsent(annotationType, type -> {
+            JavaType.FullyQualified fq = TypeUtils.asFullyQualified(type);
+            return Optional.ofNullable(fq == null ? null : ROLES_BY_TYPE.get(fq.getFullyQualifiedName()));
+        }).orElse(null);
+    }
+
+    @Nullable
+    public static Role roleOf(J.Annotation annotation) {
+        return roleOf(annotation.getType());
+    }
+
+    public static boolean hasRole(J.Annotation annotation, Set<Role> roles) {
+        Role role = roleOf(annotation);
+        return role != null && roles.contains(role);
+    }
+
+    /**
+     * @return Whether any leading annotation of the method gives it one of the roles.
+     */
+    public static boolean hasRole(J.MethodDeclaration method, Set<Role> roles) {
+        for (J.Annotation annotation : method.getLeadingAnnotations()) {
+            if (hasRole(annotation, roles)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean isTestMethod(J.MethodDeclaration method) {
+        return hasRole(method, TEST_METHOD);
+    }
+
+    public static boolean isTestOrLifecycleMethod(J.MethodDeclaration method) {
+        return hasRole(method, TEST_OR_LIFECYCLE_METHOD);
+    }
+}
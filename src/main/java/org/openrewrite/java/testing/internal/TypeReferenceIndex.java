@@ -0,0 +1,175 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * The types and methods a compilation unit refers to, collected in a single walk of the tree.
+ * <p>
+ * The index is computed the first time any recipe asks for it and is shared until the compilation unit changes,
+ * so applicability tests that check for several types or methods become set lookups instead of one
+ * {@link org.openrewrite.java.search.UsesType} or {@link org.openrewrite.java.search.UsesMethod} walk each.
+ */
+public final class TypeReferenceIndex {
+    /**
+     * Compilation units are equal when their ids are, so every entry also remembers which instance it was built
+     * from. Entries do not hold on to the compilation unit, so they go away with it.
+     */
+    private static final Map<J.CompilationUnit, TypeReferenceIndex> INDEXES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final WeakReference<J.CompilationUnit> source;
+    private final Set<String> types = new HashSet<>();
+    private final Set<String> methods = new HashSet<>();
+
+    private TypeReferenceIndex(J.CompilationUnit source) {
+        this.source = new WeakReference<>(source);
+    }
+
+    public static TypeReferenceIndex of(J.CompilationUnit cu) {
+        TypeReferenceIndex index = INDEXES.get(cu);
+        if (index == null || index.source.get() != cu) {
+            index = new TypeReferenceIndex(cu);
+            index.new Collector().visit(cu, 0);
+            INDEXES.put(cu, index);
+        }
+        return index;
+    }
+
+    /**
+     * @return A single source applicable test passing the compilation units whose index satisfies the predicate.
+     */
+    public static TreeVisitor<?, ExecutionContext> applicableIf(Predicate<TypeReferenceIndex> test) {
+        return new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext executionContext) {
+                return test.test(of(cu)) ? cu.withMarkers(cu.getMarkers().searchResult()) : cu;
+            }
+        };
+    }
+
+    /**
+     * @return A single source applicable test passing the compilation units that refer to any of the given types.
+     */
+    public static TreeVisitor<?, ExecutionContext> usesAnyType(String... fullyQualifiedTypeNames) {
+        List<String> types = Arrays.asList(fullyQualifiedTypeNames);
+        return applicableIf(index -> index.referencesAnyType(types));
+    }
+
+    public static String methodKey(String declaringType, String methodName) {
+        return declaringType + '#' + methodName;
+    }
+
+    public boolean referencesType(String fullyQualifiedTypeName) {
+        return types.contains(fullyQualifiedTypeName);
+    }
+
+    public boolean referencesAnyType(Collection<String> fullyQualifiedTypeNames) {
+        for (String type : fullyQualifiedTypeNames) {
+            if (types.contains(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param methodKey The declaring type and name of a method, as produced by {@link #methodKey(String, String)}.
+     */
+    public boolean referencesMethod(String methodKey) {
+        return methods.contains(methodKey);
+    }
+
+    public boolean referencesAnyMethod(Collection<String> methodKeys) {
+        for (String key : methodKeys) {
+            if (methods.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private class Collector extends JavaIsoVisitor<Integer> {
+        @Override
+        public J.Import visitImport(J.Import _import, Integer p) {
+            types.add(_import.getTypeName());
+            if (_import.isStatic()) {
+                String member = _import.getQualid().getSimpleName();
+                if (!"*".equals(member)) {
+                    methods.add(methodKey(_import.getTypeName(), member));
+                }
+            }
+            return _import;
+        }
+
+        @Override
+        public J.Identifier visitIdentifier(J.Identifier identifier, Integer p) {
+            addType(identifier.getType());
+            return super.visitIdentifier(identifier, p);
+        }
+
+        @Override
+        public J.FieldAccess visitFieldAccess(J.FieldAccess fieldAccess, Integer p) {
+            addType(fieldAccess.getType());
+            return super.visitFieldAccess(fieldAccess, p);
+        }
+
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+            addMethod(method.getMethodType());
+            return super.visitMethodInvocation(method, p);
+        }
+
+        @Override
+        public J.NewClass visitNewClass(J.NewClass newClass, Integer p) {
+            addType(newClass.getType());
+            addMethod(newClass.getConstructorType());
+            return super.visitNewClass(newClass, p);
+        }
+
+        @Override
+        public J.MemberReference visitMemberReference(J.MemberReference memberRef, Integer p) {
+            addMethod(memberRef.getMethodType());
+            return super.visitMemberReference(memberRef, p);
+        }
+
+        private void addType(@Nullable JavaType type) {
+            JavaType.FullyQualified fq = TypeUtils.asFullyQualified(type);
+            if (fq != null) {
+                types.add(fq.getFullyQualifiedName());
+            }
+        }
+
+        private void addMethod(@Nullable JavaType.Method method) {
+            if (method != null) {
+                String declaringType = method.getDeclaringType().getFullyQualifiedName();
+                types.add(declaringType);
+                methods.add(methodKey(declaringType, method.getName()));
+            }
+        }
+    }
+}
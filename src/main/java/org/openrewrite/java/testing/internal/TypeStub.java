@@ -0,0 +1,195 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import lombok.Getter;
+import org.openrewrite.java.JavaParser;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Catalog of the type stubs that recipes compile their {@link org.openrewrite.java.JavaTemplate}s against when
+ * the real artifact is not guaranteed to be on the recipe's runtime classpath.
+ * <p>
+ * Stubs are combined in a canonical order, so every recipe depending on the same stubs shares the same warmed
+ * parser from the {@link JavaParserPool}, no matter the order in which the stubs were requested.
+ */
+public enum TypeStub {
+    JUPITER_TEST("org.junit.jupiter.api.Test",
+            "package org.junit.jupiter.api;\n" +
+                    "public @interface Test {}"),
+    JUPITER_BEFORE_EACH("org.junit.jupiter.api.BeforeEach",
+            "package org.junit.jupiter.api;\n" +
+                    "public @interface BeforeEach {}"),
+    JUPITER_BEFORE_ALL("org.junit.jupiter.api.BeforeAll",
+            "package org.junit.jupiter.api;\n" +
+                    "public @interface BeforeAll {}"),
+    JUPITER_AFTER_EACH("org.junit.jupiter.api.AfterEach",
+            "package org.junit.jupiter.api;\n" +
+                    "public @interface AfterEach {}"),
+    JUPITER_NESTED("org.junit.jupiter.api.Nested",
+            "package org.junit.jupiter.api;\n" +
+                    "public @interface Nested {}"),
+    JUPITER_TEST_INFO("org.junit.jupiter.api.TestInfo",
+            "package org.junit.jupiter.api;\n" +
+                    "import java.lang.reflect.Method;\n" +
+                    "import java.util.Optional;\n" +
+                    "import java.util.Set;\n" +
+                    "public interface TestInfo {\n" +
+                    "  String getDisplayName();\n" +
+                    "  Set<String> getTags();\n" +
+                    "  Optional<Class<?>> getTestClass();\n" +
+                    "  Optional<Method> getTestMethod();\n" +
+                    "}"),
+    JUPITER_METHOD_ORDERER("org.junit.jupiter.api.MethodOrderer",
+            "package org.junit.jupiter.api;\n" +
+                    "public interface MethodOrderer {\n" +
+                    "  public class MethodName {}\n" +
+                    "}"),
+    JUPITER_TEST_METHOD_ORDER("org.junit.jupiter.api.TestMethodOrder",
+            "package org.junit.jupiter.api;\n" +
+                    "public @interface TestMethodOrder {}"),
+    JUPITER_TEST_INSTANCE("org.junit.jupiter.api.TestInstance",
+            "package org.junit.jupiter.api;\n" +
+                    "public @interface TestInstance {\n" +
+                    "  enum Lifecycle { PER_CLASS, PER_METHOD; }\n" +
+                    "  Lifecycle value();\n" +
+                    "}"),
+    JUPITER_EXTEND_WITH("org.junit.jupiter.api.extension.ExtendWith",
+            "package org.junit.jupiter.api.extension;\n" +
+                    "public @interface ExtendWith {\n" +
+                    "  Class[] value();\n" +
+                    "}"),
+    JUPITER_EXECUTION_MODE("org.junit.jupiter.api.parallel.ExecutionMode",
+            "package org.junit.jupiter.api.parallel;\n" +
+                    "public enum ExecutionMode {\n" +
+                    "  SAME_THREAD, CONCURRENT;\n" +
+                    "  private ExecutionMode() {}\n" +
+                    "}"),
+    JUPITER_EXECUTION("org.junit.jupiter.api.parallel.Execution",
+            "package org.junit.jupiter.api.parallel;\n" +
+                    "public @interface Execution {\n" +
+                    "  ExecutionMode value();\n" +
+                    "}"),
+    JUPITER_RESOURCES("org.junit.jupiter.api.parallel.Resources",
+            "package org.junit.jupiter.api.parallel;\n" +
+                    "public class Resources {\n" +
+                    "  public static final String SYSTEM_PROPERTIES = \"java.lang.System.properties\";\n" +
+                    "  public static final String SYSTEM_OUT = \"java.lang.System.out\";\n" +
+                    "  public static final String SYSTEM_ERR = \"java.lang.System.err\";\n" +
+                    "  public static final String LOCALE = \"java.util.Locale\";\n" +
+                    "  public static final String TIME_ZONE = \"java.util.TimeZone\";\n" +
+                    "}"),
+    JUPITER_RESOURCE_LOCK("org.junit.jupiter.api.parallel.ResourceLock",
+            "package org.junit.jupiter.api.parallel;\n" +
+                    "public @interface ResourceLock {\n" +
+                    "  String value();\n" +
+                    "}"),
+    JUPITER_TEMP_DIR("org.junit.jupiter.api.io.TempDir",
+            "package org.junit.jupiter.api.io;\n" +
+                    "public @interface TempDir {}"),
+    SUITE("org.junit.platform.suite.api.Suite",
+            "package org.junit.platform.suite.api;\n" +
+                    "public @interface Suite {}"),
+    SUITE_SELECT_CLASSPATH_RESOURCE("org.junit.platform.suite.api.SelectClasspathResource",
+            "package org.junit.platform.suite.api;\n" +
+                    "public @interface SelectClasspathResource {\n" +
+                    "  String value();\n" +
+                    "}"),
+    AWAITILITY_THROWING_RUNNABLE("org.awaitility.core.ThrowingRunnable",
+            "package org.awaitility.core;\n" +
+                    "public interface ThrowingRunnable {\n" +
+                    "  void run() throws Throwable;\n" +
+                    "}"),
+    AWAITILITY_CONDITION_FACTORY("org.awaitility.core.ConditionFactory",
+            "package org.awaitility.core;\n" +
+                    "import java.time.Duration;\n" +
+                    "import java.util.concurrent.Callable;\n" +
+                    "public class ConditionFactory {\n" +
+                    "  public ConditionFactory atMost(Duration timeout) { return this; }\n" +
+                    "  public ConditionFactory forever() { return this; }\n" +
+                    "  public ConditionFactory pollInterval(Duration pollInterval) { return this; }\n" +
+                    "  public void until(Callable<Boolean> conditionEvaluator) {}\n" +
+                    "  public void untilAsserted(ThrowingRunnable assertion) {}\n" +
+                    "}"),
+    AWAITILITY("org.awaitility.Awaitility",
+            "package org.awaitility;\n" +
+                    "import org.awaitility.core.ConditionFactory;\n" +
+                    "public class Awaitility {\n" +
+                    "  public static ConditionFactory await() { return new ConditionFactory(); }\n" +
+                    "}"),
+    MOCKITO_EXTENSION("org.mockito.junit.jupiter.MockitoExtension",
+            "package org.mockito.junit.jupiter;\n" +
+                    "public class MockitoExtension {}"),
+    MOCKITO_STRICTNESS("org.mockito.quality.Strictness",
+            "package org.mockito.quality;\n" +
+                    "public enum Strictness {\n" +
+                    "  LENIENT, WARN, STRICT_STUBS;\n" +
+                    "  private Strictness() {}\n" +
+                    "}"),
+    MOCKITO_SETTINGS("org.mockito.junit.jupiter.MockitoSettings",
+            "package org.mockito.junit.jupiter;\n" +
+                    "import org.mockito.quality.Strictness;\n" +
+                    "public @interface MockitoSettings {\n" +
+                    "  Strictness strictness() default Strictness.STRICT_STUBS;\n" +
+                    "}");
+
+    private static final Map<Set<TypeStub>, Supplier<JavaParser>> PARSERS = new ConcurrentHashMap<>();
+
+    @Getter
+    private final String fullyQualifiedName;
+
+    @Getter
+    private final String source;
+
+    TypeStub(String fullyQualifiedName, String source) {
+        this.fullyQualifiedName = fullyQualifiedName;
+        this.source = source;
+    }
+
+    /**
+     * @return A parser supplier that depends on the given stubs, for use with
+     * {@link org.openrewrite.java.JavaTemplate.Builder#javaParser(Supplier)}.
+     */
+    public static Supplier<JavaParser> javaParser(TypeStub... stubs) {
+        return PARSERS.computeIfAbsent(ordered(stubs), ordered -> JavaParserPool.stubs(sources(ordered)));
+    }
+
+    /**
+     * @return The sources of the given stubs in canonical order, as accepted by
+     * {@link JavaParser.Builder#dependsOn(String...)}.
+     */
+    public static String[] dependsOn(TypeStub... stubs) {
+        return sources(ordered(stubs));
+    }
+
+    private static Set<TypeStub> ordered(TypeStub... stubs) {
+        EnumSet<TypeStub> ordered = EnumSet.noneOf(TypeStub.class);
+        ordered.addAll(Arrays.asList(stubs));
+        return ordered;
+    }
+
+    private static String[] sources(Set<TypeStub> ordered) {
+        String[] sources = new String[ordered.size()];
+        int i = 0;
+        for (TypeStub stub : ordered) {
+            sources[i++] = stub.source;
+        }
+        return sources;
+    }
+}
@@ -17,36 +17,30 @@ package org.openrewrite.java.testing.junit5;
 
 import lombok.EqualsAndHashCode;
 import lombok.Value;
-import org.jetbrains.annotations.NotNull;
+import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.JavaVisitor;
-import org.openrewrite.java.search.FindAnnotations;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.TestAnnotations;
+import org.openrewrite.java.testing.internal.TypeReferenceIndex;
+import org.openrewrite.java.testing.internal.TypeStub;
 import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.TypeUtils;
 
 import java.time.Duration;
-import java.util.*;
-
-import static org.openrewrite.Parser.Input.fromString;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Set;
 
 @Value
 @EqualsAndHashCode(callSuper = true)
 public class AddMissingNested extends Recipe {
     private static final String NESTED = "org.junit.jupiter.api.Nested";
-    private static final List<String> TEST_ANNOTATIONS = Arrays.asList(
-            "org.junit.jupiter.api.Test",
-            "org.junit.jupiter.api.TestTemplate",
-            "org.junit.jupiter.api.RepeatedTest",
-            "org.junit.jupiter.params.ParameterizedTest",
-            "org.junit.jupiter.api.TestFactory");
+    private static final Set<String> TEST_ANNOTATIONS = TestAnnotations.typesWithRole(TestAnnotations.TEST_METHOD);
 
     @Override
     public String getDisplayName() {
@@ -60,13 +54,7 @@ public class AddMissingNested extends Recipe {
 
     @Override
     protected @Nullable TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new JavaVisitor<ExecutionContext>() {
-            @Override
-            public J visitJavaSourceFile(JavaSourceFile cu, ExecutionContext executionContext) {
-                TEST_ANNOTATIONS.forEach(ann -> doAfterVisit(new UsesType<>(ann)));
-                return cu;
-            }
-        };
+        return TypeReferenceIndex.applicableIf(index -> index.referencesAnyType(TEST_ANNOTATIONS));
     }
 
     @Override
@@ -81,41 +69,57 @@ public class AddMissingNested extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
-                J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
-                cd = cd.withBody((J.Block) new AddNestedAnnotationVisitor().visit(cd.getBody(), ctx, getCursor()));
-                maybeAddImport(NESTED);
-                return cd;
-            }
-        };
+        return new AddNestedAnnotationVisitor();
     }
 
+    /**
+     * Decides bottom-up in a single traversal: a test annotation marks the nearest enclosing class, and every class
+     * passes its mark on to its enclosing class once its body has been visited. An inner class is annotated when it or
+     * any class nested in it has test methods.
+     */
     public static class AddNestedAnnotationVisitor extends JavaIsoVisitor<ExecutionContext> {
+        private static final String HAS_TESTS = "hasTests";
+
+        private final JavaTemplate nested = JavaTemplate.builder(this::getCursor, "@Nested")
+                .javaParser(TypeStub.javaParser(TypeStub.JUPITER_NESTED))
+                .imports(NESTED).build();
+
         @Override
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
             J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
-            boolean alreadyNested = classDecl.getLeadingAnnotations().stream()
-                    .anyMatch(a -> TypeUtils.isOfClassType(a.getType(), NESTED));
-            if (!alreadyNested && hasTestMethods(cd)) {
-                cd = cd.withTemplate(getNestedJavaTemplate(), cd.getCoordinates().addAnnotation(Comparator.comparing(
+            if (getCursor().getMessage(HAS_TESTS) == null) {
+                return cd;
+            }
+
+            Cursor parent = getCursor().getParentOrThrow();
+            if (parent.firstEnclosing(J.ClassDeclaration.class) == null) {
+                return cd;
+            }
+            parent.putMessageOnFirstEnclosing(J.ClassDeclaration.class, HAS_TESTS, true);
+
+            boolean alreadyNested = false;
+            for (J.Annotation annotation : classDecl.getLeadingAnnotations()) {
+                if (TypeUtils.isOfClassType(annotation.getType(), NESTED)) {
+                    alreadyNested = true;
+                    break;
+                }
+            }
+            if (!alreadyNested) {
+                cd = cd.withTemplate(nested, cd.getCoordinates().addAnnotation(Comparator.comparing(
                         J.Annotation::getSimpleName)));
-                cd.getModifiers().removeIf(modifier -> modifier.getType().equals(J.Modifier.Type.Static));
+                cd = cd.withModifiers(ListUtils.map(cd.getModifiers(),
+                        modifier -> modifier.getType() == J.Modifier.Type.Static ? null : modifier));
+                maybeAddImport(NESTED);
             }
             return cd;
         }
 
-        @NotNull
-        private JavaTemplate getNestedJavaTemplate() {
-            return JavaTemplate.builder(this::getCursor, "@Nested")
-                    .javaParser(() -> JavaParser.fromJavaVersion().dependsOn(Collections.singletonList(
-                            fromString("package org.junit.jupiter.api;\npublic @interface Nested {}"))).build())
-                    .imports(NESTED).build();
-        }
-
-        private static boolean hasTestMethods(final J.ClassDeclaration cd) {
-            return TEST_ANNOTATIONS.stream().anyMatch(ann -> !FindAnnotations.find(cd, "@" + ann).isEmpty());
+        @Override
+        public J.Annotation visitAnnotation(J.Annotation annotation, ExecutionContext ctx) {
+            if (TestAnnotations.hasRole(annotation, TestAnnotations.TEST_METHOD)) {
+                getCursor().putMessageOnFirstEnclosing(J.ClassDeclaration.class, HAS_TESTS, true);
+            }
+            return annotation;
         }
     }
 }
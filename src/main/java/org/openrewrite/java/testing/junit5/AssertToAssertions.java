@@ -57,7 +57,7 @@ public class AssertToAssertions extends Recipe {
     public static class AssertToAssertionsVisitor extends JavaIsoVisitor<ExecutionContext> {
         private static final JavaType ASSERTION_TYPE = JavaType.buildType("org.junit.Assert");
 
-        private static final List<String> JUNIT_ASSERT_METHOD_NAMES = Arrays.asList(
+        static final List<String> JUNIT_ASSERT_METHOD_NAMES = Arrays.asList(
                 "assertArrayEquals", "assertEquals", "assertFalse", "assertNotEquals", "assertNotNull", "assertNotSame",
                 "assertNull", "assertSame", "assertThrows", "assertTrue", "fail");
 
@@ -88,6 +88,13 @@ public class AssertToAssertions extends Recipe {
             }
             doAfterVisit(new ChangeMethodTargetToStatic("org.junit.Assert " + m.getSimpleName() + "(..)",
                     "org.junit.jupiter.api.Assertions", null, null, true));
+            return moveMessageLast(m);
+        }
+
+        /**
+         * JUnit 4 takes the message of an assertion as its first argument, JUnit Jupiter as its last.
+         */
+        static J.MethodInvocation moveMessageLast(J.MethodInvocation m) {
             List<Expression> args = m.getArguments();
             Expression firstArg = args.get(0);
             // Suppress arg-switching for Assertions.assertEquals(String, String)
@@ -113,7 +120,7 @@ public class AssertToAssertions extends Recipe {
                 }
                 newArgs.add(firstArg.withPrefix(args.get(args.size() - 1).getPrefix()));
 
-                m = m.withArguments(newArgs);
+                return m.withArguments(newArgs);
             }
 
             return m;
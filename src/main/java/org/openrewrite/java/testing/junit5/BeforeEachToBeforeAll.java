@@ -0,0 +1,454 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.junit5;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.testing.internal.TestAnnotations;
+import org.openrewrite.java.testing.internal.TypeReferenceIndex;
+import org.openrewrite.java.testing.internal.TypeStub;
+import org.openrewrite.java.tree.*;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Runs {@code @BeforeEach} methods that only build fixtures once per test class instead of once per test.
+ * <p>
+ * A {@code @BeforeEach} method is promoted to {@code @BeforeAll} when it takes no parameters and only assigns fields
+ * of its class, or calls methods on the fields it assigned, and when no other code of the class reassigns or mutates
+ * those fields, or cleans them up in an {@code @AfterEach} method. As the tests then share one instance, no other
+ * instance field may be written outside of the promoted methods and the constructors either. Mutation is judged by
+ * the name of the methods invoked on a field, so the recipe is not part of any migration and has to be run on
+ * purpose. The class gets {@code @TestInstance(PER_CLASS)} so the promoted method can stay an instance method.
+ * <p>
+ * Classes whose instance fields an extension may fill are left alone: those with an annotated instance field, like
+ * {@code @Mock}, {@code @TempDir} or {@code @RegisterExtension}, and those with {@code @ExtendWith} or {@code @RunWith}.
+ * So are abstract classes and classes other classes extend, as {@code @TestInstance} is inherited.
+ */
+public class BeforeEachToBeforeAll extends Recipe {
+    private static final String BEFORE_EACH = "org.junit.jupiter.api.BeforeEach";
+    private static final String BEFORE_ALL = "org.junit.jupiter.api.BeforeAll";
+    private static final String AFTER_EACH = "org.junit.jupiter.api.AfterEach";
+    private static final String TEST_INSTANCE = "org.junit.jupiter.api.TestInstance";
+    private static final String EXTEND_WITH = "org.junit.jupiter.api.extension.ExtendWith";
+    private static final String RUN_WITH = "org.junit.runner.RunWith";
+
+    /**
+     * Methods named like this are taken to change the object they are invoked on.
+     */
+    private static final String[] MUTATOR_PREFIXES = {"set", "add", "put", "remove", "clear", "reset", "register",
+            "insert", "push", "pop", "poll", "offer", "delete", "update", "append", "write", "close", "init"};
+
+    @Override
+    public String getDisplayName() {
+        return "Promote fixture-only `@BeforeEach` methods to `@BeforeAll`";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Changes `@BeforeEach` methods that only assign fields no test reassigns or mutates to `@BeforeAll`, " +
+               "and adds `@TestInstance(TestInstance.Lifecycle.PER_CLASS)` to their class, so fixtures are built once per class. " +
+               "Classes with annotated instance fields, `@ExtendWith` or `@RunWith`, abstract classes and classes that other classes extend are left alone.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(5);
+    }
+
+    /**
+     * Whether a class is extended depends on the other source files, so all of them are looked at before any is
+     * changed.
+     */
+    @Override
+    protected List<SourceFile> visit(List<SourceFile> before, ExecutionContext ctx) {
+        Set<String> extended = new HashSet<>();
+        for (SourceFile source : before) {
+            if (source instanceof J.CompilationUnit) {
+                new JavaIsoVisitor<Set<String>>() {
+                    @Override
+                    public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, Set<String> supertypes) {
+                        JavaType.FullyQualified supertype = classDecl.getExtends() == null ? null :
+                                TypeUtils.asFullyQualified(classDecl.getExtends().getType());
+                        if (supertype != null) {
+                            supertypes.add(supertype.getFullyQualifiedName());
+                        }
+                        return super.visitClassDeclaration(classDecl, supertypes);
+                    }
+                }.visit(source, extended);
+            }
+        }
+
+        BeforeAllVisitor visitor = new BeforeAllVisitor(extended);
+        return ListUtils.map(before, source -> source instanceof J.CompilationUnit &&
+                                              TypeReferenceIndex.of((J.CompilationUnit) source).referencesType(BEFORE_EACH) ?
+                (SourceFile) visitor.visitNonNull(source, ctx) :
+                source);
+    }
+
+    private static class BeforeAllVisitor extends JavaIsoVisitor<ExecutionContext> {
+        private static final String PROMOTED = "promoted";
+
+        /**
+         * The fully qualified names of the classes other classes extend.
+         */
+        private final Set<String> extended;
+
+        private final JavaTemplate beforeAll = JavaTemplate.builder(this::getCursor, "@BeforeAll")
+                .javaParser(TypeStub.javaParser(TypeStub.JUPITER_BEFORE_ALL))
+                .imports(BEFORE_ALL)
+                .build();
+
+        private final JavaTemplate perClass = JavaTemplate.builder(this::getCursor, "@TestInstance(TestInstance.Lifecycle.PER_CLASS)")
+                .javaParser(TypeStub.javaParser(TypeStub.JUPITER_TEST_INSTANCE))
+                .imports(TEST_INSTANCE)
+                .build();
+
+        BeforeAllVisitor(Set<String> extended) {
+            this.extended = extended;
+        }
+
+        @Override
+        public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+            Set<UUID> promoted = classDecl.getType() != null && extended.contains(classDecl.getType().getFullyQualifiedName()) ?
+                    Collections.emptySet() :
+                    promotable(classDecl);
+            if (promoted.isEmpty()) {
+                return super.visitClassDeclaration(classDecl, ctx);
+            }
+
+            getCursor().putMessage(PROMOTED, promoted);
+            J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
+            if (testInstance(cd) == null) {
+                cd = cd.withTemplate(perClass, cd.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
+                maybeAddImport(TEST_INSTANCE);
+            }
+            maybeRemoveImport(BEFORE_EACH);
+            maybeAddImport(BEFORE_ALL);
+            return cd;
+        }
+
+        @Override
+        public J.Annotation visitAnnotation(J.Annotation annotation, ExecutionContext ctx) {
+            J.Annotation a = super.visitAnnotation(annotation, ctx);
+            if (!TypeUtils.isOfClassType(a.getType(), BEFORE_EACH)) {
+                return a;
+            }
+            J.MethodDeclaration method = getCursor().firstEnclosing(J.MethodDeclaration.class);
+            Set<UUID> promoted = getCursor().getNearestMessage(PROMOTED);
+            if (method != null && promoted != null && promoted.contains(method.getId())) {
+                return a.withTemplate(beforeAll, a.getCoordinates().replace());
+            }
+            return a;
+        }
+
+        @Nullable
+        private static J.Annotation testInstance(J.ClassDeclaration classDecl) {
+            for (J.Annotation annotation : classDecl.getLeadingAnnotations()) {
+                if (TypeUtils.isOfClassType(annotation.getType(), TEST_INSTANCE)) {
+                    return annotation;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return The ids of the {@code @BeforeEach} methods of the class that can run once per class.
+         */
+        private static Set<UUID> promotable(J.ClassDeclaration classDecl) {
+            J.Annotation testInstance = testInstance(classDecl);
+            if (classDecl.hasModifier(J.Modifier.Type.Abstract) ||
+                (testInstance != null && !referencedNames(testInstance).contains("PER_CLASS"))) {
+                // subclasses or an explicit PER_METHOD lifecycle rely on the fixtures being fresh
+                return Collections.emptySet();
+            }
+            for (J.Annotation annotation : classDecl.getLeadingAnnotations()) {
+                if (TypeUtils.isOfClassType(annotation.getType(), EXTEND_WITH) ||
+                    TypeUtils.isOfClassType(annotation.getType(), RUN_WITH)) {
+                    // extensions may inject into or reset instance fields before each test
+                    return Collections.emptySet();
+                }
+            }
+
+            Set<String> fields = new HashSet<>();
+            Set<String> instanceFields = new HashSet<>();
+            boolean hasTests = false;
+            Map<J.MethodDeclaration, Set<String>> candidates = new LinkedHashMap<>();
+            List<J.MethodDeclaration> afterEach = new ArrayList<>();
+            for (Statement statement : classDecl.getBody().getStatements()) {
+                if (statement instanceof J.VariableDeclarations) {
+                    J.VariableDeclarations field = (J.VariableDeclarations) statement;
+                    if (!field.hasModifier(J.Modifier.Type.Static) && !field.getLeadingAnnotations().isEmpty()) {
+                        // @Mock, @TempDir, @RegisterExtension and the like are filled in for every test instance
+                        return Collections.emptySet();
+                    }
+                    for (J.VariableDeclarations.NamedVariable variable : field.getVariables()) {
+                        fields.add(variable.getSimpleName());
+                        if (!field.hasModifier(J.Modifier.Type.Static)) {
+                            instanceFields.add(variable.getSimpleName());
+                        }
+                    }
+                } else if (statement instanceof J.MethodDeclaration) {
+                    J.MethodDeclaration method = (J.MethodDeclaration) statement;
+                    hasTests |= TestAnnotations.isTestMethod(method);
+                    if (hasAnnotation(method, BEFORE_EACH)) {
+                        candidates.put(method, null);
+                    } else if (hasAnnotation(method, AFTER_EACH)) {
+                        afterEach.add(method);
+                    }
+                }
+            }
+            if (!hasTests || candidates.isEmpty()) {
+                return Collections.emptySet();
+            }
+
+            for (Map.Entry<J.MethodDeclaration, Set<String>> candidate : candidates.entrySet()) {
+                candidate.setValue(assignedFields(candidate.getKey(), fields));
+            }
+
+            FieldWrites writes = new FieldWrites(fields);
+            writes.visit(classDecl, 0);
+            Set<String> cleanedUp = new HashSet<>();
+            for (J.MethodDeclaration method : afterEach) {
+                cleanedUp.addAll(referencedNames(method));
+            }
+
+            Set<UUID> promoted = new HashSet<>();
+            nextCandidate:
+            for (Map.Entry<J.MethodDeclaration, Set<String>> candidate : candidates.entrySet()) {
+                J.MethodDeclaration method = candidate.getKey();
+                Set<String> assigned = candidate.getValue();
+                if (assigned == null || assigned.isEmpty() || writes.invoked.contains(method.getSimpleName())) {
+                    continue;
+                }
+                for (String field : assigned) {
+                    Set<UUID> writers = writes.writers.get(field);
+                    if (cleanedUp.contains(field) || (writers != null && !Collections.singleton(method.getId()).equals(writers))) {
+                        continue nextCandidate;
+                    }
+                }
+                promoted.add(method.getId());
+            }
+            if (promoted.isEmpty()) {
+                return promoted;
+            }
+
+            // PER_CLASS shares every instance field between the tests, not only the fixtures of the promoted methods
+            Set<UUID> allowedWriters = new HashSet<>(promoted);
+            allowedWriters.add(classDecl.getId());
+            for (String field : instanceFields) {
+                Set<UUID> writers = writes.writers.get(field);
+                if (writers != null && !allowedWriters.containsAll(writers)) {
+                    return Collections.emptySet();
+                }
+            }
+            return promoted;
+        }
+
+        /**
+         * @return The fields the method assigns, or {@code null} when the method does anything besides assigning
+         * fields and calling methods on the fields it assigned.
+         */
+        @Nullable
+        private static Set<String> assignedFields(J.MethodDeclaration method, Set<String> fields) {
+            if (method.getBody() == null || !(method.getParameters().isEmpty() || method.getParameters().get(0) instanceof J.Empty) ||
+                method.hasModifier(J.Modifier.Type.Static)) {
+                return null;
+            }
+            Set<String> assigned = new LinkedHashSet<>();
+            for (Statement statement : method.getBody().getStatements()) {
+                if (statement instanceof J.Assignment) {
+                    J.Assignment assignment = (J.Assignment) statement;
+                    String field = fieldName(assignment.getVariable());
+                    if (field == null || !fields.contains(field) || isMock(assignment.getAssignment())) {
+                        return null;
+                    }
+                    assigned.add(field);
+                } else if (statement instanceof J.MethodInvocation) {
+                    J.MethodInvocation invocation = (J.MethodInvocation) statement;
+                    String field = invocation.getSelect() == null ? null : fieldName(invocation.getSelect());
+                    if (field == null || !assigned.contains(field)) {
+                        return null;
+                    }
+                } else {
+                    return null;
+                }
+            }
+            return assigned;
+        }
+
+        /**
+         * Mocks record their interactions with the tests, so they have to be fresh for each test.
+         */
+        private static boolean isMock(Expression expression) {
+            if (expression instanceof J.MethodInvocation) {
+                String name = ((J.MethodInvocation) expression).getSimpleName();
+                return "mock".equals(name) || "spy".equals(name);
+            }
+            return false;
+        }
+
+        /**
+         * @return The name of the field for {@code field} and {@code this.field}, or {@code null}.
+         */
+        @Nullable
+        private static String fieldName(Expression expression) {
+            if (expression instanceof J.Identifier) {
+                return ((J.Identifier) expression).getSimpleName();
+            } else if (expression instanceof J.FieldAccess) {
+                J.FieldAccess fieldAccess = (J.FieldAccess) expression;
+                if (fieldAccess.getTarget() instanceof J.Identifier &&
+                    "this".equals(((J.Identifier) fieldAccess.getTarget()).getSimpleName())) {
+                    return fieldAccess.getSimpleName();
+                }
+            }
+            return null;
+        }
+
+        private static Set<String> referencedNames(J tree) {
+            Set<String> names = new HashSet<>();
+            new JavaIsoVisitor<Set<String>>() {
+                @Override
+                public J.Identifier visitIdentifier(J.Identifier identifier, Set<String> n) {
+                    n.add(identifier.getSimpleName());
+                    return identifier;
+                }
+            }.visit(tree, names);
+            return names;
+        }
+
+        private static boolean hasAnnotation(J.MethodDeclaration method, String fullyQualifiedName) {
+            for (J.Annotation annotation : method.getLeadingAnnotations()) {
+                if (TypeUtils.isOfClassType(annotation.getType(), fullyQualifiedName)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Where each field of a test class is reassigned or mutated, collected in one walk of the class. A local variable
+     * of the same name also counts, which at worst keeps a fixture per test.
+     */
+    private static class FieldWrites extends JavaIsoVisitor<Integer> {
+        private final Set<String> fields;
+
+        /**
+         * The ids of the methods writing to each field, or of the class for writes in constructors and initializers.
+         */
+        private final Map<String, Set<UUID>> writers = new HashMap<>();
+
+        /**
+         * The names of the methods of the class invoked without a target, or on {@code this}.
+         */
+        private final Set<String> invoked = new HashSet<>();
+
+        FieldWrites(Set<String> fields) {
+            this.fields = fields;
+        }
+
+        @Override
+        public J.Assignment visitAssignment(J.Assignment assignment, Integer p) {
+            write(assignment.getVariable());
+            return super.visitAssignment(assignment, p);
+        }
+
+        @Override
+        public J.AssignmentOperation visitAssignmentOperation(J.AssignmentOperation assignOp, Integer p) {
+            write(assignOp.getVariable());
+            return super.visitAssignmentOperation(assignOp, p);
+        }
+
+        @Override
+        public J.Unary visitUnary(J.Unary unary, Integer p) {
+            switch (unary.getOperator()) {
+                case PreIncrement:
+                case PreDecrement:
+                case PostIncrement:
+                case PostDecrement:
+                    write(unary.getExpression());
+                    break;
+                default:
+                    break;
+            }
+            return super.visitUnary(unary, p);
+        }
+
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+            Expression select = method.getSelect();
+            if (select == null || (select instanceof J.Identifier && "this".equals(((J.Identifier) select).getSimpleName()))) {
+                invoked.add(method.getSimpleName());
+            } else if (isMutator(method.getSimpleName())) {
+                write(select);
+            }
+            return super.visitMethodInvocation(method, p);
+        }
+
+        @Override
+        public J.MemberReference visitMemberReference(J.MemberReference memberRef, Integer p) {
+            invoked.add(memberRef.getReference().getSimpleName());
+            return super.visitMemberReference(memberRef, p);
+        }
+
+        private static boolean isMutator(String methodName) {
+            for (String prefix : MUTATOR_PREFIXES) {
+                if (methodName.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void write(Expression variable) {
+            String field = root(variable);
+            if (field != null && fields.contains(field)) {
+                // constructors and initializers run once per instance, which is what the class writes to its fields
+                J.MethodDeclaration method = getCursor().firstEnclosing(J.MethodDeclaration.class);
+                J writer = method == null || method.isConstructor() ? getCursor().firstEnclosing(J.ClassDeclaration.class) : method;
+                writers.computeIfAbsent(field, f -> new HashSet<>()).add(writer == null ? null : writer.getId());
+            }
+        }
+
+        /**
+         * @return The variable that {@code field}, {@code this.field}, {@code field.member} and {@code field[i]}
+         * write to.
+         */
+        @Nullable
+        private static String root(Expression expression) {
+            if (expression instanceof J.Identifier) {
+                return ((J.Identifier) expression).getSimpleName();
+            } else if (expression instanceof J.FieldAccess) {
+                J.FieldAccess fieldAccess = (J.FieldAccess) expression;
+                if (fieldAccess.getTarget() instanceof J.Identifier &&
+                    "this".equals(((J.Identifier) fieldAccess.getTarget()).getSimpleName())) {
+                    return fieldAccess.getSimpleName();
+                }
+                return root(fieldAccess.getTarget());
+            } else if (expression instanceof J.ArrayAccess) {
+                return root(((J.ArrayAccess) expression).getIndexed());
+            }
+            return null;
+        }
+    }
+}
@@ -18,17 +18,14 @@ package org.openrewrite.java.testing.junit5;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.search.FindAnnotations;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
 import java.time.Duration;
-import java.util.Collections;
-import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.*;
 
 import static org.openrewrite.Tree.randomId;
 
@@ -60,89 +57,109 @@ public class CategoryToTag extends Recipe {
     }
 
     public static class CategoryToTagVisitor extends JavaIsoVisitor<ExecutionContext> {
+        private static final String CATEGORY = "org.junit.experimental.categories.Category";
         private static final JavaType.Class tagType = JavaType.ShallowClass.build("org.junit.jupiter.api.Tag");
 
+        /**
+         * One {@code @Tag} per category name. Each use is a copy with fresh ids, so no id appears twice in a tree.
+         */
+        private final Map<String, J.Annotation> tagsByCategory = new HashMap<>();
+
         @Override
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
             J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
-            Set<J.Annotation> categoryAnnotations = FindAnnotations.find(cd, "@" + "org.junit.experimental.categories.Category");
-            if (!categoryAnnotations.isEmpty()) {
-                cd = cd.withLeadingAnnotations(cd.getLeadingAnnotations().stream()
-                        .flatMap(this::categoryAnnotationToTagAnnotations)
-                        .collect(Collectors.toList()));
-                maybeRemoveImport("org.junit.experimental.categories.Category");
-                maybeAddImport(tagType);
+            if (hasCategory(cd.getLeadingAnnotations())) {
+                cd = maybeAutoFormat(cd, cd.withLeadingAnnotations(categoriesToTags(cd.getLeadingAnnotations())),
+                        cd.getName(), ctx, getCursor().getParentOrThrow());
             }
-            cd = maybeAutoFormat(classDecl, cd, ctx);
             return cd;
         }
 
         @Override
         public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
             J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
-            Set<J.Annotation> categoryAnnotations = FindAnnotations.find(m, "@" + "org.junit.experimental.categories.Category");
-            if (!categoryAnnotations.isEmpty()) {
-                m = m.withLeadingAnnotations(m.getLeadingAnnotations().stream()
-                        .flatMap(this::categoryAnnotationToTagAnnotations)
-                        .collect(Collectors.toList()));
-
-                maybeRemoveImport("org.junit.experimental.categories.Category");
-                maybeAddImport(tagType);
+            if (hasCategory(m.getLeadingAnnotations())) {
+                m = maybeAutoFormat(m, m.withLeadingAnnotations(categoriesToTags(m.getLeadingAnnotations())),
+                        m.getName(), ctx, getCursor().getParentOrThrow());
             }
-            m = maybeAutoFormat(method, m, ctx);
             return m;
         }
 
-        private Stream<J.Annotation> categoryAnnotationToTagAnnotations(J.Annotation maybeCategory) {
-            if (maybeCategory.getArguments() != null && TypeUtils.isOfClassType(maybeCategory.getAnnotationType().getType(), "org.junit.experimental.categories.Category")) {
-                Expression annotationArgument = maybeCategory.getArguments().iterator().next();
+        private static boolean hasCategory(List<J.Annotation> annotations) {
+            for (J.Annotation annotation : annotations) {
+                if (isCategory(annotation)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean isCategory(J.Annotation annotation) {
+            return TypeUtils.isOfClassType(annotation.getAnnotationType().getType(), CATEGORY);
+        }
+
+        private List<J.Annotation> categoriesToTags(List<J.Annotation> annotations) {
+            maybeRemoveImport(CATEGORY);
+            maybeAddImport(tagType);
+            List<J.Annotation> converted = new ArrayList<>(annotations.size());
+            for (J.Annotation annotation : annotations) {
+                if (annotation.getArguments() == null || !isCategory(annotation)) {
+                    converted.add(annotation);
+                    continue;
+                }
+
+                Expression annotationArgument = annotation.getArguments().iterator().next();
                 if (annotationArgument instanceof J.Assignment) {
                     annotationArgument = ((J.Assignment) annotationArgument).getAssignment();
                 }
-
-                Stream<J.FieldAccess> categories = Stream.empty();
                 if (annotationArgument instanceof J.NewArray) {
                     J.NewArray argArray = (J.NewArray) annotationArgument;
                     if (argArray.getInitializer() != null) {
-                        categories = argArray.getInitializer().stream()
-                                .map(J.FieldAccess.class::cast);
+                        for (Expression category : argArray.getInitializer()) {
+                            converted.add(categoryToTag((J.FieldAccess) category));
+                        }
                     }
+                } else if (annotationArgument instanceof J.FieldAccess) {
+                    converted.add(categoryToTag((J.FieldAccess) annotationArgument));
                 }
-                if (annotationArgument instanceof J.FieldAccess) {
-                    categories = Stream.of((J.FieldAccess) annotationArgument);
-                }
-                return categories.map(category -> {
-                    String targetName = ((J.Identifier) category.getTarget()).getSimpleName();
-                    J.Annotation tagAnnotation = new J.Annotation(
-                            randomId(),
-                            Space.EMPTY,
-                            Markers.EMPTY,
-                            new J.Identifier(randomId(), Space.EMPTY, Markers.EMPTY, tagType.getClassName(), tagType, null),
-                            JContainer.build(Space.EMPTY,
-                                    Collections.singletonList(
-                                            new JRightPadded<>(
-                                                    new J.Literal(
-                                                            randomId(),
-                                                            Space.EMPTY,
-                                                            Markers.EMPTY,
-                                                            targetName,
-                                                            "\"" + targetName + "\"",
-                                                            null,
-                                                            JavaType.Primitive.String
-                                                    ),
-                                                    Space.EMPTY,
-                                                    Markers.EMPTY
-                                            )
-                                    ),
-                                    Markers.EMPTY
-                            )
-                    );
-                    maybeRemoveImport(TypeUtils.asFullyQualified(category.getTarget().getType()));
-                    return tagAnnotation;
-                });
-            } else {
-                return Stream.of(maybeCategory);
             }
+            return converted;
+        }
+
+        private J.Annotation categoryToTag(J.FieldAccess category) {
+            maybeRemoveImport(TypeUtils.asFullyQualified(category.getTarget().getType()));
+            String targetName = ((J.Identifier) category.getTarget()).getSimpleName();
+            J.Annotation tag = tagsByCategory.computeIfAbsent(targetName, CategoryToTagVisitor::tag);
+            return tag.withId(randomId())
+                    .withAnnotationType(tag.getAnnotationType().withId(randomId()))
+                    .withArguments(ListUtils.map(tag.getArguments(), argument -> argument.withId(randomId())));
+        }
+
+        private static J.Annotation tag(String targetName) {
+            return new J.Annotation(
+                    randomId(),
+                    Space.EMPTY,
+                    Markers.EMPTY,
+                    new J.Identifier(randomId(), Space.EMPTY, Markers.EMPTY, tagType.getClassName(), tagType, null),
+                    JContainer.build(Space.EMPTY,
+                            Collections.singletonList(
+                                    new JRightPadded<>(
+                                            new J.Literal(
+                                                    randomId(),
+                                                    Space.EMPTY,
+                                                    Markers.EMPTY,
+                                                    targetName,
+                                                    "\"" + targetName + "\"",
+                                                    null,
+                                                    JavaType.Primitive.String
+                                            ),
+                                            Space.EMPTY,
+                                            Markers.EMPTY
+                                    )
+                            ),
+                            Markers.EMPTY
+                    )
+            );
         }
     }
 }
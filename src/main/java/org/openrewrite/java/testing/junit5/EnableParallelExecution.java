@@ -0,0 +1,310 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.junit5;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.testing.internal.TestAnnotations;
+import org.openrewrite.java.testing.internal.TypeReferenceIndex;
+import org.openrewrite.java.testing.internal.TypeStub;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextParser;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Turns on parallel execution of JUnit Jupiter test classes, after keeping the test classes that share state with
+ * other tests out of it.
+ * <p>
+ * Only classes run concurrently. The methods of one class keep running one after the other, as they share the
+ * instance fields of the class, all the more so in classes with a {@code PER_CLASS} test instance lifecycle.
+ * <p>
+ * A test class that writes to a non-final static field, of its own or of another class, or to a field of an object
+ * held in a static field, gets {@code @Execution(SAME_THREAD)}. One that changes a JVM-wide setting JUnit has a
+ * {@code Resources} key for gets a {@code @ResourceLock} on that key.
+ */
+public class EnableParallelExecution extends Recipe {
+    private static final String PROPERTIES_FILE = "junit-platform.properties";
+    private static final String PROPERTIES =
+            "junit.jupiter.execution.parallel.enabled = true\n" +
+            "junit.jupiter.execution.parallel.mode.default = same_thread\n" +
+            "junit.jupiter.execution.parallel.mode.classes.default = concurrent\n" +
+            "junit.jupiter.execution.parallel.config.strategy = dynamic\n";
+
+    private static final String EXECUTION = "org.junit.jupiter.api.parallel.Execution";
+    private static final String EXECUTION_MODE = "org.junit.jupiter.api.parallel.ExecutionMode";
+    private static final String RESOURCE_LOCK = "org.junit.jupiter.api.parallel.ResourceLock";
+    private static final String RESOURCE_LOCKS = "org.junit.jupiter.api.parallel.ResourceLocks";
+    private static final String RESOURCES = "org.junit.jupiter.api.parallel.Resources";
+
+    private static final Set<String> TEST_ANNOTATIONS = TestAnnotations.typesWithRole(TestAnnotations.TEST_METHOD);
+
+    /**
+     * The {@code Resources} keys of the JVM-wide settings changed by these methods.
+     */
+    private static final Map<MethodMatcher, String> GLOBAL_STATE_WRITERS = new LinkedHashMap<>();
+
+    static {
+        GLOBAL_STATE_WRITERS.put(new MethodMatcher("java.lang.System setProperty(..)"), "SYSTEM_PROPERTIES");
+        GLOBAL_STATE_WRITERS.put(new MethodMatcher("java.lang.System clearProperty(..)"), "SYSTEM_PROPERTIES");
+        GLOBAL_STATE_WRITERS.put(new MethodMatcher("java.lang.System setProperties(..)"), "SYSTEM_PROPERTIES");
+        GLOBAL_STATE_WRITERS.put(new MethodMatcher("java.lang.System setOut(..)"), "SYSTEM_OUT");
+        GLOBAL_STATE_WRITERS.put(new MethodMatcher("java.lang.System setErr(..)"), "SYSTEM_ERR");
+        GLOBAL_STATE_WRITERS.put(new MethodMatcher("java.util.Locale setDefault(..)"), "LOCALE");
+        GLOBAL_STATE_WRITERS.put(new MethodMatcher("java.util.TimeZone setDefault(..)"), "TIME_ZONE");
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Enable JUnit Jupiter parallel execution";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Adds a `junit-platform.properties` enabling concurrent execution of test classes to `src/test/resources`. " +
+               "The methods of a class keep running one after the other, since they share its instance fields. " +
+               "Test classes writing to non-final static fields, or to fields of objects held in static fields, get `@Execution(SAME_THREAD)`, " +
+               "and those changing system properties, `System.out`, `System.err`, the default locale or time zone get a `@ResourceLock` on it.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(5);
+    }
+
+    @Override
+    protected @Nullable TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
+        return TypeReferenceIndex.applicableIf(index -> index.referencesAnyType(TEST_ANNOTATIONS));
+    }
+
+    @Override
+    protected TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new SharedStateVisitor();
+    }
+
+    @Override
+    protected List<SourceFile> visit(List<SourceFile> before, ExecutionContext ctx) {
+        Set<Path> testResources = new LinkedHashSet<>();
+        Set<Path> configured = new HashSet<>();
+        for (SourceFile source : before) {
+            Path sourcePath = source.getSourcePath();
+            if (sourcePath.getFileName() != null && PROPERTIES_FILE.equals(sourcePath.getFileName().toString())) {
+                configured.add(sourcePath.getParent() == null ? Paths.get("") : sourcePath.getParent());
+            } else if (source instanceof J.CompilationUnit &&
+                       TypeReferenceIndex.of((J.CompilationUnit) source).referencesAnyType(TEST_ANNOTATIONS)) {
+                Path resources = testResources(sourcePath);
+                if (resources != null) {
+                    testResources.add(resources);
+                }
+            }
+        }
+
+        List<SourceFile> generated = new ArrayList<>();
+        for (Path resources : testResources) {
+            if (!configured.contains(resources)) {
+                for (PlainText properties : new PlainTextParser().parse(PROPERTIES)) {
+                    generated.add(properties.withSourcePath(resources.resolve(PROPERTIES_FILE)));
+                }
+            }
+        }
+        return generated.isEmpty() ? before : ListUtils.concatAll(before, generated);
+    }
+
+    /**
+     * @return The {@code src/test/resources} directory next to the {@code src/test/java} directory the source is in.
+     */
+    @Nullable
+    private static Path testResources(Path sourcePath) {
+        for (int i = 0; i + 2 < sourcePath.getNameCount(); i++) {
+            if ("src".equals(sourcePath.getName(i).toString()) &&
+                "test".equals(sourcePath.getName(i + 1).toString()) &&
+                "java".equals(sourcePath.getName(i + 2).toString())) {
+                Path module = i == 0 ? Paths.get("") : sourcePath.subpath(0, i);
+                if (sourcePath.isAbsolute() && sourcePath.getRoot() != null) {
+                    module = sourcePath.getRoot().resolve(module);
+                }
+                return module.resolve(Paths.get("src", "test", "resources"));
+            }
+        }
+        return null;
+    }
+
+    private static class SharedStateVisitor extends JavaIsoVisitor<ExecutionContext> {
+        private final JavaTemplate sameThread = JavaTemplate.builder(this::getCursor, "@Execution(ExecutionMode.SAME_THREAD)")
+                .javaParser(TypeStub.javaParser(TypeStub.JUPITER_EXECUTION, TypeStub.JUPITER_EXECUTION_MODE))
+                .imports(EXECUTION, EXECUTION_MODE)
+                .build();
+
+        private final Map<String, JavaTemplate> resourceLocks = new HashMap<>();
+
+        @Override
+        public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext executionContext) {
+            // only top level classes are annotated, nested test classes run in the same mode as their enclosing class
+            for (J.Annotation annotation : classDecl.getLeadingAnnotations()) {
+                if (TypeUtils.isOfClassType(annotation.getType(), EXECUTION) ||
+                    TypeUtils.isOfClassType(annotation.getType(), RESOURCE_LOCK) ||
+                    TypeUtils.isOfClassType(annotation.getType(), RESOURCE_LOCKS)) {
+                    // someone already decided how this class runs
+                    return classDecl;
+                }
+            }
+
+            SharedState state = new SharedState();
+            state.staticFields(classDecl);
+            state.visit(classDecl, 0);
+            if (!state.hasTests || (!state.writesStaticField && state.resources.isEmpty())) {
+                return classDecl;
+            }
+
+            J.ClassDeclaration cd = classDecl;
+            if (state.writesStaticField) {
+                cd = cd.withTemplate(sameThread, cd.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
+                maybeAddImport(EXECUTION);
+                maybeAddImport(EXECUTION_MODE);
+            }
+            for (String resource : state.resources) {
+                cd = cd.withTemplate(resourceLock(resource), cd.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
+                maybeAddImport(RESOURCE_LOCK);
+                maybeAddImport(RESOURCES);
+            }
+            return cd;
+        }
+
+        private JavaTemplate resourceLock(String resource) {
+            return resourceLocks.computeIfAbsent(resource, r -> JavaTemplate.builder(this::getCursor, "@ResourceLock(Resources." + r + ")")
+                    .javaParser(TypeStub.javaParser(TypeStub.JUPITER_RESOURCE_LOCK, TypeStub.JUPITER_RESOURCES))
+                    .imports(RESOURCE_LOCK, RESOURCES)
+                    .build());
+        }
+    }
+
+    /**
+     * What a test class shares with the tests of other classes, collected in one walk of the class.
+     */
+    private static class SharedState extends JavaIsoVisitor<Integer> {
+        private final Set<String> staticFields = new HashSet<>();
+        private final Set<String> resources = new LinkedHashSet<>();
+        private boolean hasTests;
+        private boolean writesStaticField;
+
+        void staticFields(J.ClassDeclaration classDecl) {
+            for (Statement statement : classDecl.getBody().getStatements()) {
+                if (statement instanceof J.VariableDeclarations) {
+                    J.VariableDeclarations field = (J.VariableDeclarations) statement;
+                    if (field.hasModifier(J.Modifier.Type.Static) && !field.hasModifier(J.Modifier.Type.Final)) {
+                        for (J.VariableDeclarations.NamedVariable variable : field.getVariables()) {
+                            staticFields.add(variable.getSimpleName());
+                        }
+                    }
+                }
+            }
+        }
+
+        @Override
+        public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, Integer p) {
+            if (!hasTests && TestAnnotations.isTestMethod(method)) {
+                hasTests = true;
+            }
+            return super.visitMethodDeclaration(method, p);
+        }
+
+        @Override
+        public J.Assignment visitAssignment(J.Assignment assignment, Integer p) {
+            checkWrite(assignment.getVariable());
+            return super.visitAssignment(assignment, p);
+        }
+
+        @Override
+        public J.AssignmentOperation visitAssignmentOperation(J.AssignmentOperation assignOp, Integer p) {
+            checkWrite(assignOp.getVariable());
+            return super.visitAssignmentOperation(assignOp, p);
+        }
+
+        @Override
+        public J.Unary visitUnary(J.Unary unary, Integer p) {
+            switch (unary.getOperator()) {
+                case PreIncrement:
+                case PreDecrement:
+                case PostIncrement:
+                case PostDecrement:
+                    checkWrite(unary.getExpression());
+                    break;
+                default:
+                    break;
+            }
+            return super.visitUnary(unary, p);
+        }
+
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+            for (Map.Entry<MethodMatcher, String> writer : GLOBAL_STATE_WRITERS.entrySet()) {
+                if (writer.getKey().matches(method)) {
+                    resources.add(writer.getValue());
+                    break;
+                }
+            }
+            return super.visitMethodInvocation(method, p);
+        }
+
+        private void checkWrite(Expression variable) {
+            if (writesStaticField || getCursor().firstEnclosing(J.MethodDeclaration.class) == null) {
+                return;
+            }
+            J.Identifier name = variable instanceof J.Identifier ? (J.Identifier) variable :
+                    variable instanceof J.FieldAccess ? ((J.FieldAccess) variable).getName() : null;
+            if (name == null) {
+                return;
+            }
+            if (name.getFieldType() != null) {
+                writesStaticField = isStatic(name.getFieldType()) && !name.getFieldType().hasFlags(Flag.Final) ||
+                                    variable instanceof J.FieldAccess && heldInStaticField(((J.FieldAccess) variable).getTarget());
+            } else {
+                // without type attribution only the class's own static fields are known, and a local variable of the
+                // same name also counts, which at worst keeps a class out of parallel execution
+                writesStaticField = variable instanceof J.Identifier && staticFields.contains(name.getSimpleName());
+            }
+        }
+
+        /**
+         * Whether the target of a field access is reached through a static field, like {@code Registry.INSTANCE} in
+         * {@code Registry.INSTANCE.count++}, final or not.
+         */
+        private static boolean heldInStaticField(Expression target) {
+            if (target instanceof J.Identifier) {
+                return isStatic(((J.Identifier) target).getFieldType());
+            } else if (target instanceof J.FieldAccess) {
+                J.FieldAccess fieldAccess = (J.FieldAccess) target;
+                return isStatic(fieldAccess.getName().getFieldType()) || heldInStaticField(fieldAccess.getTarget());
+            }
+            return false;
+        }
+
+        private static boolean isStatic(@Nullable JavaType.Variable field) {
+            return field != null && field.hasFlags(Flag.Static);
+        }
+    }
+}
@@ -22,19 +22,16 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.search.FindAnnotations;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.TypeStub;
 import org.openrewrite.java.tree.J;
 
 import java.time.Duration;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.Set;
 
-import static org.openrewrite.Parser.Input.fromString;
-
 @Value
 @EqualsAndHashCode(callSuper = true)
 public class EnclosedToNested extends Recipe {
@@ -101,8 +98,7 @@ public class EnclosedToNested extends Recipe {
         @NotNull
         private JavaTemplate getNestedJavaTemplate() {
             return JavaTemplate.builder(this::getCursor, "@Nested")
-                    .javaParser(() -> JavaParser.fromJavaVersion().dependsOn(Collections.singletonList(
-                            fromString("package org.junit.jupiter.api;\npublic @interface Nested {}"))).build())
+                    .javaParser(TypeStub.javaParser(TypeStub.JUPITER_NESTED))
                     .imports(NESTED).build();
         }
 
@@ -23,6 +23,7 @@ import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.JavaParserPool;
 import org.openrewrite.java.tree.*;
 
 import java.time.Duration;
@@ -69,8 +70,7 @@ public class ExpectedExceptionToAssertThrows extends Recipe {
     }
 
     public static class ExpectedExceptionToAssertThrowsVisitor extends JavaIsoVisitor<ExecutionContext> {
-        private static final Supplier<JavaParser> ASSERTIONS_PARSER = () ->
-                JavaParser.fromJavaVersion().classpath("junit-jupiter-api", "hamcrest").build();
+        private static final Supplier<JavaParser> ASSERTIONS_PARSER = JavaParserPool.classpath("junit-jupiter-api", "hamcrest");
 
         @Override
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
@@ -20,6 +20,7 @@ import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.JavaParserPool;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Space;
@@ -188,8 +189,7 @@ public class JUnitParamsRunnerToParameterized extends Recipe {
      * - Test has Parameters(named = "...") and NamedParameters annotation
      */
     private static class ParametersNoArgsImplicitMethodSource extends JavaIsoVisitor<ExecutionContext> {
-        private static final Supplier<JavaParser> PARAMETERIZED_TEMPLATE_PARSER = () ->
-                JavaParser.fromJavaVersion().classpath("junit-jupiter-params").build();
+        private static final Supplier<JavaParser> PARAMETERIZED_TEMPLATE_PARSER = JavaParserPool.classpath("junit-jupiter-params");
 
         private final Set<String> initMethods;
         private final Set<String> unsupportedConversions;
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.junit5;
+
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.testing.internal.LocalVariables;
+import org.openrewrite.java.testing.internal.TypeReferenceIndex;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.openrewrite.Tree.randomId;
+
+/**
+ * Wraps assertion messages that take work to build in a {@code Supplier<String>} lambda, which JUnit Jupiter and
+ * AssertJ only call when the assertion fails.
+ * <p>
+ * Every {@code org.junit.jupiter.api.Assertions} method taking a {@code String} message has an overload taking a
+ * {@code Supplier<String>} in its place, as do AssertJ's {@code as(String)} and {@code withFailMessage(String)}.
+ * Messages are wrapped when they are method invocations or concatenations of anything but constants, unless they
+ * use a local variable that is not effectively final and so can not be captured by the lambda.
+ */
+public class LazyAssertionMessages extends Recipe {
+    private static final String ASSERTIONS = "org.junit.jupiter.api.Assertions";
+    private static final JavaType DESCRIPTABLE = JavaType.buildType("org.assertj.core.api.Descriptable");
+    private static final JavaType ASSERT = JavaType.buildType("org.assertj.core.api.Assert");
+    private static final JavaType SUPPLIER = new JavaType.Parameterized(null,
+            JavaType.ShallowClass.build("java.util.function.Supplier"), Collections.singletonList(JavaType.Primitive.String));
+
+    @Override
+    public String getDisplayName() {
+        return "Build assertion messages lazily";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Wraps computed messages of JUnit Jupiter assertions and of AssertJ's `as(..)` and `withFailMessage(..)` in a `Supplier<String>`, " +
+               "so they are only built when the assertion fails.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(1);
+    }
+
+    @Override
+    protected @Nullable TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
+        // AssertJ assertions are reached through one of its entry points
+        return TypeReferenceIndex.usesAnyType(ASSERTIONS, "org.assertj.core.api.Assertions",
+                "org.assertj.core.api.AssertionsForClassTypes", "org.assertj.core.api.AssertionsForInterfaceTypes",
+                "org.assertj.core.api.BDDAssertions", "org.assertj.core.api.Assumptions");
+    }
+
+    @Override
+    protected TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new LazyMessageVisitor();
+    }
+
+    private static class LazyMessageVisitor extends JavaIsoVisitor<ExecutionContext> {
+        private static final String NOT_EFFECTIVELY_FINAL = "notEffectivelyFinal";
+
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+            J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+            if (!hasMessage(m)) {
+                return m;
+            }
+
+            List<Expression> arguments = m.getArguments();
+            Expression message = arguments.get(arguments.size() - 1);
+            if (!isComputed(message) || capturesNotEffectivelyFinal(message)) {
+                return m;
+            }
+
+            J.Lambda lambda = new J.Lambda(randomId(), message.getPrefix(), Markers.EMPTY,
+                    new J.Lambda.Parameters(randomId(), Space.EMPTY, Markers.EMPTY, true,
+                            Collections.singletonList(JRightPadded.<J>build(new J.Empty(randomId(), Space.EMPTY, Markers.EMPTY)))),
+                    Space.format(" "),
+                    message.withPrefix(Space.format(" ")),
+                    SUPPLIER);
+            int last = arguments.size() - 1;
+            m = m.withArguments(ListUtils.map(arguments, (i, argument) -> i == last ? lambda : argument));
+
+            // the invocation now calls the Supplier<String> overload, which recipes running after this one look for
+            JavaType.Method type = m.getMethodType();
+            if (type != null) {
+                JavaType.Method supplierOverload = type.withParameterTypes(ListUtils.map(type.getParameterTypes(),
+                        (i, parameterType) -> i == type.getParameterTypes().size() - 1 ? SUPPLIER : parameterType));
+                m = m.withMethodType(supplierOverload).withName(m.getName().withType(supplierOverload));
+            }
+            return m;
+        }
+
+        /**
+         * @return Whether the last argument of the invocation is a {@code String} message that has a
+         * {@code Supplier<String>} overload.
+         */
+        private static boolean hasMessage(J.MethodInvocation method) {
+            JavaType.Method type = method.getMethodType();
+            if (type == null || type.getParameterTypes().isEmpty()) {
+                return false;
+            }
+            List<JavaType> parameterTypes = type.getParameterTypes();
+            if (TypeUtils.isOfClassType(type.getDeclaringType(), ASSERTIONS)) {
+                return TypeUtils.isString(parameterTypes.get(parameterTypes.size() - 1)) &&
+                       method.getArguments().size() == parameterTypes.size();
+            }
+
+            // as(String, Object...) and withFailMessage(String, Object...) without format arguments
+            String name = method.getSimpleName();
+            return method.getArguments().size() == 1 && TypeUtils.isString(parameterTypes.get(0)) &&
+                   (("as".equals(name) && TypeUtils.isAssignableTo(DESCRIPTABLE, type.getDeclaringType())) ||
+                    ("withFailMessage".equals(name) && TypeUtils.isAssignableTo(ASSERT, type.getDeclaringType())));
+        }
+
+        /**
+         * @return Whether building the message does any work at run time.
+         */
+        private static boolean isComputed(Expression message) {
+            if (message instanceof J.Parentheses) {
+                J tree = ((J.Parentheses<?>) message).getTree();
+                return tree instanceof Expression && isComputed((Expression) tree);
+            } else if (message instanceof J.MethodInvocation) {
+                return true;
+            } else if (message instanceof J.Binary) {
+                J.Binary binary = (J.Binary) message;
+                return binary.getOperator() == J.Binary.Type.Addition && (!isConstant(binary.getLeft()) || !isConstant(binary.getRight()));
+            }
+            return false;
+        }
+
+        /**
+         * Concatenations of literals and constants are folded by the compiler.
+         */
+        private static boolean isConstant(Expression expression) {
+            if (expression instanceof J.Literal) {
+                return true;
+            } else if (expression instanceof J.Parentheses) {
+                J tree = ((J.Parentheses<?>) expression).getTree();
+                return tree instanceof Expression && isConstant((Expression) tree);
+            } else if (expression instanceof J.Binary) {
+                return isConstant(((J.Binary) expression).getLeft()) && isConstant(((J.Binary) expression).getRight());
+            }
+            J.Identifier name = expression instanceof J.Identifier ? (J.Identifier) expression :
+                    expression instanceof J.FieldAccess ? ((J.FieldAccess) expression).getName() : null;
+            return name != null && name.getFieldType() != null &&
+                   name.getFieldType().hasFlags(Flag.Static, Flag.Final);
+        }
+
+        private boolean capturesNotEffectivelyFinal(Expression message) {
+            for (Cursor c = getCursor(); c != null; c = c.getParent()) {
+                if (c.getValue() instanceof J.MethodDeclaration) {
+                    Set<String> notEffectivelyFinal = c.getMessage(NOT_EFFECTIVELY_FINAL);
+                    if (notEffectivelyFinal == null) {
+                        notEffectivelyFinal = LocalVariables.notEffectivelyFinal(c.<J.MethodDeclaration>getValue());
+                        c.putMessage(NOT_EFFECTIVELY_FINAL, notEffectivelyFinal);
+                    }
+                    return LocalVariables.referencesAny(message, notEffectivelyFinal);
+                }
+            }
+            // initializers are not worth the trouble
+            return true;
+        }
+    }
+}
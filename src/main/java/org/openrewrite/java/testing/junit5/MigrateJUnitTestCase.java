@@ -16,24 +16,20 @@
 package org.openrewrite.java.testing.junit5;
 
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Parser;
 import org.openrewrite.Recipe;
+import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.FindAnnotations;
-import org.openrewrite.java.search.UsesType;
-import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.JavaType;
-import org.openrewrite.java.tree.TextComment;
-import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.java.testing.internal.TypeReferenceIndex;
+import org.openrewrite.java.testing.internal.TypeStub;
+import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
 import java.time.Duration;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
 
 public class MigrateJUnitTestCase extends Recipe {
 
@@ -77,8 +73,10 @@ public class MigrateJUnitTestCase extends Recipe {
                     }
                 }
 
-                doAfterVisit(new UsesType<>("junit.framework.TestCase"));
-                doAfterVisit(new UsesType<>("junit.framework.Assert"));
+                TypeReferenceIndex index = TypeReferenceIndex.of(cu);
+                if (index.referencesType("junit.framework.TestCase") || index.referencesType("junit.framework.Assert")) {
+                    return cu.withMarkers(cu.getMarkers().searchResult());
+                }
                 return cu;
             }
         };
@@ -86,91 +84,188 @@ public class MigrateJUnitTestCase extends Recipe {
 
     @Override
     protected TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext executionContext) {
-                J.CompilationUnit c = super.visitCompilationUnit(cu, executionContext);
-                doAfterVisit(new TestCaseVisitor());
-                // ChangeType for org.junit.Assert method invocations because TestCase extends org.junit.Assert
-                doAfterVisit(new ChangeType("junit.framework.TestCase", "org.junit.Assert", true));
-                doAfterVisit(new ChangeType("junit.framework.Assert", "org.junit.Assert", true));
-                doAfterVisit(new AssertToAssertions.AssertToAssertionsVisitor());
-                doAfterVisit(new UseStaticImport("org.junit.jupiter.api.Assertions assert*(..)"));
-                doAfterVisit(new UseStaticImport("org.junit.jupiter.api.Assertions fail*(..)"));
-                return c;
-            }
-
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext executionContext) {
-                J.MethodInvocation mi = super.visitMethodInvocation(method, executionContext);
-                if ((mi.getSelect() != null && TypeUtils.isOfClassType(mi.getSelect().getType(), "junit.framework.TestCase"))
-                        || (mi.getMethodType() != null && TypeUtils.isOfClassType(mi.getMethodType().getDeclaringType(), "junit.framework.TestCase"))) {
-                    String name = mi.getSimpleName();
-                    // setUp and tearDown will be invoked via Before and After annotations
-                    if ("setUp".equals(name) || "tearDown".equals(name)) {
-                        return null;
-                    } else if ("setName".equals(name)) {
-                        mi = mi.withPrefix(mi.getPrefix().withComments(ListUtils.concat(mi.getPrefix().getComments(), new TextComment(false, "", "", Markers.EMPTY))));
-                    }
-                }
-                return mi;
-            }
-        };
+        return new TestCaseVisitor();
     }
 
+    /**
+     * Migrates {@code TestCase} classes, the calls they make to their lifecycle methods and the JUnit 3 and JUnit 4
+     * assertions of the source file in a single traversal.
+     * <p>
+     * Assertions are retargeted to {@code org.junit.jupiter.api.Assertions} and statically imported, with their message
+     * moved to the last argument, as the {@code ChangeType}, {@code AssertToAssertions} and {@code UseStaticImport}
+     * visitors this replaces used to do one after the other.
+     */
     private static class TestCaseVisitor extends JavaIsoVisitor<ExecutionContext> {
         private static final AnnotationMatcher OVERRIDE_ANNOTATION_MATCHER = new AnnotationMatcher("@java.lang.Override");
+        private static final JavaType JUNIT4_ASSERT_TYPE = JavaType.buildType("org.junit.Assert");
+        private static final String ASSERTIONS = "org.junit.jupiter.api.Assertions";
+        private static final JavaType.FullyQualified ASSERTIONS_TYPE = JavaType.ShallowClass.build(ASSERTIONS);
+        private static final Set<String> ASSERTION_TYPES = new HashSet<>(Arrays.asList(
+                "junit.framework.TestCase", "junit.framework.Assert", "org.junit.Assert"));
+        private static final String MIGRATE_CLASS = "migrateClass";
+
+        private final JavaTemplate test = annotationTemplate("@Test", "org.junit.jupiter.api.Test");
+        private final JavaTemplate beforeEach = annotationTemplate("@BeforeEach", "org.junit.jupiter.api.BeforeEach");
+        private final JavaTemplate afterEach = annotationTemplate("@AfterEach", "org.junit.jupiter.api.AfterEach");
+
+        /**
+         * Import changes are made once the traversal is done, in the order the chained visitors used to make them.
+         */
+        private final List<Runnable> importChanges = new ArrayList<>();
+
+        private JavaTemplate annotationTemplate(String annotation, String fullyQualifiedAnnotation) {
+            return JavaTemplate.builder(this::getCursor, annotation)
+                    .javaParser(TypeStub.javaParser(TypeStub.JUPITER_TEST, TypeStub.JUPITER_BEFORE_EACH, TypeStub.JUPITER_AFTER_EACH))
+                    .imports(fullyQualifiedAnnotation).build();
+        }
 
         @Override
-        public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext executionContext) {
-            if (!isSupertypeTestCase(classDecl.getType())) {
-                return classDecl;
+        public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext executionContext) {
+            importChanges.clear();
+            J.CompilationUnit c = super.visitCompilationUnit(cu, executionContext);
+            for (J.Import anImport : c.getImports()) {
+                if (anImport.isStatic() && "*".equals(anImport.getQualid().getSimpleName()) &&
+                    ASSERTION_TYPES.contains(anImport.getTypeName())) {
+                    String wildcard = anImport.getTypeName() + ".*";
+                    importChanges.add(() -> {
+                        maybeAddImport(ASSERTIONS, "*", false);
+                        maybeRemoveImport(wildcard);
+                    });
+                }
             }
+            importChanges.forEach(Runnable::run);
+            return c;
+        }
+
+        @Override
+        public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext executionContext) {
+            // like nested classes of other classes, nested classes of TestCase classes are only migrated if they are
+            // TestCase classes themselves
+            Boolean enclosingMigrated = getCursor().getNearestMessage(MIGRATE_CLASS);
+            boolean migrate = (enclosingMigrated == null || enclosingMigrated) && isSupertypeTestCase(classDecl.getType());
+            getCursor().putMessage(MIGRATE_CLASS, migrate);
+
             J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, executionContext);
+            if (!migrate) {
+                return cd;
+            }
             if (cd.getExtends() != null && cd.getExtends().getType() != null) {
                 JavaType.FullyQualified fullQualifiedExtension = TypeUtils.asFullyQualified(cd.getExtends().getType());
                 if (fullQualifiedExtension != null && "junit.framework.TestCase".equals(fullQualifiedExtension.getFullyQualifiedName())) {
                     cd = cd.withExtends(null);
                 }
             }
-            maybeRemoveImport("junit.framework.TestCase");
+            importChanges.add(() -> maybeRemoveImport("junit.framework.TestCase"));
             return cd;
         }
 
         @Override
         public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext executionContext) {
             J.MethodDeclaration md = super.visitMethodDeclaration(method, executionContext);
+            Boolean migrate = getCursor().getNearestMessage(MIGRATE_CLASS);
+            if (migrate == null || !migrate) {
+                return md;
+            }
             if (md.getSimpleName().startsWith("test") && md.getLeadingAnnotations().stream().noneMatch(JUNIT_TEST_ANNOTATION_MATCHER::matches)) {
-                md = updateMethodDeclarationAnnotationAndModifier(md, "@Test", "org.junit.jupiter.api.Test");
+                md = updateMethodDeclarationAnnotationAndModifier(md, test, "org.junit.jupiter.api.Test");
             } else if ("setUp".equals(md.getSimpleName())) {
-                md = updateMethodDeclarationAnnotationAndModifier(md, "@BeforeEach", "org.junit.jupiter.api.BeforeEach");
+                md = updateMethodDeclarationAnnotationAndModifier(md, beforeEach, "org.junit.jupiter.api.BeforeEach");
             } else if ("tearDown".equals(md.getSimpleName())) {
-                md = updateMethodDeclarationAnnotationAndModifier(md, "@AfterEach", "org.junit.jupiter.api.AfterEach");
+                md = updateMethodDeclarationAnnotationAndModifier(md, afterEach, "org.junit.jupiter.api.AfterEach");
             }
             return md;
         }
 
-        private J.MethodDeclaration updateMethodDeclarationAnnotationAndModifier(J.MethodDeclaration methodDeclaration, String annotation, String fullyQualifiedAnnotation) {
+        @SuppressWarnings("ConstantConditions")
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext executionContext) {
+            J.MethodInvocation mi = super.visitMethodInvocation(method, executionContext);
+            if ((mi.getSelect() != null && TypeUtils.isOfClassType(mi.getSelect().getType(), "junit.framework.TestCase"))
+                    || (mi.getMethodType() != null && TypeUtils.isOfClassType(mi.getMethodType().getDeclaringType(), "junit.framework.TestCase"))) {
+                String name = mi.getSimpleName();
+                // setUp and tearDown will be invoked via Before and After annotations
+                if ("setUp".equals(name) || "tearDown".equals(name)) {
+                    return null;
+                } else if ("setName".equals(name)) {
+                    mi = mi.withPrefix(mi.getPrefix().withComments(ListUtils.concat(mi.getPrefix().getComments(), new TextComment(false, "", "", Markers.EMPTY))));
+                }
+            }
+            return isAssertionTypeMethod(mi) ? migrateAssertion(mi) : mi;
+        }
+
+        /**
+         * Retargets a method of {@code TestCase}, {@code Assert} or JUnit 4's {@code Assert} to a statically imported
+         * method of {@code Assertions}, moving the message of the assertion to the last argument.
+         */
+        private J.MethodInvocation migrateAssertion(J.MethodInvocation method) {
+            J.MethodInvocation mi = AssertToAssertions.AssertToAssertionsVisitor.moveMessageLast(method);
+            String name = mi.getSimpleName();
+            JavaType.Method methodType = mi.getMethodType();
+            if (methodType == null) {
+                importChanges.add(() -> maybeAddImport(ASSERTIONS, name, false));
+                return mi;
+            }
+
+            String declaringType = methodType.getDeclaringType().getFullyQualifiedName();
+            Set<Flag> flags = new LinkedHashSet<>(methodType.getFlags());
+            flags.add(Flag.Static);
+            JavaType.Method assertionType = methodType.withDeclaringType(ASSERTIONS_TYPE).withFlags(flags);
+            mi = mi.withMethodType(assertionType).withName(mi.getName().withType(assertionType));
+            if (mi.getSelect() == null || name.startsWith("assert") || name.startsWith("fail")) {
+                mi = mi.withSelect(null);
+                importChanges.add(() -> maybeAddImport(ASSERTIONS, name, false));
+            } else {
+                mi = mi.withSelect(new J.Identifier(Tree.randomId(), mi.getSelect().getPrefix(), Markers.EMPTY,
+                        ASSERTIONS_TYPE.getClassName(), ASSERTIONS_TYPE, null));
+                importChanges.add(() -> maybeAddImport(ASSERTIONS, false));
+            }
+            importChanges.add(() -> maybeRemoveImport(declaringType));
+            return mi;
+        }
+
+        /**
+         * A method of the JUnit 3 or JUnit 4 assertion types called on the type or inherited from it, except for
+         * {@code assertThat}, which has no counterpart in {@code Assertions}.
+         */
+        private static boolean isAssertionTypeMethod(J.MethodInvocation method) {
+            JavaType.Method methodType = method.getMethodType();
+            if (methodType == null) {
+                return AssertToAssertions.AssertToAssertionsVisitor.JUNIT_ASSERT_METHOD_NAMES.contains(method.getSimpleName());
+            }
+            if ("assertThat".equals(method.getSimpleName())) {
+                return false;
+            }
+            if (method.getSelect() != null && !isTypeReference(method.getSelect())) {
+                return false;
+            }
+            return ASSERTION_TYPES.contains(methodType.getDeclaringType().getFullyQualifiedName()) ||
+                   TypeUtils.isAssignableTo(JUNIT4_ASSERT_TYPE, methodType.getDeclaringType());
+        }
+
+        /**
+         * Whether the select of a method invocation names a type, like {@code Assert} in {@code Assert.fail()}.
+         */
+        private static boolean isTypeReference(Expression select) {
+            if (select instanceof J.Identifier) {
+                return ((J.Identifier) select).getFieldType() == null && select.getType() instanceof JavaType.FullyQualified &&
+                       !"super".equals(((J.Identifier) select).getSimpleName()) &&
+                       !"this".equals(((J.Identifier) select).getSimpleName());
+            }
+            return select instanceof J.FieldAccess && ((J.FieldAccess) select).getName().getFieldType() == null &&
+                   select.getType() instanceof JavaType.FullyQualified;
+        }
+
+        private J.MethodDeclaration updateMethodDeclarationAnnotationAndModifier(J.MethodDeclaration methodDeclaration, JavaTemplate annotation, String fullyQualifiedAnnotation) {
             J.MethodDeclaration md = methodDeclaration;
             if (FindAnnotations.find(methodDeclaration.withBody(null), "@" + fullyQualifiedAnnotation).isEmpty()) {
-                md = methodDeclaration.withTemplate(JavaTemplate.builder(this::getCursor, annotation)
-                                .javaParser(() -> JavaParser.fromJavaVersion()
-                                        .dependsOn(Collections.singletonList(Parser.Input.fromString(
-                                                "package org.junit.jupiter.api;\n" +
-                                                        "public @interface Test {}\n" +
-                                                        "public @interface AfterEach {}\n" +
-                                                        "public @interface BeforeEach {}")))
-                                        .build())
-                                .imports(fullyQualifiedAnnotation).build(),
+                md = methodDeclaration.withTemplate(annotation,
                         methodDeclaration.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
                 md = maybeAddPublicModifier(md);
                 md = maybeRemoveOverrideAnnotation(md);
-                maybeAddImport(fullyQualifiedAnnotation);
+                importChanges.add(() -> maybeAddImport(fullyQualifiedAnnotation));
             }
             return md;
         }
-
         private J.MethodDeclaration maybeAddPublicModifier(J.MethodDeclaration md) {
             List<J.Modifier> modifiers = ListUtils.map(md.getModifiers(), modifier -> {
                 if (modifier.getType() == J.Modifier.Type.Protected) {
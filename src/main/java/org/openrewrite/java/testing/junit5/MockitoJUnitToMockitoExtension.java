@@ -16,16 +16,15 @@
 package org.openrewrite.java.testing.junit5;
 
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Parser;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.format.AutoFormatVisitor;
 import org.openrewrite.java.search.FindAnnotations;
 import org.openrewrite.java.search.FindFieldsOfType;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.TypeReferenceIndex;
+import org.openrewrite.java.testing.internal.TypeStub;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Statement;
 import org.openrewrite.java.tree.TypeUtils;
@@ -67,14 +66,7 @@ public class MockitoJUnitToMockitoExtension extends Recipe {
 
     @Override
     protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext executionContext) {
-                doAfterVisit(new UsesType<>("org.mockito.junit.MockitoTestRule"));
-                doAfterVisit(new UsesType<>("org.mockito.junit.MockitoRule"));
-                return cu;
-            }
-        };
+        return TypeReferenceIndex.usesAnyType("org.mockito.junit.MockitoTestRule", "org.mockito.junit.MockitoRule");
     }
 
     @Override
@@ -113,17 +105,7 @@ public class MockitoJUnitToMockitoExtension extends Recipe {
 
                     cd = cd.withTemplate(
                             JavaTemplate.builder(this::getCursor, "@ExtendWith(MockitoExtension.class)")
-                                    .javaParser(() ->
-                                            JavaParser.fromJavaVersion()
-                                                    .dependsOn(Arrays.asList(
-                                                            Parser.Input.fromString("package org.junit.jupiter.api.extension;\n" +
-                                                                    "public @interface ExtendWith {\n" +
-                                                                    "Class[] value();\n" +
-                                                                    "}"),
-                                                            Parser.Input.fromString("package org.mockito.junit.jupiter;\n" +
-                                                                    "public class MockitoExtension {\n" +
-                                                                    "}")
-                                                    )).build())
+                                    .javaParser(TypeStub.javaParser(TypeStub.JUPITER_EXTEND_WITH, TypeStub.MOCKITO_EXTENSION))
                                     .imports("org.junit.jupiter.api.extension.ExtendWith", "org.mockito.junit.jupiter.MockitoExtension")
                                     .build(),
                             cd.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName))
@@ -20,6 +20,7 @@ import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.JavaParserPool;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
@@ -150,8 +151,7 @@ public class ParameterizedRunnerToParameterized extends Recipe {
     }
 
     private static class ParameterizedRunnerToParameterizedTestsVisitor extends JavaIsoVisitor<ExecutionContext> {
-        private static final Supplier<JavaParser> PARAMETERIZED_TEMPLATE_PARSER = () ->
-                JavaParser.fromJavaVersion().classpath("junit-jupiter-params").build();
+        private static final Supplier<JavaParser> PARAMETERIZED_TEMPLATE_PARSER = JavaParserPool.classpath("junit-jupiter-params");
         private final J.ClassDeclaration scope;
         private final String initMethodName;
         private final List<Statement> parameterizedTestMethodParameters;
@@ -22,14 +22,15 @@ import lombok.Value;
 import org.openrewrite.*;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.search.FindAnnotations;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.JavaParserPool;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 
 @Value
@@ -90,12 +91,10 @@ public class RunnerToExtension extends Recipe {
             private JavaTemplate getExtendsWithTemplate() {
                 if (extendsWithTemplate == null) {
                     extendsWithTemplate = JavaTemplate.builder(this::getCursor, "@ExtendWith(#{}.class)")
-                            .javaParser(() -> JavaParser.fromJavaVersion()
-                                    .classpath("junit", "junit-jupiter-api")
-                                    .dependsOn( "package " + extensionType.getPackageName() + ";\n" +
+                            .javaParser(JavaParserPool.of(Arrays.asList("junit", "junit-jupiter-api"),
+                                    "package " + extensionType.getPackageName() + ";\n" +
                                             "import org.junit.jupiter.api.extension.Extension;\n" +
-                                            "public class " + extensionType.getClassName() + " implements Extension {}")
-                                    .build())
+                                            "public class " + extensionType.getClassName() + " implements Extension {}"))
                             .imports("org.junit.jupiter.api.extension.ExtendWith",
                                     "org.junit.jupiter.api.extension.Extension", extension)
                             .build();
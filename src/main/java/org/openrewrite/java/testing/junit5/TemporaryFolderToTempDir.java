@@ -16,16 +16,15 @@
 package org.openrewrite.java.testing.junit5;
 
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Parser;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.TypeStub;
 import org.openrewrite.java.tree.*;
 
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
@@ -33,6 +32,8 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class TemporaryFolderToTempDir extends Recipe {
+    private static final Supplier<JavaParser> TEMPDIR_PARSER = TypeStub.javaParser(TypeStub.JUPITER_TEMP_DIR);
+
     @Override
     public String getDisplayName() {
         return "Use JUnit Jupiter `@TempDir`";
@@ -53,13 +54,6 @@ public class TemporaryFolderToTempDir extends Recipe {
         AnnotationMatcher classRule = new AnnotationMatcher("@org.junit.ClassRule");
         AnnotationMatcher rule = new AnnotationMatcher("@org.junit.Rule");
 
-        Supplier<JavaParser> tempdirParser = () ->
-                JavaParser.fromJavaVersion().dependsOn(Collections.singletonList(
-                        Parser.Input.fromString("" +
-                                                "package org.junit.jupiter.api.io;\n" +
-                                                "public @interface TempDir {}")
-                )).build();
-
         return new JavaVisitor<ExecutionContext>() {
             @Override
             public J visitCompilationUnit(J.CompilationUnit cu, ExecutionContext executionContext) {
@@ -88,7 +82,7 @@ public class TemporaryFolderToTempDir extends Recipe {
                 mv = mv.withTemplate(
                         JavaTemplate.builder(this::getCursor, "@TempDir\n#{} File#{};")
                                 .imports("java.io.File", "org.junit.jupiter.api.io.TempDir")
-                                .javaParser(tempdirParser)
+                                .javaParser(TEMPDIR_PARSER)
                                 .build(),
                         mv.getCoordinates().replace(),
                         modifiers,
@@ -132,10 +126,10 @@ public class TemporaryFolderToTempDir extends Recipe {
                 List<Expression> args = mi.getArguments().stream().filter(arg -> !(arg instanceof J.Empty)).collect(Collectors.toList());
                 if (args.isEmpty()) {
                     return mi.withTemplate(JavaTemplate.builder(this::getCursor, "File.createTempFile(\"junit\", null, #{any(java.io.File)})")
-                            .imports("java.io.File").javaParser(tempdirParser).build(), mi.getCoordinates().replace(), tempDir);
+                            .imports("java.io.File").javaParser(TEMPDIR_PARSER).build(), mi.getCoordinates().replace(), tempDir);
                 } else {
                     return mi.withTemplate(JavaTemplate.builder(this::getCursor, "File.createTempFile(#{any(java.lang.String)}, null, #{any(java.io.File)})")
-                                    .imports("java.io.File").javaParser(tempdirParser).build(),
+                                    .imports("java.io.File").javaParser(TEMPDIR_PARSER).build(),
                             mi.getCoordinates().replace(), args.get(0), tempDir);
                 }
             }
@@ -145,12 +139,6 @@ public class TemporaryFolderToTempDir extends Recipe {
     private static class AddNewFolderMethod extends JavaIsoVisitor<ExecutionContext> {
         private final J.MethodInvocation methodInvocation;
 
-        private final Supplier<JavaParser> tempdirParser = () -> JavaParser.fromJavaVersion().dependsOn(Collections.singletonList(
-                Parser.Input.fromString("" +
-                                        "package org.junit.jupiter.api.io;\n" +
-                                        "public @interface TempDir {}")
-        )).build();
-
         public AddNewFolderMethod(J.MethodInvocation methodInvocation) {
             this.methodInvocation = methodInvocation;
         }
@@ -181,7 +169,7 @@ public class TemporaryFolderToTempDir extends Recipe {
                         "    }\n" +
                         "    return result;\n" +
                         "}"
-                ).imports("java.io.File", "java.io.IOException").javaParser(tempdirParser).build(), cd.getBody().getCoordinates().lastStatement());
+                ).imports("java.io.File", "java.io.IOException").javaParser(TEMPDIR_PARSER).build(), cd.getBody().getCoordinates().lastStatement());
                 newFolderMethodDeclaration = ((J.MethodDeclaration) cd.getBody().getStatements().get(cd.getBody().getStatements().size() - 1)).getMethodType();
                 maybeAddImport("java.io.File");
                 maybeAddImport("java.io.IOException");
@@ -195,12 +183,6 @@ public class TemporaryFolderToTempDir extends Recipe {
             J.MethodInvocation methodScope;
             JavaType.Method newMethodType;
 
-            private final Supplier<JavaParser> tempdirParser = () -> JavaParser.fromJavaVersion().dependsOn(Collections.singletonList(
-                    Parser.Input.fromString("" +
-                                            "package org.junit.jupiter.api.io;\n" +
-                                            "public @interface TempDir {}")
-            )).build();
-
             public TranslateNewFolderMethodInvocation(J.MethodInvocation method, JavaType.Method newMethodType) {
                 this.methodScope = method;
                 this.newMethodType = newMethodType;
@@ -217,10 +199,10 @@ public class TemporaryFolderToTempDir extends Recipe {
                     List<Expression> args = mi.getArguments().stream().filter(arg -> !(arg instanceof J.Empty)).collect(Collectors.toList());
                     if (args.isEmpty()) {
                         mi = mi.withTemplate(JavaTemplate.builder(this::getCursor, "newFolder(#{any(java.io.File)}, \"junit\")")
-                                .imports("java.io.File").javaParser(tempdirParser).build(), mi.getCoordinates().replace(), tempDir);
+                                .imports("java.io.File").javaParser(TEMPDIR_PARSER).build(), mi.getCoordinates().replace(), tempDir);
                     } else if (args.size() == 1) {
                         mi = mi.withTemplate(JavaTemplate.builder(this::getCursor, "newFolder(#{any(java.io.File)}, #{any(java.lang.String)})")
-                                        .imports("java.io.File").javaParser(tempdirParser).build(),
+                                        .imports("java.io.File").javaParser(TEMPDIR_PARSER).build(),
                                 mi.getCoordinates().replace(), tempDir, args.get(0));
                     } else {
                         final StringBuilder sb = new StringBuilder("newFolder(#{any(java.io.File)}");
@@ -229,7 +211,7 @@ public class TemporaryFolderToTempDir extends Recipe {
                         List<Object> templateArgs = new ArrayList<>(args);
                         templateArgs.add(0, tempDir);
                         mi = mi.withTemplate(JavaTemplate.builder(this::getCursor, sb.toString())
-                                        .imports("java.io.File").javaParser(tempdirParser).build(),
+                                        .imports("java.io.File").javaParser(TEMPDIR_PARSER).build(),
                                 mi.getCoordinates().replace(), templateArgs.toArray());
                     }
                     mi = mi.withMethodType(newMethodType);
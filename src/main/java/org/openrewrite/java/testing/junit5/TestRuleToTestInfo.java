@@ -16,11 +16,11 @@
 package org.openrewrite.java.testing.junit5;
 
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Parser;
 import org.openrewrite.Recipe;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.TypeStub;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Space;
 import org.openrewrite.java.tree.Statement;
@@ -28,29 +28,13 @@ import org.openrewrite.java.tree.TypeUtils;
 
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.function.Supplier;
 
 public class TestRuleToTestInfo extends Recipe {
 
-    private static final Supplier<JavaParser> TEST_INFO_PARSER = () ->
-            JavaParser.fromJavaVersion().dependsOn(
-                    Arrays.asList(Parser.Input.fromString(
-                                    "package org.junit.jupiter.api;\n" +
-                                            "import java.lang.reflect.Method;\n" +
-                                            "import java.util.Optional;\n" +
-                                            "import java.util.Set;\n" +
-                                            "public interface TestInfo {\n" +
-                                            "  String getDisplayName();\n" +
-                                            "  Set<String> getTags();\n" +
-                                            "  Optional<Class<?>> getTestClass();\n" +
-                                            "  Optional<Method> getTestMethod();" +
-                                            "}"),
-                            Parser.Input.fromString(
-                                    "package org.junit.jupiter.api; public @interface BeforeEach {}"
-                            ))
-            ).build();
+    private static final Supplier<JavaParser> TEST_INFO_PARSER = TypeStub.javaParser(
+            TypeStub.JUPITER_TEST_INFO, TypeStub.JUPITER_BEFORE_EACH);
 
     @Override
     public String getDisplayName() {
@@ -16,7 +16,6 @@
 package org.openrewrite.java.testing.junit5;
 
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Parser;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
@@ -25,6 +24,7 @@ import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.search.FindTypes;
+import org.openrewrite.java.testing.internal.JavaParserPool;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.Space;
@@ -33,7 +33,6 @@ import org.openrewrite.marker.Markers;
 import org.openrewrite.maven.UpgradeDependencyVersion;
 
 import java.time.Duration;
-import java.util.Arrays;
 import java.util.UUID;
 import java.util.function.Supplier;
 
@@ -53,17 +52,14 @@ public class UpdateMockWebServer extends Recipe {
     private static final String MOCK_WEBSERVER_VARIABLE = "mock-web-server-variable";
     private static final String AFTER_EACH_METHOD = "after-each-method";
 
-    private static final Supplier<JavaParser> OKHTTP3_PARSER = () ->
-            JavaParser.fromJavaVersion().dependsOn(Arrays.asList(
-                    Parser.Input.fromString("package okhttp3.mockwebserver;" +
-                            "public final class MockWebServer  extends ExternalResource implements Closeable {" +
-                            "   @Override" +
-                            "   public void close() throws IOException {}" +
-                            "}"
-                    ),
-                    Parser.Input.fromString("package org.junit.jupiter.api;\n" +
-                            "public @interface AfterEach {}")
-            )).build();
+    private static final Supplier<JavaParser> OKHTTP3_PARSER = JavaParserPool.stubs(
+            "package okhttp3.mockwebserver;" +
+                    "public final class MockWebServer  extends ExternalResource implements Closeable {" +
+                    "   @Override" +
+                    "   public void close() throws IOException {}" +
+                    "}",
+            "package org.junit.jupiter.api;\n" +
+                    "public @interface AfterEach {}");
 
     @Override
     public String getDisplayName() {
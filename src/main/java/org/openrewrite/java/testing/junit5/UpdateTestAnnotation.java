@@ -24,12 +24,14 @@ import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.FindImports;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.JavaParserPool;
+import org.openrewrite.java.testing.internal.Modifiers;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markup;
 
 import java.time.Duration;
-import java.util.Comparator;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Supplier;
 
 public class UpdateTestAnnotation extends Recipe {
 
@@ -58,6 +60,31 @@ public class UpdateTestAnnotation extends Recipe {
 
     private static class UpdateTestAnnotationVisitor extends JavaIsoVisitor<ExecutionContext> {
         private static final AnnotationMatcher JUNIT4_TEST = new AnnotationMatcher("@org.junit.Test");
+        private static final Supplier<JavaParser> JUPITER_PARSER = JavaParserPool.classpath("junit-jupiter-api", "apiguardian-api");
+        private static final Set<J.Modifier.Type> ACCESS_MODIFIERS = Collections.unmodifiableSet(
+                EnumSet.of(J.Modifier.Type.Public, J.Modifier.Type.Protected, J.Modifier.Type.Private));
+
+        /*
+         * One annotation visitor and one set of templates serve every test method of the compilation unit.
+         */
+        private final ChangeTestAnnotation changeTestAnnotation = new ChangeTestAnnotation();
+
+        private final JavaTemplate bodyAsLambda = JavaTemplate.builder(this::getCursor, "Object o = () -> #{}").build();
+
+        private final JavaTemplate assertDoesNotThrow = JavaTemplate.builder(this::getCursor, "assertDoesNotThrow(#{any(org.junit.jupiter.api.function.Executable)});")
+                .javaParser(JUPITER_PARSER)
+                .staticImports("org.junit.jupiter.api.Assertions.assertDoesNotThrow")
+                .build();
+
+        private final JavaTemplate assertThrows = JavaTemplate.builder(this::getCursor, "assertThrows(#{any(java.lang.Class)}, #{any(org.junit.jupiter.api.function.Executable)});")
+                .javaParser(JUPITER_PARSER)
+                .staticImports("org.junit.jupiter.api.Assertions.assertThrows")
+                .build();
+
+        private final JavaTemplate timeoutAnnotation = JavaTemplate.builder(this::getCursor, "@Timeout(#{any(long)})")
+                .javaParser(JUPITER_PARSER)
+                .imports("org.junit.jupiter.api.Timeout")
+                .build();
 
         @Override
         public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext executionContext) {
@@ -110,15 +137,20 @@ public class UpdateTestAnnotation extends Recipe {
 
         @Override
         public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
-            ChangeTestAnnotation cta = new ChangeTestAnnotation();
+            ChangeTestAnnotation cta = changeTestAnnotation.reset();
             J.MethodDeclaration m = (J.MethodDeclaration) cta.visitNonNull(method, ctx, getCursor().getParentOrThrow());
             if (m != method) {
-                if (Boolean.FALSE.equals(TypeUtils.isOverride(m.getMethodType()))) {
-                    m = (J.MethodDeclaration) new ChangeMethodAccessLevelVisitor<ExecutionContext>(new MethodMatcher(m), null)
-                            .visitNonNull(m, ctx, getCursor().getParentOrThrow());
+                if (Boolean.FALSE.equals(TypeUtils.isOverride(m.getMethodType())) && Modifiers.hasAny(m.getModifiers(), ACCESS_MODIFIERS)) {
+                    // Make the method package-private right away rather than through another visitor
+                    List<Comment> orphanedComments = new ArrayList<>();
+                    List<J.Modifier> modifiers = Modifiers.remove(m.getModifiers(), ACCESS_MODIFIERS, orphanedComments);
+                    if (!orphanedComments.isEmpty()) {
+                        m = m.withComments(ListUtils.concatAll(m.getComments(), orphanedComments));
+                    }
+                    m = maybeAutoFormat(m, m.withModifiers(modifiers), m.getName(), ctx, getCursor().getParentOrThrow());
                 }
                 if (cta.expectedException != null) {
-                    m = m.withTemplate(JavaTemplate.builder(this::getCursor, "Object o = () -> #{}").build(),
+                    m = m.withTemplate(bodyAsLambda,
                             m.getCoordinates().replaceBody(),
                             m.getBody());
 
@@ -131,29 +163,15 @@ public class UpdateTestAnnotation extends Recipe {
 
                     if (cta.expectedException instanceof J.FieldAccess
                         && TypeUtils.isAssignableTo("org.junit.Test$None", ((J.FieldAccess) cta.expectedException).getTarget().getType())) {
-                        m = m.withTemplate(JavaTemplate.builder(this::getCursor, "assertDoesNotThrow(#{any(org.junit.jupiter.api.function.Executable)});")
-                                        .javaParser(() -> JavaParser.fromJavaVersion().classpath("junit-jupiter-api", "apiguardian-api").build())
-                                        .staticImports("org.junit.jupiter.api.Assertions.assertDoesNotThrow")
-                                        .build(),
-                                m.getCoordinates().replaceBody(), lambda);
+                        m = m.withTemplate(assertDoesNotThrow, m.getCoordinates().replaceBody(), lambda);
                         maybeAddImport("org.junit.jupiter.api.Assertions", "assertDoesNotThrow");
                     } else {
-                        m = m.withTemplate(JavaTemplate.builder(this::getCursor, "assertThrows(#{any(java.lang.Class)}, #{any(org.junit.jupiter.api.function.Executable)});")
-                                        .javaParser(() -> JavaParser.fromJavaVersion().classpath("junit-jupiter-api", "apiguardian-api").build())
-                                        .staticImports("org.junit.jupiter.api.Assertions.assertThrows")
-                                        .build(),
-                                m.getCoordinates().replaceBody(), cta.expectedException, lambda);
+                        m = m.withTemplate(assertThrows, m.getCoordinates().replaceBody(), cta.expectedException, lambda);
                         maybeAddImport("org.junit.jupiter.api.Assertions", "assertThrows");
                     }
                 }
                 if (cta.timeout != null) {
-                    m = m.withTemplate(
-                            JavaTemplate.builder(this::getCursor, "@Timeout(#{any(long)})")
-                                    .javaParser(() -> JavaParser.fromJavaVersion()
-                                            .classpath("junit-jupiter-api", "apiguardian-api")
-                                            .build())
-                                    .imports("org.junit.jupiter.api.Timeout")
-                                    .build(),
+                    m = m.withTemplate(timeoutAnnotation,
                             m.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)),
                             cta.timeout);
                     maybeAddImport("org.junit.jupiter.api.Timeout");
@@ -174,11 +192,16 @@ public class UpdateTestAnnotation extends Recipe {
             boolean found;
 
             private final JavaTemplate fieldAccessAnnotation = JavaTemplate.builder(this::getCursor, "@org.junit.jupiter.api.Test")
-                    .javaParser(() -> JavaParser.fromJavaVersion()
-                            .classpath("junit-jupiter-api", "apiguardian-api")
-                            .build())
+                    .javaParser(JUPITER_PARSER)
                     .build();
 
+            ChangeTestAnnotation reset() {
+                expectedException = null;
+                timeout = null;
+                found = false;
+                return this;
+            }
+
             @Override
             public J.Annotation visitAnnotation(J.Annotation a, ExecutionContext context) {
                 if (!found && JUNIT4_TEST.matches(a)) {
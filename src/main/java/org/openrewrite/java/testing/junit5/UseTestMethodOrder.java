@@ -16,18 +16,16 @@
 package org.openrewrite.java.testing.junit5;
 
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Parser;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.search.FindAnnotations;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.TypeStub;
 import org.openrewrite.java.tree.J;
 
 import java.time.Duration;
-import java.util.Arrays;
 import java.util.Set;
 
 public class UseTestMethodOrder extends Recipe {
@@ -57,17 +55,7 @@ public class UseTestMethodOrder extends Recipe {
     protected TreeVisitor<?, ExecutionContext> getVisitor() {
         return new JavaIsoVisitor<ExecutionContext>() {
             private final JavaTemplate testMethodOrder = JavaTemplate.builder(this::getCursor, "@TestMethodOrder(MethodName.class)")
-                    .javaParser(() ->
-                            JavaParser.fromJavaVersion()
-                                    .dependsOn(Arrays.asList(
-                                            Parser.Input.fromString("package org.junit.jupiter.api;\n" +
-                                                    "public interface MethodOrderer {\n" +
-                                                    "  public class MethodName {}\n" +
-                                                    "}"),
-                                            Parser.Input.fromString("package org.junit.jupiter.api;\n" +
-                                                    "public @interface TestMethodOrder {}")
-                                    ))
-                                    .build())
+                    .javaParser(TypeStub.javaParser(TypeStub.JUPITER_METHOD_ORDERER, TypeStub.JUPITER_TEST_METHOD_ORDER))
                     .imports("org.junit.jupiter.api.TestMethodOrder",
                             "org.junit.jupiter.api.MethodOrderer.*")
                     .build();
@@ -21,6 +21,7 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.JavaParserPool;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.maven.UpgradeDependencyVersion;
 
@@ -71,8 +72,7 @@ public class UseWiremockExtension extends Recipe {
 
                     Expression arg = n.getArguments().get(0);
 
-                    Supplier<JavaParser> wiremockParser = () -> JavaParser.fromJavaVersion()
-                            .dependsOn(
+                    Supplier<JavaParser> wiremockParser = JavaParserPool.stubs(
                                     //language=java
                                     "" +
                                     "package com.github.tomakehurst.wiremock.junit5;" +
@@ -98,8 +98,7 @@ public class UseWiremockExtension extends Recipe {
                                     //language=java
                                     "" +
                                     "package com.github.tomakehurst.wiremock.core;" +
-                                    "public interface Options {}")
-                            .build();
+                                    "public interface Options {}");
 
                     if (arg instanceof J.Empty) {
                         String newWiremockExtension = "WireMockExtension.newInstance().build()";
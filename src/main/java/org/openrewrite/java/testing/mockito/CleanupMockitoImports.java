@@ -26,9 +26,9 @@ import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.TypeUtils;
 
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Removes unused "org.mockito" imports.
@@ -61,23 +61,27 @@ public class CleanupMockitoImports extends Recipe {
     }
 
     public static class CleanupMockitoImportsVisitor extends JavaIsoVisitor<ExecutionContext> {
-        private static final List<String> MOCKITO_METHOD_NAMES = Arrays.asList("mock", "mockingDetails", "spy",
+        private static final Set<String> MOCKITO_METHOD_NAMES = new HashSet<>(Arrays.asList("mock", "mockingDetails", "spy",
                 "stub", "when", "verify", "reset", "verifyNoMoreInteractions", "verifyZeroInteractions", "stubVoid",
                 "doThrow", "doCallRealMethod", "doAnswer", "doNothing", "doReturn", "inOrder", "ignoreStubs",
-                "times", "never", "atLeastOnce", "atLeast", "atMost", "calls", "only", "timeout", "after");
+                "times", "never", "atLeastOnce", "atLeast", "atMost", "calls", "only", "timeout", "after"));
+
+        /**
+         * Names of Mockito methods invoked in the current source file without well-formed type information.
+         */
+        private final Set<String> unknownTypeMethodInvocationNames = new HashSet<>();
+
         @Override
         public JavaSourceFile visitJavaSourceFile(JavaSourceFile cu, ExecutionContext executionContext) {
+            unknownTypeMethodInvocationNames.clear();
             JavaSourceFile sf = super.visitJavaSourceFile(cu, executionContext);
 
             // Prevent removing mockito imports when an associated mockito method type is not well formed
-            final List<String> unknownTypeMethodInvocationNames = new ArrayList<>();
-            new WellFormedMockitoMethodTypeVisitor().visit(cu, unknownTypeMethodInvocationNames);
-
             for (J.Import _import : cu.getImports()) {
                 if (_import.getPackageName().startsWith("org.mockito")) {
                     if (_import.isStatic()) {
                         String staticName = _import.getQualid().getSimpleName();
-                        if ("*".equals(staticName) && !possibleMockitoMethod(unknownTypeMethodInvocationNames)) {
+                        if ("*".equals(staticName) && unknownTypeMethodInvocationNames.isEmpty()) {
                             maybeRemoveImport(_import.getPackageName() + "." + _import.getClassName());
                         } else if (!"*".equals(staticName) && !unknownTypeMethodInvocationNames.contains(staticName)) {
                             maybeRemoveImport(_import.getPackageName() + "." + _import.getClassName() + "." + staticName);
@@ -90,25 +94,15 @@ public class CleanupMockitoImports extends Recipe {
             return sf;
         }
 
-        private boolean possibleMockitoMethod(List<String> methodNamesHavingNullType) {
-            for (String missingMethod : methodNamesHavingNullType) {
-                if (MOCKITO_METHOD_NAMES.contains(missingMethod)) {
-                    return true;
-                }
-            }
-
-            return false;
-        }
-
-        private static class WellFormedMockitoMethodTypeVisitor extends JavaIsoVisitor<List<String>> {
-            @Override
-            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, List<String> missingMethods) {
-                J.MethodInvocation mi = super.visitMethodInvocation(method, missingMethods);
-                if (MOCKITO_METHOD_NAMES.contains(mi.getSimpleName()) && !TypeUtils.isWellFormedType(mi.getType())) {
-                    missingMethods.add(mi.getSimpleName());
-                }
-                return mi;
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext executionContext) {
+            J.MethodInvocation mi = super.visitMethodInvocation(method, executionContext);
+            String name = mi.getSimpleName();
+            if (MOCKITO_METHOD_NAMES.contains(name) && !unknownTypeMethodInvocationNames.contains(name) &&
+                !TypeUtils.isWellFormedType(mi.getType())) {
+                unknownTypeMethodInvocationNames.add(name);
             }
+            return mi;
         }
     }
 }
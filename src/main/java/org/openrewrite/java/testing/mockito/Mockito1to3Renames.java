@@ -0,0 +1,330 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.mockito;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.config.Environment;
+import org.openrewrite.config.YamlResourceLoader;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.ChangeMethodName;
+import org.openrewrite.java.ChangeType;
+import org.openrewrite.java.DeleteMethodArgument;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.testing.internal.TypeReferenceIndex;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.*;
+
+import static org.openrewrite.Tree.randomId;
+
+/**
+ * Applies the steps of {@value #RENAME_STEPS} in a single traversal.
+ * <p>
+ * The steps stay declared in {@code mockito.yml}. They are loaded once and compiled into a table of the method renames
+ * and argument deletions keyed on declaring type and method name, so each method invocation costs one lookup no matter
+ * how many steps there are. Every method step is also keyed on the types that earlier {@link ChangeType} steps change
+ * to its declaring type, so invocations are matched the way they would be after those type changes. The type changes
+ * themselves still rewrite imports and every type reference with {@link ChangeType}, but only for the source files
+ * that refer to the old type. Steps that are not type changes, method renames or argument deletions run as they are.
+ */
+public class Mockito1to3Renames extends Recipe {
+    static final String RENAME_STEPS = "org.openrewrite.java.testing.mockito.Mockito1to3RenameSteps";
+
+    @Override
+    public String getDisplayName() {
+        return "Mockito 3.x type and method renames";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Applies the type changes, method renames and argument deletions of the Mockito 1.x to 3.x migration in a single pass.";
+    }
+
+    @Override
+    public Duration getEstimatedEffortPerOccurrence() {
+        return Duration.ofMinutes(5);
+    }
+
+    @Override
+    protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
+        RenameTable table = RenameTable.get();
+        return TypeReferenceIndex.applicableIf(index -> !table.otherSteps.isEmpty() || table.isReferencedBy(index));
+    }
+
+    @Override
+    protected TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new RenameVisitor(RenameTable.get());
+    }
+
+    private static class RenameVisitor extends JavaIsoVisitor<ExecutionContext> {
+        private final RenameTable table;
+
+        RenameVisitor(RenameTable table) {
+            this.table = table;
+        }
+
+        @Override
+        public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext executionContext) {
+            J.CompilationUnit c = super.visitCompilationUnit(cu, executionContext);
+            TypeReferenceIndex index = TypeReferenceIndex.of(cu);
+            Set<String> changedTo = new HashSet<>();
+            for (ChangeType changeType : table.typeChanges) {
+                String oldType = changeType.getOldFullyQualifiedTypeName();
+                if (changedTo.contains(oldType) || RenameTable.referencesType(index, oldType)) {
+                    doAfterVisit(changeType);
+                    changedTo.add(changeType.getNewFullyQualifiedTypeName());
+                }
+            }
+            for (Recipe step : table.otherSteps) {
+                doAfterVisit(step);
+            }
+            return c;
+        }
+
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext executionContext) {
+            J.MethodInvocation m = super.visitMethodInvocation(method, executionContext);
+            if (m.getMethodType() == null) {
+                return m;
+            }
+
+            String declaringType = m.getMethodType().getDeclaringType().getFullyQualifiedName();
+            String originalName = m.getSimpleName();
+            MethodStep step = table.next(declaringType, m, -1);
+            while (step != null) {
+                m = step.apply(m);
+                step = table.next(declaringType, m, step.order);
+            }
+
+            if (m.getSelect() == null && !originalName.equals(m.getSimpleName())) {
+                maybeRemoveImport(declaringType + "." + originalName);
+                maybeAddImport(declaringType, m.getSimpleName());
+            }
+            return m;
+        }
+    }
+
+    static final class RenameTable {
+        @Nullable
+        private static volatile RenameTable instance;
+
+        private final Map<String, List<MethodStep>> methodSteps = new HashMap<>();
+        private final List<ChangeType> typeChanges = new ArrayList<>();
+        private final List<Recipe> otherSteps = new ArrayList<>();
+        private final Set<String> types = new LinkedHashSet<>();
+
+        static RenameTable get() {
+            RenameTable table = instance;
+            if (table == null) {
+                synchronized (RenameTable.class) {
+                    table = instance;
+                    if (table == null) {
+                        table = of(loadSteps());
+                        instance = table;
+                    }
+                }
+            }
+            return table;
+        }
+
+        private static List<Recipe> loadSteps() {
+            String resource = "/META-INF/rewrite/mockito.yml";
+            URL url = Mockito1to3Renames.class.getResource(resource);
+            if (url == null) {
+                throw new IllegalStateException("Unable to find " + resource);
+            }
+            try (InputStream yaml = url.openStream()) {
+                Recipe steps = Environment.builder()
+                        .load(new YamlResourceLoader(yaml, url.toURI(), new Properties()))
+                        .build()
+                        .activateRecipes(RENAME_STEPS);
+                List<Recipe> flattened = new ArrayList<>();
+                flatten(steps, flattened);
+                return flattened;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (URISyntaxException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static void flatten(Recipe recipe, List<Recipe> steps) {
+            for (Recipe step : recipe.getRecipeList()) {
+                if (step.getRecipeList().isEmpty()) {
+                    steps.add(step);
+                } else {
+                    flatten(step, steps);
+                }
+            }
+        }
+
+        static RenameTable of(List<Recipe> steps) {
+            RenameTable table = new RenameTable();
+            // the types each type is changed from by the type changes so far
+            Map<String, Set<String>> changedFrom = new HashMap<>();
+            int order = 0;
+            for (Recipe step : steps) {
+                if (step instanceof ChangeType) {
+                    ChangeType changeType = (ChangeType) step;
+                    String oldType = changeType.getOldFullyQualifiedTypeName();
+                    Set<String> from = changedFrom.computeIfAbsent(changeType.getNewFullyQualifiedTypeName(), t -> new LinkedHashSet<>());
+                    from.add(oldType);
+                    from.addAll(changedFrom.getOrDefault(oldType, Collections.emptySet()));
+                    table.typeChanges.add(changeType);
+                    table.types.add(oldType);
+                } else if (step instanceof ChangeMethodName) {
+                    ChangeMethodName changeMethodName = (ChangeMethodName) step;
+                    table.add(step, changeMethodName.getMethodPattern(), changeMethodName.getMatchOverrides(),
+                            changeMethodName.getNewMethodName(), -1, order++, changedFrom);
+                } else if (step instanceof DeleteMethodArgument) {
+                    DeleteMethodArgument deleteMethodArgument = (DeleteMethodArgument) step;
+                    table.add(step, deleteMethodArgument.getMethodPattern(), null,
+                            null, deleteMethodArgument.getArgumentIndex(), order++, changedFrom);
+                } else {
+                    table.otherSteps.add(step);
+                }
+            }
+            return table;
+        }
+
+        private void add(Recipe step, String methodPattern, @Nullable Boolean matchOverrides, @Nullable String newName,
+                         int argumentIndex, int order, Map<String, Set<String>> changedFrom) {
+            int space = methodPattern.indexOf(' ');
+            int parenthesis = methodPattern.indexOf('(', space);
+            if (space < 0 || parenthesis < 0) {
+                otherSteps.add(step);
+                return;
+            }
+            String declaringType = methodPattern.substring(0, space).trim();
+            String name = methodPattern.substring(space + 1, parenthesis).trim();
+            if (declaringType.contains("*") || name.contains("*")) {
+                // wildcards can not be looked up, but the step still has to run
+                otherSteps.add(step);
+                return;
+            }
+
+            Set<String> declaringTypes = new LinkedHashSet<>();
+            declaringTypes.add(declaringType);
+            declaringTypes.addAll(changedFrom.getOrDefault(declaringType, Collections.emptySet()));
+            for (String type : declaringTypes) {
+                MethodMatcher matcher = new MethodMatcher(type + methodPattern.substring(space), matchOverrides);
+                methodSteps.computeIfAbsent(TypeReferenceIndex.methodKey(type, name), k -> new ArrayList<>())
+                        .add(new MethodStep(order, matcher, newName, argumentIndex));
+                this.types.add(type);
+            }
+        }
+
+        /**
+         * @return The first step after the given one, in the order of the steps, that applies to the method.
+         */
+        @Nullable
+        MethodStep next(String declaringType, J.MethodInvocation method, int after) {
+            List<MethodStep> steps = methodSteps.get(TypeReferenceIndex.methodKey(declaringType, method.getSimpleName()));
+            if (steps != null) {
+                for (MethodStep step : steps) {
+                    if (step.order > after && step.matcher.matches(method)) {
+                        return step;
+                    }
+                }
+            }
+            return null;
+        }
+
+        boolean isReferencedBy(TypeReferenceIndex index) {
+            for (String type : types) {
+                if (referencesType(index, type)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Type changes name nested types with dots, where the types of the tree separate them with {@code $}.
+         */
+        static boolean referencesType(TypeReferenceIndex index, String fullyQualifiedTypeName) {
+            if (index.referencesType(fullyQualifiedTypeName)) {
+                return true;
+            }
+            char[] name = fullyQualifiedTypeName.toCharArray();
+            for (int i = name.length - 1; i > 0; i--) {
+                if (name[i] == '.' && Character.isUpperCase(name[i + 1])) {
+                    name[i] = '$';
+                    if (index.referencesType(new String(name))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    static final class MethodStep {
+        private final int order;
+        private final MethodMatcher matcher;
+
+        @Nullable
+        private final String newName;
+
+        private final int argumentIndex;
+
+        MethodStep(int order, MethodMatcher matcher, @Nullable String newName, int argumentIndex) {
+            this.order = order;
+            this.matcher = matcher;
+            this.newName = newName;
+            this.argumentIndex = argumentIndex;
+        }
+
+        J.MethodInvocation apply(J.MethodInvocation method) {
+            if (newName != null) {
+                if (method.getSimpleName().equals(newName)) {
+                    return method;
+                }
+                JavaType.Method type = method.getMethodType();
+                return method.withName(method.getName().withSimpleName(newName))
+                        .withMethodType(type == null ? null : type.withName(newName));
+            }
+
+            int arguments = 0;
+            for (Expression argument : method.getArguments()) {
+                if (!(argument instanceof J.Empty)) {
+                    arguments++;
+                }
+            }
+            if (arguments <= argumentIndex) {
+                return method;
+            }
+            List<JRightPadded<Expression>> args = new ArrayList<>(method.getPadding().getArguments().getPadding().getElements());
+            JRightPadded<Expression> removed = args.remove(argumentIndex);
+            if (args.isEmpty()) {
+                args.add(JRightPadded.build(new J.Empty(randomId(), Space.EMPTY, Markers.EMPTY)));
+            } else if (argumentIndex == 0) {
+                args.set(0, args.get(0).withElement(args.get(0).getElement().withPrefix(removed.getElement().getPrefix())));
+            }
+            return method.getPadding().withArguments(method.getPadding().getArguments().getPadding().withElements(args));
+        }
+    }
+}
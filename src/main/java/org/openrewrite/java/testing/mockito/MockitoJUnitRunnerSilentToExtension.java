@@ -22,11 +22,13 @@ import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.TypeStub;
 import org.openrewrite.java.testing.junit5.RunnerToExtension;
 import org.openrewrite.java.tree.J;
 
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.function.Supplier;
 
 public class MockitoJUnitRunnerSilentToExtension extends Recipe {
     @Override
@@ -48,17 +50,7 @@ public class MockitoJUnitRunnerSilentToExtension extends Recipe {
     protected JavaIsoVisitor<ExecutionContext> getVisitor() {
 
         return new JavaIsoVisitor<ExecutionContext>() {
-            final JavaParser parser = JavaParser.fromJavaVersion().dependsOn(
-                    "package org.mockito.quality;" +
-                            "public enum Strictness {" +
-                            "    LENIENT,WARN,STRICT_STUBS;" +
-                            "    private Strictness() {}" +
-                            "}",
-                    "package org.mockito.junit.jupiter;" +
-                            "import org.mockito.quality.Strictness;" +
-                            "public @interface MockitoSettings {" +
-                            "    Strictness strictness() default Strictness.STRICT_STUBS;" +
-                            "}").build();
+            final Supplier<JavaParser> parser = TypeStub.javaParser(TypeStub.MOCKITO_STRICTNESS, TypeStub.MOCKITO_SETTINGS);
             final AnnotationMatcher silentRunnerMatcher = new AnnotationMatcher("org.junit.runner.RunWith @RunWith(org.mockito.junit.MockitoJUnitRunner.MockitoJUnitRunner.Silent.class)");
 
             @Override
@@ -67,7 +59,7 @@ public class MockitoJUnitRunnerSilentToExtension extends Recipe {
                 if (cd.getLeadingAnnotations().stream().anyMatch(silentRunnerMatcher::matches)) {
                     JavaTemplate template = JavaTemplate.builder(this::getCursor, "@MockitoSettings(strictness = Strictness.LENIENT)")
                             .imports("org.mockito.quality.Strictness", "org.mockito.junit.jupiter.MockitoSettings")
-                            .javaParser(() -> parser)
+                            .javaParser(parser)
                             .build();
                     cd = maybeAutoFormat(cd, cd.withTemplate(template, cd.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName))), executionContext);
                     doAfterVisit(new RunnerToExtension(Collections.singletonList("org.mockito.junit.MockitoJUnitRunner$Silent"),
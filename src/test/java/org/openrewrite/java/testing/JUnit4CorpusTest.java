@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.search.FindMissingTypes;
+import org.openrewrite.java.tree.J;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JUnit4CorpusTest {
+
+    @Test
+    void sameSeedGeneratesSameCorpus() {
+        assertThat(JUnit4Corpus.builder().seed(7).build().generate(50))
+          .containsExactly(JUnit4Corpus.builder().seed(7).build().generate(50));
+        assertThat(JUnit4Corpus.builder().seed(7).build().generate(50))
+          .isNotEqualTo(JUnit4Corpus.builder().seed(8).build().generate(50));
+    }
+
+    @Test
+    void largerCorpusExtendsSmallerOne() {
+        JUnit4Corpus corpus = JUnit4Corpus.builder().build();
+        assertThat(corpus.generate(100)).startsWith(corpus.generate(10));
+    }
+
+    @Test
+    void onlyGeneratesWeightedFeatures() {
+        JUnit4Corpus corpus = JUnit4Corpus.builder()
+          .weight(JUnit4Corpus.Feature.TEST_CASE, 1)
+          .build();
+        assertThat(corpus.getClasspath()).containsExactly("junit");
+        assertThat(corpus.stream(20)).allMatch(source -> source.contains("extends TestCase"));
+    }
+
+    @Test
+    void generatedSourcesCompile() {
+        for (JUnit4Corpus.Feature feature : JUnit4Corpus.Feature.values()) {
+            JUnit4Corpus corpus = JUnit4Corpus.builder()
+              .weight(feature, 1)
+              .build();
+            List<J.CompilationUnit> cus = JavaParser.fromJavaVersion()
+              .classpath(corpus.getClasspath())
+              .logCompilationWarningsAndErrors(true)
+              .build()
+              .parse(new InMemoryExecutionContext(t -> {
+                  throw new IllegalStateException(t);
+              }), corpus.generate(5));
+            assertThat(cus).hasSize(5);
+            for (J.CompilationUnit cu : cus) {
+                assertThat(FindMissingTypes.findMissingTypes(cu))
+                  .as("%s in %s", feature, cu.getSourcePath())
+                  .isEmpty();
+            }
+        }
+    }
+}
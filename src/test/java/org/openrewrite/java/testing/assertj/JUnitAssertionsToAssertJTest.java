@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.assertj;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+@SuppressWarnings({"NewClassNamingConvention", "ConstantConditions"})
+class JUnitAssertionsToAssertJTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion().classpath("junit"))
+          .recipe(new JUnitAssertionsToAssertJ());
+    }
+
+    @Test
+    void mixedAssertionsInOnePass() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.Test;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+              import static org.junit.jupiter.api.Assertions.assertNotNull;
+              import static org.junit.jupiter.api.Assertions.assertTrue;
+
+              public class MyTest {
+                  @Test
+                  public void test() {
+                      assertEquals(1, notification());
+                      assertNotNull(notification());
+                      assertTrue(notification() > 0);
+                  }
+                  private Integer notification() {
+                      return 1;
+                  }
+              }
+              """,
+            """
+              import org.junit.Test;
+
+              import static org.assertj.core.api.Assertions.assertThat;
+
+              public class MyTest {
+                  @Test
+                  public void test() {
+                      assertThat(notification()).isEqualTo(1);
+                      assertThat(notification()).isNotNull();
+                      assertThat(notification() > 0).isTrue();
+                  }
+                  private Integer notification() {
+                      return 1;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void nestedAssertionsAreLeftAlone() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import java.util.Arrays;
+
+              import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+              public class MyTest {
+                  public void test() {
+                      Arrays.asList("a", "b").forEach(s -> assertNotNull(s));
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.awaitility;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class SleepToAwaitTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion().classpath("junit-jupiter-api"))
+          .recipe(new SleepToAwait());
+    }
+
+    @Test
+    void sleepThenAssert() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.util.List;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              class ATest {
+                  @Test
+                  void test(List<String> events) throws InterruptedException {
+                      Thread.sleep(500);
+                      assertEquals(1, events.size());
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.time.Duration;
+              import java.util.List;
+
+              import static org.awaitility.Awaitility.await;
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              class ATest {
+                  @Test
+                  void test(List<String> events) throws InterruptedException {
+                      await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertEquals(1, events.size()));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void boundLeavesHeadroomOverTheSleep() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.util.List;
+              import java.util.concurrent.TimeUnit;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              class ATest {
+                  @Test
+                  void shortSleep(List<String> events) throws InterruptedException {
+                      Thread.sleep(20);
+                      assertEquals(1, events.size());
+                  }
+
+                  @Test
+                  void longSleep(List<String> events) throws InterruptedException {
+                      TimeUnit.SECONDS.sleep(30);
+                      assertEquals(1, events.size());
+                  }
+
+                  @Test
+                  void computedSleep(List<String> events, long delay) throws InterruptedException {
+                      Thread.sleep(delay);
+                      assertEquals(1, events.size());
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.time.Duration;
+              import java.util.List;
+
+              import static org.awaitility.Awaitility.await;
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              class ATest {
+                  @Test
+                  void shortSleep(List<String> events) throws InterruptedException {
+                      await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertEquals(1, events.size()));
+                  }
+
+                  @Test
+                  void longSleep(List<String> events) throws InterruptedException {
+                      await().atMost(Duration.ofMinutes(1)).untilAsserted(() -> assertEquals(1, events.size()));
+                  }
+
+                  @Test
+                  void computedSleep(List<String> events, long delay) throws InterruptedException {
+                      await().atMost(Duration.ofMillis(delay).multipliedBy(2).plusSeconds(10)).untilAsserted(() -> assertEquals(1, events.size()));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void markSleepsFollowedByAssertionsOfAbsence() {
+        //language=java
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion().classpath("junit-jupiter-api", "mockito")),
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.util.List;
+              import java.util.function.Consumer;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+              import static org.junit.jupiter.api.Assertions.assertFalse;
+              import static org.junit.jupiter.api.Assertions.assertNull;
+              import static org.junit.jupiter.api.Assertions.assertTrue;
+              import static org.mockito.ArgumentMatchers.any;
+              import static org.mockito.Mockito.never;
+              import static org.mockito.Mockito.verify;
+              import static org.mockito.Mockito.verifyNoInteractions;
+
+              class ATest {
+                  @Test
+                  void empty(List<String> events) throws InterruptedException {
+                      Thread.sleep(500);
+                      assertTrue(events.isEmpty());
+                  }
+
+                  @Test
+                  void notContained(List<String> events) throws InterruptedException {
+                      Thread.sleep(500);
+                      assertFalse(events.contains("started"));
+                  }
+
+                  @Test
+                  void nothingReturned(List<String> events) throws InterruptedException {
+                      Thread.sleep(500);
+                      assertNull(events.get(0));
+                  }
+
+                  @Test
+                  void noneCounted(List<String> events) throws InterruptedException {
+                      Thread.sleep(500);
+                      assertEquals(0, events.size());
+                  }
+
+                  @Test
+                  void neverCalled(Consumer<String> listener) throws InterruptedException {
+                      Thread.sleep(500);
+                      verify(listener, never()).accept(any());
+                  }
+
+                  @Test
+                  void notTouched(Consumer<String> listener) throws InterruptedException {
+                      Thread.sleep(500);
+                      verifyNoInteractions(listener);
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.util.List;
+              import java.util.function.Consumer;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+              import static org.junit.jupiter.api.Assertions.assertFalse;
+              import static org.junit.jupiter.api.Assertions.assertNull;
+              import static org.junit.jupiter.api.Assertions.assertTrue;
+              import static org.mockito.ArgumentMatchers.any;
+              import static org.mockito.Mockito.never;
+              import static org.mockito.Mockito.verify;
+              import static org.mockito.Mockito.verifyNoInteractions;
+
+              class ATest {
+                  @Test
+                  void empty(List<String> events) throws InterruptedException {
+                      /*~~(Followed by assertions that something did not happen, which would pass before it could happen)~~>*/Thread.sleep(500);
+                      assertTrue(events.isEmpty());
+                  }
+
+                  @Test
+                  void notContained(List<String> events) throws InterruptedException {
+                      /*~~(Followed by assertions that something did not happen, which would pass before it could happen)~~>*/Thread.sleep(500);
+                      assertFalse(events.contains("started"));
+                  }
+
+                  @Test
+                  void nothingReturned(List<String> events) throws InterruptedException {
+                      /*~~(Followed by assertions that something did not happen, which would pass before it could happen)~~>*/Thread.sleep(500);
+                      assertNull(events.get(0));
+                  }
+
+                  @Test
+                  void noneCounted(List<String> events) throws InterruptedException {
+                      /*~~(Followed by assertions that something did not happen, which would pass before it could happen)~~>*/Thread.sleep(500);
+                      assertEquals(0, events.size());
+                  }
+
+                  @Test
+                  void neverCalled(Consumer<String> listener) throws InterruptedException {
+                      /*~~(Followed by assertions that something did not happen, which would pass before it could happen)~~>*/Thread.sleep(500);
+                      verify(listener, never()).accept(any());
+                  }
+
+                  @Test
+                  void notTouched(Consumer<String> listener) throws InterruptedException {
+                      /*~~(Followed by assertions that something did not happen, which would pass before it could happen)~~>*/Thread.sleep(500);
+                      verifyNoInteractions(listener);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void sleepInLoop() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.util.List;
+
+              class ATest {
+                  @Test
+                  void test(List<String> events) throws InterruptedException {
+                      while (events.isEmpty()) {
+                          Thread.sleep(100);
+                      }
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.time.Duration;
+              import java.util.List;
+
+              import static org.awaitility.Awaitility.await;
+
+              class ATest {
+                  @Test
+                  void test(List<String> events) throws InterruptedException {
+                      await().forever().pollInterval(Duration.ofMillis(100)).until(() -> !(events.isEmpty()));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void markSleepsThatCanNotBeConverted() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.util.List;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              class ATest {
+                  @Test
+                  void test(List<String> events) throws InterruptedException {
+                      int expected = 0;
+                      expected++;
+                      Thread.sleep(500);
+                      assertEquals(expected, events.size());
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.util.List;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              class ATest {
+                  @Test
+                  void test(List<String> events) throws InterruptedException {
+                      int expected = 0;
+                      expected++;
+                      /*~~(Not followed by assertions on local variables that are effectively final)~~>*/Thread.sleep(500);
+                      assertEquals(expected, events.size());
+                  }
+              }
+              """
+          )
+        );
+    }
+}
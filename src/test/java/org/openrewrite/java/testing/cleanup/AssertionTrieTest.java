@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.cleanup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AssertionTrieTest {
+    private final AssertionTrie trie = AssertionTrie.of(Arrays.asList(
+      "org.assertj.core.api",
+      "org.mockito.Mockito.verify",
+      "mockit",
+      " org.foo.TestUtil",
+      "org.foo.Outer.Inner",
+      ""
+    ));
+
+    @Test
+    void matchesPackagesOnSegmentBoundaries() {
+        assertThat(trie.matches("org.assertj.core.api.Assertions", "assertThat")).isTrue();
+        assertThat(trie.matches("org.assertj.core.api.list.ListAssert", "hasSize")).isTrue();
+        assertThat(trie.matches("org.assertj.core.apix.Assertions", "assertThat")).isFalse();
+        assertThat(trie.matches("mockit.Verifications", "times")).isTrue();
+        assertThat(trie.matches("mockito.Verifications", "times")).isFalse();
+    }
+
+    @Test
+    void matchesClassesAndMethods() {
+        assertThat(trie.matches("org.foo.TestUtil", "check")).isTrue();
+        assertThat(trie.matches("org.foo.TestUtilities", "check")).isFalse();
+        assertThat(trie.matches("org.mockito.Mockito", "verify")).isTrue();
+        assertThat(trie.matches("org.mockito.Mockito", "verifyNoInteractions")).isFalse();
+        assertThat(trie.matches("org.mockito.Mockito", "mock")).isFalse();
+    }
+
+    @Test
+    void matchesNestedClassesWrittenEitherWay() {
+        assertThat(trie.matches("org.foo.Outer$Inner", "check")).isTrue();
+        assertThat(trie.matches("org.foo.Outer", "check")).isFalse();
+    }
+}
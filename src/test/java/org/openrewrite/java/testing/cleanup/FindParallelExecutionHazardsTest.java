@@ -0,0 +1,201 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.cleanup;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.testing.cleanup.FindParallelExecutionHazards.Hazard;
+import org.openrewrite.java.testing.cleanup.FindParallelExecutionHazards.Severity;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class FindParallelExecutionHazardsTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion().classpath("junit-jupiter-api"))
+          .recipe(new FindParallelExecutionHazards());
+    }
+
+    @Test
+    void findSharedState() {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> {
+            throw new IllegalStateException(t);
+        });
+        //language=java
+        rewriteRun(
+          spec -> spec.executionContext(ctx),
+          java(
+            """
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+
+              import java.io.File;
+              import java.net.ServerSocket;
+
+              class ATest {
+                  private static int counter;
+                  private static final int LIMIT = 3;
+                  private int instanceCounter;
+
+                  @BeforeEach
+                  void setUp() {
+                      counter = 0;
+                      instanceCounter = LIMIT;
+                      System.setProperty("mode", "test");
+                  }
+
+                  @Test
+                  void test() throws Exception {
+                      counter++;
+                      new ServerSocket(8080);
+                      new ServerSocket(0);
+                      new File("/tmp/data.txt");
+                      new File("data.txt");
+                  }
+
+                  void helper() {
+                      counter = 1;
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+
+              import java.io.File;
+              import java.net.ServerSocket;
+
+              class ATest {
+                  private static int counter;
+                  private static final int LIMIT = 3;
+                  private int instanceCounter;
+
+                  @BeforeEach
+                  void setUp() {
+                      /*~~(HIGH: Writes the non-final static field `counter`)~~>*/counter = 0;
+                      instanceCounter = LIMIT;
+                      /*~~(HIGH: Sets a system property)~~>*/System.setProperty("mode", "test");
+                  }
+
+                  @Test
+                  void test() throws Exception {
+                      /*~~(HIGH: Writes the non-final static field `counter`)~~>*/counter++;
+                      /*~~(LOW: Uses the fixed port 8080)~~>*/new ServerSocket(8080);
+                      new ServerSocket(0);
+                      /*~~(LOW: Uses the fixed path /tmp/data.txt)~~>*/new File("/tmp/data.txt");
+                      new File("data.txt");
+                  }
+
+                  void helper() {
+                      counter = 1;
+                  }
+              }
+              """
+          )
+        );
+        assertThat(FindParallelExecutionHazards.hazards(ctx)).containsExactlyInAnyOrder(
+          new Hazard("ATest.java", "ATest", "setUp", Severity.HIGH, "Writes the non-final static field `counter`"),
+          new Hazard("ATest.java", "ATest", "setUp", Severity.HIGH, "Sets a system property"),
+          new Hazard("ATest.java", "ATest", "test", Severity.HIGH, "Writes the non-final static field `counter`"),
+          new Hazard("ATest.java", "ATest", "test", Severity.LOW, "Uses the fixed port 8080"),
+          new Hazard("ATest.java", "ATest", "test", Severity.LOW, "Uses the fixed path /tmp/data.txt")
+        );
+    }
+
+    @Test
+    void singletonMutatedBeforeEachAndFixedResourceInField() {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> {
+            throw new IllegalStateException(t);
+        });
+        //language=java
+        rewriteRun(
+          spec -> spec.executionContext(ctx),
+          java(
+            """
+              package com.example;
+
+              public class Registry {
+                  private static final Registry INSTANCE = new Registry();
+
+                  public static Registry getInstance() {
+                      return INSTANCE;
+                  }
+
+                  public void register(String name) {
+                  }
+              }
+              """
+          ),
+          java(
+            """
+              package com.example;
+
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+
+              import java.io.File;
+
+              class BTest {
+                  private final File data = new File("/var/data.txt");
+
+                  @BeforeEach
+                  void setUp() {
+                      Registry.getInstance().register("b");
+                  }
+
+                  @Test
+                  void test() {
+                      Registry.getInstance().register("c");
+                  }
+              }
+              """,
+            """
+              package com.example;
+
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+
+              import java.io.File;
+
+              class BTest {
+                  private final File data = /*~~(LOW: Uses the fixed path /var/data.txt)~~>*/new File("/var/data.txt");
+
+                  @BeforeEach
+                  void setUp() {
+                      /*~~(MEDIUM: Mutates a singleton with `register`)~~>*/Registry.getInstance().register("b");
+                  }
+
+                  @Test
+                  void test() {
+                      Registry.getInstance().register("c");
+                  }
+              }
+              """
+          )
+        );
+        assertThat(FindParallelExecutionHazards.hazards(ctx)).containsExactlyInAnyOrder(
+          new Hazard("com/example/BTest.java", "com.example.BTest", "data", Severity.LOW, "Uses the fixed path /var/data.txt"),
+          new Hazard("com/example/BTest.java", "com.example.BTest", "setUp", Severity.MEDIUM, "Mutates a singleton with `register`")
+        );
+    }
+}
@@ -262,4 +262,84 @@ class RemoveTestPrefixTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void renamedMethodsCollide() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              class ATest {
+                  @Test
+                  void testMethod() {
+                  }
+
+                  @Test
+                  void test_method() {
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              class ATest {
+                  @Test
+                  void method() {
+                  }
+
+                  @Test
+                  void test_method() {
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void renameInAnonymousClass() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              class ATest {
+                  Object tests = new Object() {
+                      @Test
+                      void testInside() {
+                      }
+
+                      @Test
+                      void testTaken() {
+                      }
+
+                      void taken() {
+                      }
+                  };
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              class ATest {
+                  Object tests = new Object() {
+                      @Test
+                      void inside() {
+                      }
+
+                      @Test
+                      void testTaken() {
+                      }
+
+                      void taken() {
+                      }
+                  };
+              }
+              """
+          )
+        );
+    }
 }
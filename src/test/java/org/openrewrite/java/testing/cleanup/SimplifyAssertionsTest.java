@@ -0,0 +1,312 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.cleanup;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Recipe;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+import org.openrewrite.test.SourceSpecs;
+
+import static org.openrewrite.java.Assertions.java;
+
+/**
+ * Every case runs both through {@link SimplifyAssertions} and through the individual recipes chained in their
+ * original order, and both have to produce exactly the same source.
+ */
+@SuppressWarnings({"SimplifiableAssertion", "ConstantConditions", "ObviousNullCheck", "EqualsWithItself"})
+class SimplifyAssertionsTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.parser(JavaParser.fromJavaVersion().classpath("junit-jupiter-api", "testng"));
+    }
+
+    private static Recipe chained() {
+        return new Recipe() {
+            @Override
+            public String getDisplayName() {
+                return "Chained assertion cleanup";
+            }
+        }
+          .doNext(new AssertTrueNegationToAssertFalse())
+          .doNext(new AssertFalseNegationToAssertTrue())
+          .doNext(new AssertTrueEqualsToAssertEquals())
+          .doNext(new AssertTrueComparisonToAssertEquals())
+          .doNext(new AssertFalseEqualsToAssertNotEquals())
+          .doNext(new AssertEqualsNullToAssertNull())
+          .doNext(new AssertFalseNullToAssertNotNull())
+          .doNext(new AssertionsArgumentOrder());
+    }
+
+    private void rewriteRunBoth(SourceSpecs sourceSpecs) {
+        rewriteRun(spec -> spec.recipe(chained()), sourceSpecs);
+        rewriteRun(spec -> spec.recipe(new SimplifyAssertions()), sourceSpecs);
+    }
+
+    @Test
+    void negationWithStaticImports() {
+        //language=java
+        rewriteRunBoth(
+          java(
+            """
+              import static org.junit.jupiter.api.Assertions.assertTrue;
+
+              public class Test {
+                  void test() {
+                      boolean a = false;
+                      assertTrue(!a);
+                      assertTrue(!a, "message");
+                  }
+              }
+              """,
+            """
+              import static org.junit.jupiter.api.Assertions.assertFalse;
+
+              public class Test {
+                  void test() {
+                      boolean a = false;
+                      assertFalse(a);
+                      assertFalse(a, "message");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void negationWithQualifiedAssertions() {
+        //language=java
+        rewriteRunBoth(
+          java(
+            """
+              import org.junit.jupiter.api.Assertions;
+
+              public class Test {
+                  void test() {
+                      boolean a = false;
+                      Assertions.assertTrue(!a);
+                      Assertions.assertTrue(!a, "message");
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Assertions;
+
+              public class Test {
+                  void test() {
+                      boolean a = false;
+                      Assertions.assertFalse(a);
+                      Assertions.assertFalse(a, "message");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void comparisonWithNullCascadesToAssertNull() {
+        //language=java
+        rewriteRunBoth(
+          java(
+            """
+              import org.junit.jupiter.api.Assertions;
+              import org.junit.jupiter.api.Test;
+
+              class ExampleTest {
+                  @Test
+                  void test() {
+                      Assertions.assertTrue("" == null);
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Assertions;
+              import org.junit.jupiter.api.Test;
+
+              class ExampleTest {
+                  @Test
+                  void test() {
+                      Assertions.assertNull("");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void negatedEqualsCascadesToAssertEquals() {
+        //language=java
+        rewriteRunBoth(
+          java(
+            """
+              import org.junit.jupiter.api.Assertions;
+              import org.junit.jupiter.api.Test;
+
+              class ExampleTest {
+                  @Test
+                  void test() {
+                      Assertions.assertFalse(!"".equals(""));
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Assertions;
+              import org.junit.jupiter.api.Test;
+
+              class ExampleTest {
+                  @Test
+                  void test() {
+                      Assertions.assertEquals("", "");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void negatedEqualsNullCascadesToAssertNull() {
+        //language=java
+        rewriteRunBoth(
+          java(
+            """
+              import org.junit.jupiter.api.Assertions;
+              import org.junit.jupiter.api.Test;
+
+              class ExampleTest {
+                  @Test
+                  void test() {
+                      Assertions.assertFalse(!"".equals(null));
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Assertions;
+              import org.junit.jupiter.api.Test;
+
+              class ExampleTest {
+                  @Test
+                  void test() {
+                      Assertions.assertNull("");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void jupiterArgumentOrder() {
+        //language=java
+        rewriteRunBoth(
+          java(
+            """
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              class MyTest {
+                  void someMethod() {
+                      assertEquals(result(), "result");
+                      assertEquals(result(), "result", "message");
+                      assertEquals(0L, 1L);
+                  }
+                  String result() {
+                      return "result";
+                  }
+              }
+              """,
+            """
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              class MyTest {
+                  void someMethod() {
+                      assertEquals("result", result());
+                      assertEquals("result", result(), "message");
+                      assertEquals(0L, 1L);
+                  }
+                  String result() {
+                      return "result";
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void testNgArgumentOrder() {
+        //language=java
+        rewriteRunBoth(
+          java(
+            """
+              import static org.testng.Assert.assertEquals;
+
+              class MyTest {
+                  void someTest() {
+                      assertEquals("abc", someString());
+                      assertEquals("abc", someString(), "message");
+                  }
+                  String someString() {
+                      return null;
+                  }
+              }
+              """,
+            """
+              import static org.testng.Assert.assertEquals;
+
+              class MyTest {
+                  void someTest() {
+                      assertEquals(someString(), "abc");
+                      assertEquals(someString(), "abc", "message");
+                  }
+                  String someString() {
+                      return null;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void alreadySimpleAssertionsAreLeftAlone() {
+        //language=java
+        rewriteRunBoth(
+          java(
+            """
+              import static org.junit.jupiter.api.Assertions.*;
+
+              class MyTest {
+                  void someTest() {
+                      boolean a = true;
+                      assertTrue(a);
+                      assertFalse(a, "message");
+                      assertEquals("abc", someString());
+                      assertNotNull(someString());
+                  }
+                  String someString() {
+                      return "abc";
+                  }
+              }
+              """
+          )
+        );
+    }
+}
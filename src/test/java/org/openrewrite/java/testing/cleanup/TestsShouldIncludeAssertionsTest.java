@@ -204,6 +204,105 @@ class TestsShouldIncludeAssertionsTest implements RewriteTest {
         );
     }
 
+    @Test
+    void assertionReachedThroughSeveralHelpers() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import java.util.Set;
+              import org.junit.jupiter.api.Test;
+
+              import static org.junit.Assert.assertTrue;
+
+              public class TestClass {
+                  @Test
+                  public void methodTest() {
+                      check(Set.of("hello"), 3);
+                  }
+
+                  private void check(Set<String> set, int depth) {
+                      if (depth > 0) {
+                          check(set, depth - 1);
+                      } else {
+                          testContains(set, "hello");
+                      }
+                  }
+
+                  private static void testContains(Set<String> set, String word) {
+                      assertTrue(set.contains(word));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @SuppressWarnings("CodeBlock2Expr")
+    @Test
+    void helperAssertionOnlyCountsForTestsCallingIt() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import java.util.Set;
+              import org.junit.jupiter.api.Test;
+
+              import static org.junit.Assert.assertTrue;
+
+              public class TestClass {
+                  @Test
+                  public void doesNotChange() {
+                      testContains(Set.of("hello"), "hello");
+                  }
+
+                  @Test
+                  public void changes() {
+                      log(Set.of("hello"));
+                  }
+
+                  private void log(Set<String> set) {
+                      System.out.println(set);
+                  }
+
+                  private static void testContains(Set<String> set, String word) {
+                      assertTrue(set.contains(word));
+                  }
+              }
+              """,
+            """
+              import java.util.Set;
+              import org.junit.jupiter.api.Test;
+
+              import static org.junit.Assert.assertTrue;
+              import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+
+              public class TestClass {
+                  @Test
+                  public void doesNotChange() {
+                      testContains(Set.of("hello"), "hello");
+                  }
+
+                  @Test
+                  public void changes() {
+                      assertDoesNotThrow(() -> {
+                          log(Set.of("hello"));
+                      });
+                  }
+
+                  private void log(Set<String> set) {
+                      System.out.println(set);
+                  }
+
+                  private static void testContains(Set<String> set, String word) {
+                      assertTrue(set.contains(word));
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @SuppressWarnings("CodeBlock2Expr")
     @Issue("https://github.com/openrewrite/rewrite-testing-frameworks/issues/201")
     @Test
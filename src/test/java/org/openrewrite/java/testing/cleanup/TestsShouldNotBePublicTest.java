@@ -428,4 +428,33 @@ class TestsShouldNotBePublicTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void removePublicTestTemplateModifier() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.TestTemplate;
+
+              class ATest {
+
+                  @TestTemplate
+                  public void testTemplate() {
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.TestTemplate;
+
+              class ATest {
+
+                  @TestTemplate
+                  void testTemplate() {
+                  }
+              }
+              """
+          )
+        );
+    }
 }
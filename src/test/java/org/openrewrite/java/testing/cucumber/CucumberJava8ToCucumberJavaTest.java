@@ -696,4 +696,301 @@ class CucumberJava8ToCucumberJavaTest implements RewriteTest {
             );
         }
     }
+
+    @Nested
+    class ClassMigration {
+        @Test
+        void severalStepsOfOneClass() {
+            rewriteRun(
+              version(
+                //language=java
+                java(
+                  """
+                    package com.example.app;
+
+                    import io.cucumber.java8.En;
+
+                    import static org.junit.jupiter.api.Assertions.assertEquals;
+
+                    public class CakeStepDefinitions implements En {
+                        private int cakes;
+
+                        public CakeStepDefinitions() {
+                            Given("no cakes", () -> {
+                                cakes = 0;
+                            });
+                            Given("{int} cakes", (Integer i) -> {
+                                cakes = i;
+                            });
+                            When("I eat {int}", (Integer j) -> cakes -= j);
+                            Then("{int} cakes are left", (Integer k) -> assertEquals(k.intValue(), cakes));
+                        }
+                    }
+                    """,
+                  """
+                    package com.example.app;
+
+                    import io.cucumber.java.en.Given;
+                    import io.cucumber.java.en.Then;
+                    import io.cucumber.java.en.When;
+
+                    import static org.junit.jupiter.api.Assertions.assertEquals;
+
+                    public class CakeStepDefinitions {
+                        private int cakes;
+
+                        @Given("no cakes")
+                        public void no_cakes() {
+                            cakes = 0;
+                        }
+
+                        @Given("{int} cakes")
+                        public void int_cakes(Integer i) {
+                            cakes = i;
+                        }
+
+                        @When("I eat {int}")
+                        public void i_eat_int(Integer j) {
+                            cakes -= j;
+                        }
+
+                        @Then("{int} cakes are left")
+                        public void int_cakes_are_left(Integer k) {
+                            assertEquals(k.intValue(), cakes);
+                        }
+                    }
+                    """
+                ),
+                17
+              )
+            );
+        }
+
+        @SuppressWarnings("CodeBlock2Expr")
+        @Test
+        void hooksInterleavedWithSteps() {
+            rewriteRun(
+              version(
+                //language=java
+                java(
+                  """
+                    package com.example.app;
+
+                    import io.cucumber.java8.En;
+
+                    public class MixedDefinitions implements En {
+
+                        private int a;
+
+                        public MixedDefinitions() {
+                            Given("{int} cakes", (Integer i) -> {
+                                a = i;
+                            });
+                            Before(1, () -> {
+                                a = 0;
+                            });
+                            When("I eat {int}", (Integer j) -> a -= j);
+                            AfterStep(scn -> {
+                                a = 0;
+                            });
+
+                        }
+
+                    }
+                    """,
+                  """
+                    package com.example.app;
+
+                    import io.cucumber.java.AfterStep;
+                    import io.cucumber.java.Before;
+                    import io.cucumber.java.en.Given;
+                    import io.cucumber.java.en.When;
+
+                    public class MixedDefinitions {
+
+                        private int a;
+
+                        @Before(order = 1)
+                        public void before_order_1() {
+                            a = 0;
+                        }
+
+                        @AfterStep
+                        public void afterStep(io.cucumber.java.Scenario scn) {
+                            a = 0;
+                        }
+
+                        @Given("{int} cakes")
+                        public void int_cakes(Integer i) {
+                            a = i;
+                        }
+
+                        @When("I eat {int}")
+                        public void i_eat_int(Integer j) {
+                            a -= j;
+                        }
+
+                    }
+                    """
+                ),
+                17
+              )
+            );
+        }
+
+        @SuppressWarnings("CodeBlock2Expr")
+        @Test
+        void keepConstructorWithOtherStatements() {
+            rewriteRun(
+              version(
+                //language=java
+                java(
+                  """
+                    package com.example.app;
+
+                    import io.cucumber.java8.En;
+
+                    public class CakeStepDefinitions implements En {
+                        private int cakes;
+
+                        public CakeStepDefinitions() {
+                            cakes = 1;
+                            Given("{int} cakes", (Integer i) -> {
+                                cakes = i;
+                            });
+                        }
+                    }
+                    """,
+                  """
+                    package com.example.app;
+
+                    import io.cucumber.java.en.Given;
+
+                    public class CakeStepDefinitions {
+                        private int cakes;
+
+                        public CakeStepDefinitions() {
+                            cakes = 1;
+                        }
+
+                        @Given("{int} cakes")
+                        public void int_cakes(Integer i) {
+                            cakes = i;
+                        }
+                    }
+                    """
+                ),
+                17
+              )
+            );
+        }
+
+        @SuppressWarnings("CodeBlock2Expr")
+        @Test
+        void migrateEveryClassOfTheFile() {
+            rewriteRun(
+              version(
+                //language=java
+                java(
+                  """
+                    package com.example.app;
+
+                    import io.cucumber.java8.En;
+
+                    public class OuterStepDefinitions implements En {
+                        private int a;
+
+                        public OuterStepDefinitions() {
+                            Given("outer {int}", (Integer i) -> {
+                                a = i;
+                            });
+                        }
+
+                        public static class InnerStepDefinitions implements En {
+                            private int b;
+
+                            public InnerStepDefinitions() {
+                                Given("inner {int}", (Integer j) -> {
+                                    b = j;
+                                });
+                            }
+                        }
+                    }
+                    """,
+                  """
+                    package com.example.app;
+
+                    import io.cucumber.java.en.Given;
+
+                    public class OuterStepDefinitions {
+                        private int a;
+
+                        @Given("outer {int}")
+                        public void outer_int(Integer i) {
+                            a = i;
+                        }
+
+                        public static class InnerStepDefinitions {
+                            private int b;
+
+                            @Given("inner {int}")
+                            public void inner_int(Integer j) {
+                                b = j;
+                            }
+                        }
+                    }
+                    """
+                ),
+                17
+              )
+            );
+        }
+
+        @Test
+        void noCleanupWithoutMigratedLambdas() {
+            // RemoveUnneededBlock and UnnecessaryThrows only follow a migration
+            rewriteRun(
+              version(
+                //language=java
+                java(
+                  """
+                    package com.example.app;
+
+                    import io.cucumber.java8.En;
+
+                    public class CalculatorStepDefinitions implements En {
+                        public CalculatorStepDefinitions() {
+                            Given("{int} plus {int}", Integer::sum);
+                        }
+
+                        private void connect() throws Exception {
+                            {
+                                System.out.println("connect");
+                            }
+                        }
+                    }
+                    """,
+                  """
+                    package com.example.app;
+
+                    import io.cucumber.java.En;
+
+                    public class CalculatorStepDefinitions implements En {
+                        public CalculatorStepDefinitions() {
+                            /*~~(TODO Migrate manually)~~>*/Given("{int} plus {int}", Integer::sum);
+                        }
+
+                        private void connect() throws Exception {
+                            {
+                                System.out.println("connect");
+                            }
+                        }
+                    }
+                    """
+                ),
+                17
+              )
+            );
+        }
+    }
 }
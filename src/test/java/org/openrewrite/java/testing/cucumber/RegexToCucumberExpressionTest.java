@@ -94,7 +94,7 @@ class RegexToCucumberExpressionTest implements RewriteTest {
                         a = 5;
                     }
 
-                    @Then("^I expect (\\\\d+)$")
+                    @Then("I expect {int}")
                     public void i_expect_int(Integer c) {
                         assertEquals(c, a);
                     }
@@ -183,37 +183,49 @@ class RegexToCucumberExpressionTest implements RewriteTest {
               17));
         }
 
-    }
-
-    @Nested
-    @DisplayName("should not convert")
-    class ShouldNotConvert {
-
         @Test
-        void unrecognized_capturing_groups() {
+        void integer_matchers() {
             rewriteRun(version(java("""
                 package com.example.app;
 
                 import io.cucumber.java.en.Given;
 
                 public class ExpressionDefinitions {
-                    @Given("^some (foo|bar)$")
-                    public void five_cukes(String fooOrBar) {
+                    @Given("^(\\\\d+) cukes$")
+                    public void int_cukes(int cukes) {
+                    }
+                }""", """
+                package com.example.app;
+
+                import io.cucumber.java.en.Given;
+
+                public class ExpressionDefinitions {
+                    @Given("{int} cukes")
+                    public void int_cukes(int cukes) {
                     }
                 }"""),
               17));
         }
 
         @Test
-        void integer_matchers() {
+        void string_and_anonymous_matchers() {
             rewriteRun(version(java("""
                 package com.example.app;
 
                 import io.cucumber.java.en.Given;
 
                 public class ExpressionDefinitions {
-                    @Given("^(\\\\d+) cukes$")
-                    public void int_cukes(int cukes) {
+                    @Given("^I say \\"([^\\"]*)\\" to (.*)$")
+                    public void say(String words, String whom) {
+                    }
+                }""", """
+                package com.example.app;
+
+                import io.cucumber.java.en.Given;
+
+                public class ExpressionDefinitions {
+                    @Given("I say {string} to {}")
+                    public void say(String words, String whom) {
                     }
                 }"""),
               17));
@@ -230,6 +242,51 @@ class RegexToCucumberExpressionTest implements RewriteTest {
                     @Given("^cukes?$")
                     public void cukes() {
                     }
+                }""", """
+                package com.example.app;
+
+                import io.cucumber.java.en.Given;
+
+                public class ExpressionDefinitions {
+                    @Given("cuke(s)")
+                    public void cukes() {
+                    }
+                }"""),
+              17));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("should not convert")
+    class ShouldNotConvert {
+
+        @Test
+        void unrecognized_capturing_groups() {
+            rewriteRun(version(java("""
+                package com.example.app;
+
+                import io.cucumber.java.en.Given;
+
+                public class ExpressionDefinitions {
+                    @Given("^some (foo|bar)$")
+                    public void five_cukes(String fooOrBar) {
+                    }
+                }"""),
+              17));
+        }
+
+        @Test
+        void integer_matchers_with_mismatched_parameter() {
+            rewriteRun(version(java("""
+                package com.example.app;
+
+                import io.cucumber.java.en.Given;
+
+                public class ExpressionDefinitions {
+                    @Given("^(\\\\d+) cukes$")
+                    public void int_cukes(String cukes) {
+                    }
                 }"""),
               17));
         }
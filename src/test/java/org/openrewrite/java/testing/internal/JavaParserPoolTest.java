@@ -0,0 +1,52 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.JavaParser;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JavaParserPoolTest {
+
+    @Test
+    void supplierKeepsOneParserPerThread() throws InterruptedException {
+        Supplier<JavaParser> parser = JavaParserPool.stubs("package a; public class SupplierStub {}");
+        JavaParser leased = parser.get();
+        assertThat(parser.get()).isSameAs(leased);
+
+        AtomicReference<JavaParser> otherThread = new AtomicReference<>();
+        Thread thread = new Thread(() -> otherThread.set(parser.get()));
+        thread.start();
+        thread.join();
+        assertThat(otherThread.get()).isNotNull().isNotSameAs(leased);
+    }
+
+    @Test
+    void releasedParserIsBorrowedAgain() {
+        JavaParserPool.Key key = new JavaParserPool.Key(Collections.emptyList(),
+          Collections.singletonList("package a; public class BorrowStub {}"));
+        JavaParser borrowed = JavaParserPool.borrow(key);
+        assertThat(JavaParserPool.borrow(key)).isNotSameAs(borrowed);
+
+        JavaParserPool.release(key, borrowed);
+        assertThat(JavaParserPool.borrow(key)).isSameAs(borrowed);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeReferenceIndexTest {
+
+    //language=java
+    private static final String SOURCE = "" +
+      "import org.junit.jupiter.api.Test;\n" +
+      "import static org.junit.jupiter.api.Assertions.assertEquals;\n" +
+      "\n" +
+      "class ExampleTest {\n" +
+      "    @Test\n" +
+      "    void test() {\n" +
+      "        assertEquals(new StringBuilder(\"a\").toString(), \"a\");\n" +
+      "    }\n" +
+      "}\n";
+
+    private static J.CompilationUnit parse() {
+        return JavaParser.fromJavaVersion()
+          .classpath("junit-jupiter-api")
+          .build()
+          .parse(new InMemoryExecutionContext(), SOURCE)
+          .get(0);
+    }
+
+    @Test
+    void indexesTypesAndMethods() {
+        TypeReferenceIndex index = TypeReferenceIndex.of(parse());
+        assertThat(index.referencesType("org.junit.jupiter.api.Test")).isTrue();
+        assertThat(index.referencesType("java.lang.StringBuilder")).isTrue();
+        assertThat(index.referencesType("org.junit.jupiter.api.Nested")).isFalse();
+        assertThat(index.referencesMethod(TypeReferenceIndex.methodKey("org.junit.jupiter.api.Assertions", "assertEquals"))).isTrue();
+        assertThat(index.referencesMethod(TypeReferenceIndex.methodKey("java.lang.StringBuilder", "toString"))).isTrue();
+        assertThat(index.referencesAnyMethod(Collections.singleton(
+          TypeReferenceIndex.methodKey("org.junit.jupiter.api.Assertions", "assertSame")))).isFalse();
+    }
+
+    @Test
+    void memoizedPerCompilationUnitInstance() {
+        J.CompilationUnit cu = parse();
+        TypeReferenceIndex index = TypeReferenceIndex.of(cu);
+        assertThat(TypeReferenceIndex.of(cu)).isSameAs(index);
+
+        J.CompilationUnit changed = cu.withClasses(Collections.emptyList());
+        TypeReferenceIndex changedIndex = TypeReferenceIndex.of(changed);
+        assertThat(changedIndex).isNotSameAs(index);
+        assertThat(changedIndex.referencesType("java.lang.StringBuilder")).isFalse();
+    }
+}
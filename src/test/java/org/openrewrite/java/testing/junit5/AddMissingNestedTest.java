@@ -115,6 +115,42 @@ class AddMissingNestedTest implements RewriteTest {
         );
     }
 
+    @Test
+    void annotatesClassesEnclosingNestedTests() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+              
+              public class RootTest {
+                  public class InnerTest {
+                      public class InnermostTest {
+                          @Test
+                          public void test() {}
+                      }
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Nested;
+              import org.junit.jupiter.api.Test;
+              
+              public class RootTest {
+                  @Nested
+                  public class InnerTest {
+                      @Nested
+                      public class InnermostTest {
+                          @Test
+                          public void test() {}
+                      }
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void doesNotAnnotationNonTestInnerClass() {
         //language=java
@@ -0,0 +1,543 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.junit5;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class BeforeEachToBeforeAllTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion().classpath("junit-jupiter-api", "junit", "mockito-all"))
+          .recipe(new BeforeEachToBeforeAll());
+    }
+
+    @Test
+    void promoteFixtureSetup() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+
+              import java.text.SimpleDateFormat;
+
+              class ATest {
+                  private SimpleDateFormat format;
+
+                  @BeforeEach
+                  void setUp() {
+                      format = new SimpleDateFormat("yyyy-MM-dd");
+                      format.setLenient(false);
+                  }
+
+                  @Test
+                  void parse() throws Exception {
+                      format.parse("2021-01-01");
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.BeforeAll;
+              import org.junit.jupiter.api.Test;
+              import org.junit.jupiter.api.TestInstance;
+
+              import java.text.SimpleDateFormat;
+
+              @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+              class ATest {
+                  private SimpleDateFormat format;
+
+                  @BeforeAll
+                  void setUp() {
+                      format = new SimpleDateFormat("yyyy-MM-dd");
+                      format.setLenient(false);
+                  }
+
+                  @Test
+                  void parse() throws Exception {
+                      format.parse("2021-01-01");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepSetupOfMutatedFixtures() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+
+              import java.util.ArrayList;
+              import java.util.List;
+
+              class ATest {
+                  private List<String> names;
+
+                  @BeforeEach
+                  void setUp() {
+                      names = new ArrayList<>();
+                  }
+
+                  @Test
+                  void add() {
+                      names.add("a");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepSetupWhenOtherFieldsAreMutated() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+
+              import java.text.SimpleDateFormat;
+              import java.util.ArrayList;
+              import java.util.List;
+
+              class ATest {
+                  private final List<String> seen = new ArrayList<>();
+                  private SimpleDateFormat format;
+                  private String input;
+
+                  @BeforeEach
+                  void setUp() {
+                      format = new SimpleDateFormat("yyyy-MM-dd");
+                  }
+
+                  @BeforeEach
+                  void setUpInput() {
+                      input = "2021-01-01";
+                      seen.clear();
+                  }
+
+                  @Test
+                  void parse() throws Exception {
+                      seen.add(input);
+                      format.parse(input);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepSetupWithMockField() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+              import org.mockito.Mock;
+
+              import java.text.SimpleDateFormat;
+
+              class ATest {
+                  @Mock
+                  private Runnable callback;
+
+                  private SimpleDateFormat format;
+
+                  @BeforeEach
+                  void setUp() {
+                      format = new SimpleDateFormat("yyyy-MM-dd");
+                  }
+
+                  @Test
+                  void parse() throws Exception {
+                      format.parse("2021-01-01");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepSetupWithTempDirField() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+              import org.junit.jupiter.api.io.TempDir;
+
+              import java.text.SimpleDateFormat;
+
+              class ATest {
+                  @TempDir
+                  java.nio.file.Path directory;
+
+                  private SimpleDateFormat format;
+
+                  @BeforeEach
+                  void setUp() {
+                      format = new SimpleDateFormat("yyyy-MM-dd");
+                  }
+
+                  @Test
+                  void parse() throws Exception {
+                      format.parse("2021-01-01");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepSetupWithRegisteredExtension() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+              import org.junit.jupiter.api.extension.BeforeEachCallback;
+              import org.junit.jupiter.api.extension.RegisterExtension;
+
+              import java.text.SimpleDateFormat;
+
+              class ATest {
+                  @RegisterExtension
+                  BeforeEachCallback callback = context -> {
+                  };
+
+                  private SimpleDateFormat format;
+
+                  @BeforeEach
+                  void setUp() {
+                      format = new SimpleDateFormat("yyyy-MM-dd");
+                  }
+
+                  @Test
+                  void parse() throws Exception {
+                      format.parse("2021-01-01");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepSetupOfExtendedWithClass() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+              import org.junit.jupiter.api.extension.ExtendWith;
+              import org.junit.jupiter.api.extension.Extension;
+
+              import java.text.SimpleDateFormat;
+
+              @ExtendWith(Extension.class)
+              class ATest {
+                  private SimpleDateFormat format;
+
+                  @BeforeEach
+                  void setUp() {
+                      format = new SimpleDateFormat("yyyy-MM-dd");
+                  }
+
+                  @Test
+                  void parse() throws Exception {
+                      format.parse("2021-01-01");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepSetupOfClassRunWithRunner() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+              import org.junit.runner.RunWith;
+              import org.junit.runners.JUnit4;
+
+              import java.text.SimpleDateFormat;
+
+              @RunWith(JUnit4.class)
+              class ATest {
+                  private SimpleDateFormat format;
+
+                  @BeforeEach
+                  void setUp() {
+                      format = new SimpleDateFormat("yyyy-MM-dd");
+                  }
+
+                  @Test
+                  void parse() throws Exception {
+                      format.parse("2021-01-01");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepSetupOfExtendedClass() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+
+              import java.text.SimpleDateFormat;
+
+              class ATest {
+                  protected SimpleDateFormat format;
+
+                  @BeforeEach
+                  void setUp() {
+                      format = new SimpleDateFormat("yyyy-MM-dd");
+                  }
+
+                  @Test
+                  void parse() throws Exception {
+                      format.parse("2021-01-01");
+                  }
+              }
+              """
+          ),
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              class BTest extends ATest {
+                  @Test
+                  void format() {
+                      format.format(new java.util.Date());
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepSetupOfAbstractClass() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+
+              import java.text.SimpleDateFormat;
+
+              abstract class ATest {
+                  protected SimpleDateFormat format;
+
+                  @BeforeEach
+                  void setUp() {
+                      format = new SimpleDateFormat("yyyy-MM-dd");
+                  }
+
+                  @Test
+                  void parse() throws Exception {
+                      format.parse("2021-01-01");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepSetupOfPerMethodLifecycle() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+              import org.junit.jupiter.api.TestInstance;
+
+              import java.text.SimpleDateFormat;
+
+              @TestInstance(TestInstance.Lifecycle.PER_METHOD)
+              class ATest {
+                  private SimpleDateFormat format;
+
+                  @BeforeEach
+                  void setUp() {
+                      format = new SimpleDateFormat("yyyy-MM-dd");
+                  }
+
+                  @Test
+                  void parse() throws Exception {
+                      format.parse("2021-01-01");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void promoteInPerClassLifecycle() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+              import org.junit.jupiter.api.TestInstance;
+
+              import java.text.SimpleDateFormat;
+
+              @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+              class ATest {
+                  private SimpleDateFormat format;
+
+                  @BeforeEach
+                  void setUp() {
+                      format = new SimpleDateFormat("yyyy-MM-dd");
+                  }
+
+                  @Test
+                  void parse() throws Exception {
+                      format.parse("2021-01-01");
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.BeforeAll;
+              import org.junit.jupiter.api.Test;
+              import org.junit.jupiter.api.TestInstance;
+
+              import java.text.SimpleDateFormat;
+
+              @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+              class ATest {
+                  private SimpleDateFormat format;
+
+                  @BeforeAll
+                  void setUp() {
+                      format = new SimpleDateFormat("yyyy-MM-dd");
+                  }
+
+                  @Test
+                  void parse() throws Exception {
+                      format.parse("2021-01-01");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepSetupCleanedUpAfterEach() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.AfterEach;
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+
+              import java.text.SimpleDateFormat;
+
+              class ATest {
+                  private SimpleDateFormat format;
+
+                  @BeforeEach
+                  void setUp() {
+                      format = new SimpleDateFormat("yyyy-MM-dd");
+                  }
+
+                  @AfterEach
+                  void tearDown() {
+                      System.out.println(format);
+                  }
+
+                  @Test
+                  void parse() throws Exception {
+                      format.parse("2021-01-01");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepSetupAssigningMock() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+
+              import java.util.List;
+
+              import static org.mockito.Mockito.mock;
+              import static org.mockito.Mockito.verify;
+
+              class ATest {
+                  private List<String> list;
+
+                  @BeforeEach
+                  void setUp() {
+                      list = mock(List.class);
+                  }
+
+                  @Test
+                  void size() {
+                      list.size();
+                      verify(list).size();
+                  }
+              }
+              """
+          )
+        );
+    }
+}
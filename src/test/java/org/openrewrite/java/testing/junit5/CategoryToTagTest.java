@@ -16,11 +16,21 @@
 package org.openrewrite.java.testing.junit5;
 
 import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Result;
+import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.test.TypeValidation;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 
 class CategoryToTagTest implements RewriteTest {
@@ -216,4 +226,48 @@ class CategoryToTagTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void reusedTagsHaveDistinctIds() {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> {
+            throw new IllegalStateException(t);
+        });
+        //language=java
+        List<J.CompilationUnit> cus = JavaParser.fromJavaVersion()
+          .classpath("junit")
+          .build()
+          .parse(ctx,
+            "public interface SlowTests {}",
+            """
+              import org.junit.Test;
+              import org.junit.experimental.categories.Category;
+
+              @Category(SlowTests.class)
+              public class B {
+
+                  @Category(SlowTests.class)
+                  @Test
+                  public void b() {
+                  }
+
+                  @Category(SlowTests.class)
+                  @Test
+                  public void d() {
+                  }
+              }
+              """
+          );
+
+        List<Result> results = new CategoryToTag().run(cus, ctx).getResults();
+        assertThat(results).hasSize(1);
+        List<UUID> ids = new ArrayList<>();
+        new JavaIsoVisitor<List<UUID>>() {
+            @Override
+            public J preVisit(J tree, List<UUID> ids) {
+                ids.add(tree.getId());
+                return tree;
+            }
+        }.visit(results.get(0).getAfter(), ids);
+        assertThat(ids).doesNotHaveDuplicates();
+    }
 }
@@ -0,0 +1,406 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.junit5;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.test.SourceSpecs.text;
+
+class EnableParallelExecutionTest implements RewriteTest {
+    private static final String PROPERTIES = """
+      junit.jupiter.execution.parallel.enabled = true
+      junit.jupiter.execution.parallel.mode.default = same_thread
+      junit.jupiter.execution.parallel.mode.classes.default = concurrent
+      junit.jupiter.execution.parallel.config.strategy = dynamic
+      """;
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion().classpath("junit-jupiter-api"))
+          .recipe(new EnableParallelExecution());
+    }
+
+    @Test
+    void addsPropertiesNextToTests() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              package com.example;
+
+              import org.junit.jupiter.api.Test;
+
+              class CalculatorTest {
+                  private int total;
+
+                  @Test
+                  void add() {
+                      total += 2;
+                  }
+              }
+              """,
+            spec -> spec.path("src/test/java/com/example/CalculatorTest.java")
+          ),
+          text(
+            null,
+            PROPERTIES,
+            spec -> spec.path("src/test/resources/junit-platform.properties")
+          )
+        );
+    }
+
+    @Test
+    void keepsClassesSharingStateApart() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              package com.example;
+
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+
+              class CounterTest {
+                  private static int count;
+
+                  @BeforeEach
+                  void configure() {
+                      System.setProperty("mode", "test");
+                  }
+
+                  @Test
+                  void increment() {
+                      count++;
+                  }
+              }
+              """,
+            """
+              package com.example;
+
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+              import org.junit.jupiter.api.parallel.Execution;
+              import org.junit.jupiter.api.parallel.ExecutionMode;
+              import org.junit.jupiter.api.parallel.ResourceLock;
+              import org.junit.jupiter.api.parallel.Resources;
+
+              @Execution(ExecutionMode.SAME_THREAD)
+              @ResourceLock(Resources.SYSTEM_PROPERTIES)
+              class CounterTest {
+                  private static int count;
+
+                  @BeforeEach
+                  void configure() {
+                      System.setProperty("mode", "test");
+                  }
+
+                  @Test
+                  void increment() {
+                      count++;
+                  }
+              }
+              """,
+            spec -> spec.path("src/test/java/com/example/CounterTest.java")
+          ),
+          text(
+            null,
+            PROPERTIES,
+            spec -> spec.path("src/test/resources/junit-platform.properties")
+          )
+        );
+    }
+
+    @Test
+    void keepsClassesWritingOtherClassesStaticStateApart() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              package com.example;
+
+              public class Registry {
+                  public static final Registry INSTANCE = new Registry();
+                  public static int lookups;
+                  public int entries;
+              }
+              """
+          ),
+          java(
+            """
+              package com.example;
+
+              import org.junit.jupiter.api.Test;
+
+              class LookupTest {
+                  @Test
+                  void lookup() {
+                      Registry.lookups = 0;
+                  }
+              }
+              """,
+            """
+              package com.example;
+
+              import org.junit.jupiter.api.Test;
+              import org.junit.jupiter.api.parallel.Execution;
+              import org.junit.jupiter.api.parallel.ExecutionMode;
+
+              @Execution(ExecutionMode.SAME_THREAD)
+              class LookupTest {
+                  @Test
+                  void lookup() {
+                      Registry.lookups = 0;
+                  }
+              }
+              """
+          ),
+          java(
+            """
+              package com.example;
+
+              import org.junit.jupiter.api.Test;
+
+              class RegisterTest {
+                  @Test
+                  void register() {
+                      Registry.INSTANCE.entries++;
+                  }
+              }
+              """,
+            """
+              package com.example;
+
+              import org.junit.jupiter.api.Test;
+              import org.junit.jupiter.api.parallel.Execution;
+              import org.junit.jupiter.api.parallel.ExecutionMode;
+
+              @Execution(ExecutionMode.SAME_THREAD)
+              class RegisterTest {
+                  @Test
+                  void register() {
+                      Registry.INSTANCE.entries++;
+                  }
+              }
+              """
+          ),
+          java(
+            """
+              package com.example;
+
+              import org.junit.jupiter.api.Test;
+
+              class LocalRegistryTest {
+                  @Test
+                  void register() {
+                      Registry registry = new Registry();
+                      registry.entries++;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepsExistingProperties() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              package com.example;
+
+              import org.junit.jupiter.api.Test;
+
+              class CalculatorTest {
+                  @Test
+                  void add() {
+                  }
+              }
+              """,
+            spec -> spec.path("src/test/java/com/example/CalculatorTest.java")
+          ),
+          text(
+            """
+              junit.jupiter.execution.parallel.enabled = false
+              """,
+            spec -> spec.path("src/test/resources/junit-platform.properties")
+          )
+        );
+    }
+
+    @Test
+    void addsPropertiesToEachModule() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              package com.example.a;
+
+              import org.junit.jupiter.api.Test;
+
+              class ATest {
+                  @Test
+                  void a() {
+                  }
+              }
+              """,
+            spec -> spec.path("module-a/src/test/java/com/example/a/ATest.java")
+          ),
+          text(
+            null,
+            PROPERTIES,
+            spec -> spec.path("module-a/src/test/resources/junit-platform.properties")
+          ),
+          java(
+            """
+              package com.example.b;
+
+              import org.junit.jupiter.api.Test;
+
+              class BTest {
+                  @Test
+                  void b() {
+                  }
+              }
+              """,
+            spec -> spec.path("module-b/src/test/java/com/example/b/BTest.java")
+          ),
+          text(
+            """
+              junit.jupiter.execution.parallel.enabled = false
+              """,
+            spec -> spec.path("module-b/src/test/resources/junit-platform.properties")
+          )
+        );
+    }
+
+    @Test
+    void ignoresClassesWithoutTests() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              package com.example;
+
+              public class Fixtures {
+                  private static int created;
+
+                  public static String next() {
+                      created++;
+                      return "fixture-" + created;
+                  }
+              }
+              """,
+            spec -> spec.path("src/test/java/com/example/Fixtures.java")
+          )
+        );
+    }
+
+    @Test
+    void keepsExistingExecutionSettings() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              package com.example;
+
+              import org.junit.jupiter.api.Test;
+              import org.junit.jupiter.api.parallel.Execution;
+              import org.junit.jupiter.api.parallel.ExecutionMode;
+
+              @Execution(ExecutionMode.CONCURRENT)
+              class CounterTest {
+                  private static int count;
+
+                  @Test
+                  void increment() {
+                      count++;
+                  }
+              }
+              """
+          ),
+          java(
+            """
+              package com.example;
+
+              import org.junit.jupiter.api.Test;
+              import org.junit.jupiter.api.parallel.ResourceLock;
+
+              @ResourceLock("mode")
+              class ModeTest {
+                  @Test
+                  void configure() {
+                      System.setProperty("mode", "test");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void annotatesTopLevelClassOfNestedTests() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              package com.example;
+
+              import org.junit.jupiter.api.Nested;
+              import org.junit.jupiter.api.Test;
+
+              class CounterTest {
+                  private static int count;
+
+                  @Nested
+                  class Increment {
+                      @Test
+                      void once() {
+                          count++;
+                      }
+                  }
+              }
+              """,
+            """
+              package com.example;
+
+              import org.junit.jupiter.api.Nested;
+              import org.junit.jupiter.api.Test;
+              import org.junit.jupiter.api.parallel.Execution;
+              import org.junit.jupiter.api.parallel.ExecutionMode;
+
+              @Execution(ExecutionMode.SAME_THREAD)
+              class CounterTest {
+                  private static int count;
+
+                  @Nested
+                  class Increment {
+                      @Test
+                      void once() {
+                          count++;
+                      }
+                  }
+              }
+              """
+          )
+        );
+    }
+}
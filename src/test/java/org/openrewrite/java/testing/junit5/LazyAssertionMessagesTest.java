@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.junit5;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.testing.assertj.JUnitAssertionsToAssertJ;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class LazyAssertionMessagesTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion().classpath("junit-jupiter-api", "assertj-core"))
+          .recipe(new LazyAssertionMessages());
+    }
+
+    @Test
+    void jupiterMessages() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.util.List;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+              import static org.junit.jupiter.api.Assertions.assertTrue;
+
+              class ATest {
+                  private static final String PREFIX = "mismatch";
+
+                  @Test
+                  void test(List<String> names) {
+                      assertEquals(1, names.size(), "mismatch for " + names);
+                      assertTrue(names.isEmpty(), String.format("%d names", names.size()));
+                      assertTrue(names.isEmpty(), PREFIX + " of names");
+                      assertTrue(names.isEmpty(), "no names");
+                      for (int i = 0; i < names.size(); i++) {
+                          assertTrue(names.get(i).isEmpty(), "name " + i);
+                      }
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.util.List;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+              import static org.junit.jupiter.api.Assertions.assertTrue;
+
+              class ATest {
+                  private static final String PREFIX = "mismatch";
+
+                  @Test
+                  void test(List<String> names) {
+                      assertEquals(1, names.size(), () -> "mismatch for " + names);
+                      assertTrue(names.isEmpty(), () -> String.format("%d names", names.size()));
+                      assertTrue(names.isEmpty(), PREFIX + " of names");
+                      assertTrue(names.isEmpty(), "no names");
+                      for (int i = 0; i < names.size(); i++) {
+                          assertTrue(names.get(i).isEmpty(), "name " + i);
+                      }
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void assertjDescriptions() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.util.List;
+
+              import static org.assertj.core.api.Assertions.assertThat;
+
+              class ATest {
+                  @Test
+                  void test(List<String> names) {
+                      assertThat(names).as("names of " + names.size()).isEmpty();
+                      assertThat(names).withFailMessage("found " + names).isEmpty();
+                      assertThat(names).as("names of %d", names.size()).isEmpty();
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.util.List;
+
+              import static org.assertj.core.api.Assertions.assertThat;
+
+              class ATest {
+                  @Test
+                  void test(List<String> names) {
+                      assertThat(names).as(() -> "names of " + names.size()).isEmpty();
+                      assertThat(names).withFailMessage(() -> "found " + names).isEmpty();
+                      assertThat(names).as("names of %d", names.size()).isEmpty();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void convertedToAssertJAfterwards() {
+        //language=java
+        rewriteRun(
+          spec -> spec.recipe(new LazyAssertionMessages().doNext(new JUnitAssertionsToAssertJ())),
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.util.List;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              class ATest {
+                  @Test
+                  void test(List<String> names) {
+                      assertEquals(1, names.size(), "mismatch for " + names);
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.util.List;
+
+              import static org.assertj.core.api.Assertions.assertThat;
+
+              class ATest {
+                  @Test
+                  void test(List<String> names) {
+                      assertThat(names.size()).as(() -> "mismatch for " + names).isEqualTo(1);
+                  }
+              }
+              """
+          )
+        );
+    }
+}
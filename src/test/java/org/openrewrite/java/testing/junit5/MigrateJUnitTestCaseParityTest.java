@@ -0,0 +1,234 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.junit5;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.Result;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.testing.JUnit4Corpus;
+import org.openrewrite.java.tree.J;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link MigrateJUnitTestCase} and the chain of visitors it replaced on the same sources, and checks that both
+ * produce the same output.
+ */
+class MigrateJUnitTestCaseParityTest {
+
+    @Test
+    void testCaseWithAssertions() {
+        //language=java
+        assertSameAsChainedVisitors(
+          """
+            import junit.framework.TestCase;
+
+            public class MathTest extends TestCase {
+                protected long value1;
+                protected long value2;
+
+                @Override
+                protected void setUp() {
+                    super.setUp();
+                    value1 = 2;
+                    value2 = 3;
+                }
+
+                public void testAdd() {
+                    setName("primitive test");
+                    long result = value1 + value2;
+                    assertEquals(5, result);
+                    assertTrue("positive", result > 0);
+                    fail("some Failure message");
+                }
+
+                @Override
+                protected void tearDown() {
+                    super.tearDown();
+                    value1 = 0;
+                    value2 = 0;
+                }
+            }
+            """
+        );
+    }
+
+    @Test
+    void testCaseWithoutAssertions() {
+        //language=java
+        assertSameAsChainedVisitors(
+          """
+            import junit.framework.TestCase;
+
+            import java.util.ArrayList;
+            import java.util.List;
+
+            public class ListTest extends TestCase {
+                private List<String> list;
+
+                protected void setUp() throws Exception {
+                    list = new ArrayList<>();
+                }
+
+                public void testAdd() {
+                    list.add("a");
+                }
+
+                public void helper() {
+                }
+            }
+            """
+        );
+    }
+
+    @Test
+    void abstractTestCaseAndSubclass() {
+        //language=java
+        assertSameAsChainedVisitors(
+          """
+            package com.abc;
+            import junit.framework.TestCase;
+            public abstract class CTest extends TestCase {
+                @Override
+                public void setUp() {}
+
+                @Override
+                public void tearDown() {}
+            }
+            """,
+          """
+            package com.abc;
+            import static org.junit.Assert.assertEquals;
+            public class MathTest extends CTest {
+                protected long value1;
+
+                @Override
+                protected void setUp() {
+                    super.setUp();
+                    value1 = 2;
+                }
+
+                public void testValue() {
+                    assertEquals(2, value1);
+                }
+            }
+            """
+        );
+    }
+
+    @Test
+    void nestedTestCase() {
+        //language=java
+        assertSameAsChainedVisitors(
+          """
+            import junit.framework.TestCase;
+
+            public class Outer {
+                public static class InnerTest extends TestCase {
+                    public void testInner() {
+                        assertNotNull(new Object());
+                    }
+                }
+            }
+            """
+        );
+    }
+
+    @Test
+    void staticallyImportedAssertionsOutsideTestCase() {
+        //language=java
+        assertSameAsChainedVisitors(
+          """
+            import org.junit.Test;
+
+            import static junit.framework.TestCase.assertTrue;
+
+            class AaTest {
+                @Test
+                public void someTest() {
+                    assertTrue("assert message", "stuff".isEmpty());
+                }
+            }
+            """,
+          """
+            import org.junit.Test;
+
+            import static junit.framework.Assert.assertFalse;
+
+            class BbTest {
+                @Test
+                public void someTest() {
+                    assertFalse("assert message", "stuff".isEmpty());
+                }
+            }
+            """,
+          """
+            import junit.framework.Assert;
+
+            class CcTest {
+                public void someTest() {
+                    Assert.assertEquals("a", "a");
+                    Assert.fail();
+                }
+            }
+            """
+        );
+    }
+
+    @Test
+    void generatedTestCases() {
+        assertSameAsChainedVisitors(JUnit4Corpus.builder()
+          .weight(JUnit4Corpus.Feature.TEST_CASE, 1)
+          .build()
+          .generate(20));
+    }
+
+    private static void assertSameAsChainedVisitors(String... sources) {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> {
+            throw new IllegalStateException(t);
+        });
+        List<J.CompilationUnit> cus = JavaParser.fromJavaVersion()
+          .classpath("junit", "hamcrest")
+          .build()
+          .parse(ctx, sources);
+        assertThat(cus).hasSize(sources.length);
+
+        assertThat(run(new MigrateJUnitTestCase(), cus, ctx))
+          .isEqualTo(run(new LegacyMigrateJUnitTestCase(), cus, ctx));
+    }
+
+    private static Map<String, String> run(Recipe recipe, List<J.CompilationUnit> cus, ExecutionContext ctx) {
+        Map<String, String> printed = new LinkedHashMap<>();
+        for (J.CompilationUnit cu : cus) {
+            printed.put(cu.getSourcePath().toString(), cu.printAll());
+        }
+        for (Result result : recipe.run(cus, ctx).getResults()) {
+            SourceFile after = result.getAfter();
+            if (after != null) {
+                printed.put(after.getSourcePath().toString(), after.printAll());
+            }
+        }
+        return printed;
+    }
+}
@@ -194,6 +194,50 @@ class MigrateJUnitTestCaseTest implements RewriteTest {
         );
     }
 
+    @Test
+    void convertTestCaseWithoutAssertions() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import junit.framework.TestCase;
+                            
+              public class ListTest extends TestCase {
+                  private java.util.List<String> list;
+                            
+                  @Override
+                  protected void setUp() throws Exception {
+                      super.setUp();
+                      list = new java.util.ArrayList<>();
+                  }
+                            
+                  public void testAdd() {
+                      list.add("a");
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+                            
+              public class ListTest {
+                  private java.util.List<String> list;
+                            
+                  @BeforeEach
+                  public void setUp() throws Exception {
+                      list = new java.util.ArrayList<>();
+                  }
+                            
+                  @Test
+                  public void testAdd() {
+                      list.add("a");
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void notTestCaseHasTestCaseAssertion() {
         //language=java
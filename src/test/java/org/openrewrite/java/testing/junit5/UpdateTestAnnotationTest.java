@@ -377,6 +377,115 @@ class UpdateTestAnnotationTest implements RewriteTest {
         );
     }
 
+    @Test
+    void severalTestMethodsWithExpectedAndTimeout() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.Test;
+              
+              public class MyTest {
+              
+                  @Test(expected = IllegalArgumentException.class)
+                  public void throwsException() {
+                      throw new IllegalArgumentException("boom");
+                  }
+              
+                  @Test(timeout = 500)
+                  public void completesInTime() {
+                  }
+              
+                  @Test
+                  public void plain() {
+                  }
+              
+                  @Test(expected = IllegalStateException.class, timeout = 1000)
+                  public void throwsInTime() {
+                      throw new IllegalStateException("boom");
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+              import org.junit.jupiter.api.Timeout;
+              
+              import static org.junit.jupiter.api.Assertions.assertThrows;
+              
+              public class MyTest {
+              
+                  @Test
+                  void throwsException() {
+                      assertThrows(IllegalArgumentException.class, () -> {
+                          throw new IllegalArgumentException("boom");
+                      });
+                  }
+              
+                  @Test
+                  @Timeout(500)
+                  void completesInTime() {
+                  }
+              
+                  @Test
+                  void plain() {
+                  }
+              
+                  @Test
+                  @Timeout(1000)
+                  void throwsInTime() {
+                      assertThrows(IllegalStateException.class, () -> {
+                          throw new IllegalStateException("boom");
+                      });
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void commentOnRemovedPublicModifierMovesToMethod() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.Test;
+              
+              public class MyTest {
+              
+                  @Test
+                  /* block comment */
+                  public void test() {
+                  }
+              
+                  @Test(timeout = 500)
+                  // line comment
+                  public void test1() {
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+              import org.junit.jupiter.api.Timeout;
+              
+              public class MyTest {
+              
+                  /* block comment */
+                  @Test
+                  void test() {
+                  }
+              
+                  // line comment
+                  @Test
+                  @Timeout(500)
+                  void test1() {
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Issue("https://github.com/openrewrite/rewrite/issues/150")
     @Test
     void protectedToPackageVisibility() {
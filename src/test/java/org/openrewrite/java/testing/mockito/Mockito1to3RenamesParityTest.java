@@ -0,0 +1,162 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.mockito;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.Result;
+import org.openrewrite.SourceFile;
+import org.openrewrite.config.Environment;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link Mockito1to3Renames} and the steps of {@code Mockito1to3RenameSteps} it compiles, one after the other,
+ * on the same sources, and checks that both produce the same output.
+ */
+class Mockito1to3RenamesParityTest {
+
+    @Test
+    void consecutiveArgumentDeletions() {
+        //language=java
+        assertSameAsSteps(
+          """
+            package mockito.example;
+
+            import org.mockito.Matchers;
+
+            import java.util.Map;
+
+            public class MapMatchers {
+                public Map<String, Integer> matchers() {
+                    return Matchers.anyMapOf(String.class, Integer.class);
+                }
+            }
+            """
+        );
+    }
+
+    @Test
+    void nullMatchersOfClass() {
+        //language=java
+        assertSameAsSteps(
+          """
+            package mockito.example;
+
+            import org.mockito.Matchers;
+
+            public class NullMatchers {
+                public void matchers() {
+                    String none = Matchers.isNull(String.class);
+                    String some = Matchers.notNull(String.class);
+                    Object any = Matchers.anyObject();
+                }
+            }
+            """
+        );
+    }
+
+    @Test
+    void argumentOfInvocation() {
+        //language=java
+        assertSameAsSteps(
+          """
+            package mockito.example;
+
+            import org.mockito.stubbing.Answer;
+
+            public class Answers {
+                public Answer<String> firstArgument() {
+                    return invocation -> invocation.getArgumentAt(0, String.class);
+                }
+            }
+            """
+        );
+    }
+
+    @Test
+    void staticImportsOfChangedType() {
+        //language=java
+        assertSameAsSteps(
+          """
+            package mockito.example;
+
+            import java.util.List;
+            import java.util.Map;
+
+            import static org.mockito.Matchers.anyListOf;
+            import static org.mockito.Matchers.anyMapOf;
+            import static org.mockito.Matchers.isNull;
+            import static org.mockito.Mockito.verifyZeroInteractions;
+
+            public class StaticMatchers {
+                public void matchers(List<String> list) {
+                    List<String> strings = anyListOf(String.class);
+                    Map<String, Integer> map = anyMapOf(String.class, Integer.class);
+                    String none = isNull(String.class);
+                    verifyZeroInteractions(list);
+                }
+            }
+            """
+        );
+    }
+
+    private static void assertSameAsSteps(String... sources) {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> {
+            throw new IllegalStateException(t);
+        });
+        List<J.CompilationUnit> cus = JavaParser.fromJavaVersion()
+          .classpath("mockito-all")
+          .build()
+          .parse(ctx, sources);
+        assertThat(cus).hasSize(sources.length);
+
+        Recipe steps = Environment.builder()
+          .scanRuntimeClasspath("org.openrewrite.java.testing.mockito")
+          .build()
+          .activateRecipes(Mockito1to3Renames.RENAME_STEPS);
+        Map<String, String> expected = run(steps, cus, ctx);
+        assertThat(expected).isNotEqualTo(print(cus));
+        assertThat(run(new Mockito1to3Renames(), cus, ctx)).isEqualTo(expected);
+    }
+
+    private static Map<String, String> print(List<J.CompilationUnit> cus) {
+        Map<String, String> printed = new LinkedHashMap<>();
+        for (J.CompilationUnit cu : cus) {
+            printed.put(cu.getSourcePath().toString(), cu.printAll());
+        }
+        return printed;
+    }
+
+    private static Map<String, String> run(Recipe recipe, List<J.CompilationUnit> cus, ExecutionContext ctx) {
+        Map<String, String> printed = print(cus);
+        for (Result result : recipe.run(cus, ctx).getResults()) {
+            SourceFile after = result.getAfter();
+            if (after != null) {
+                printed.put(after.getSourcePath().toString(), after.printAll());
+            }
+        }
+        return printed;
+    }
+}
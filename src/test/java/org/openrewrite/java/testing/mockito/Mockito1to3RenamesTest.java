@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.mockito;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class Mockito1to3RenamesTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion().classpath("mockito-all"))
+          .recipe(new Mockito1to3Renames());
+    }
+
+    @Test
+    void renamesMethodAndDeletesArgumentOfChangedType() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              package mockito.example;
+
+              import org.mockito.Matchers;
+
+              public class MockitoMatchers {
+                  public void matchers() {
+                      Matchers.anyListOf(String.class);
+                      Matchers.anyMapOf(String.class, Integer.class);
+                  }
+              }
+              """,
+            """
+              package mockito.example;
+
+              import org.mockito.ArgumentMatchers;
+
+              public class MockitoMatchers {
+                  public void matchers() {
+                      ArgumentMatchers.anyList();
+                      ArgumentMatchers.anyMap();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void renamesStaticallyImportedMethod() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              package mockito.example;
+
+              import java.util.List;
+
+              import static org.mockito.Mockito.verifyZeroInteractions;
+
+              public class MockitoVerify {
+                  public void verify(List<String> list) {
+                      verifyZeroInteractions(list);
+                  }
+              }
+              """,
+            """
+              package mockito.example;
+
+              import java.util.List;
+
+              import static org.mockito.Mockito.verifyNoInteractions;
+
+              public class MockitoVerify {
+                  public void verify(List<String> list) {
+                      verifyNoInteractions(list);
+                  }
+              }
+              """
+          )
+        );
+    }
+}
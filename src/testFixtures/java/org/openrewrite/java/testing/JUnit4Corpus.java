@@ -0,0 +1,424 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing;
+
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic generator of JUnit 4 era test classes, used to soak-test and benchmark the migrations in this
+ * module at scale.
+ * <p>
+ * Every generated class exercises one {@link Feature}, chosen by weight from the configured mix, and carries a
+ * varying number of test methods. The same seed, mix and index always produce the same source, so corpora of
+ * different sizes share their common prefix and runs can be compared with each other.
+ */
+public final class JUnit4Corpus {
+    private final long seed;
+    private final Map<Feature, Integer> mix;
+    private final int totalWeight;
+    private final int maxTestsPerClass;
+
+    private JUnit4Corpus(long seed, Map<Feature, Integer> mix, int maxTestsPerClass) {
+        this.seed = seed;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.maxTestsPerClass = maxTestsPerClass;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The classpath artifacts, as accepted by {@code JavaParser.Builder#classpath(String...)}, that the
+     * sources generated from this mix need in order to be fully type attributed.
+     */
+    public String[] getClasspath() {
+        Set<String> classpath = new LinkedHashSet<>();
+        classpath.add("junit");
+        for (Feature feature : mix.keySet()) {
+            classpath.addAll(Arrays.asList(feature.classpath));
+        }
+        return classpath.toArray(new String[0]);
+    }
+
+    public Stream<String> stream(int size) {
+        return IntStream.range(0, size).mapToObj(this::source);
+    }
+
+    public String[] generate(int size) {
+        return stream(size).toArray(String[]::new);
+    }
+
+    /**
+     * @param index The position of the class in the corpus.
+     * @return The source of the class at that position.
+     */
+    public String source(int index) {
+        Random random = new Random(seed * 31 + index);
+        Feature feature = pick(random.nextInt(totalWeight));
+        int tests = 1 + random.nextInt(maxTestsPerClass);
+        return feature.source(new Writer("org.example.corpus.p" + (index % 97),
+                feature.prefix + index + "Test", tests, random));
+    }
+
+    private Feature pick(int weight) {
+        int remaining = weight;
+        for (Map.Entry<Feature, Integer> entry : mix.entrySet()) {
+            remaining -= entry.getValue();
+            if (remaining < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Weight " + weight + " exceeds the total weight of " + totalWeight);
+    }
+
+    public static class Builder {
+        private long seed = 42;
+        private final Map<Feature, Integer> mix = new EnumMap<>(Feature.class);
+        private int maxTestsPerClass = 8;
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * @param feature The feature to include.
+         * @param weight  The relative share of generated classes exercising the feature.
+         */
+        public Builder weight(Feature feature, int weight) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight must not be negative");
+            }
+            if (weight == 0) {
+                mix.remove(feature);
+            } else {
+                mix.put(feature, weight);
+            }
+            return this;
+        }
+
+        public Builder maxTestsPerClass(int maxTestsPerClass) {
+            if (maxTestsPerClass < 1) {
+                throw new IllegalArgumentException("Classes need at least one test");
+            }
+            this.maxTestsPerClass = maxTestsPerClass;
+            return this;
+        }
+
+        public JUnit4Corpus build() {
+            Map<Feature, Integer> weights = new EnumMap<>(Feature.class);
+            if (mix.isEmpty()) {
+                for (Feature feature : Feature.values()) {
+                    weights.put(feature, 1);
+                }
+            } else {
+                weights.putAll(mix);
+            }
+            return new JUnit4Corpus(seed, Collections.unmodifiableMap(weights), maxTestsPerClass);
+        }
+    }
+
+    public enum Feature {
+        PARAMETERIZED("Parameterized") {
+            @Override
+            String source(Writer w) {
+                w.imports("java.util.Arrays", "java.util.Collection", "org.junit.Test", "org.junit.runner.RunWith",
+                        "org.junit.runners.Parameterized", "org.junit.runners.Parameterized.Parameters");
+                w.staticImports("org.junit.Assert.assertEquals");
+                w.line("@RunWith(Parameterized.class)");
+                w.open("public class " + w.className);
+                w.line("private final int input;");
+                w.line("private final int expected;");
+                w.blank();
+                w.open("public " + w.className + "(int input, int expected)");
+                w.line("this.input = input;");
+                w.line("this.expected = expected;");
+                w.close();
+                w.blank();
+                w.line("@Parameters");
+                w.open("public static Collection<Object[]> data()");
+                w.line("return Arrays.asList(new Object[][]{{" + w.random.nextInt(10) + ", 1}, {2, " + w.random.nextInt(10) + "}});");
+                w.close();
+                for (int i = 0; i < w.tests; i++) {
+                    w.blank();
+                    w.line("@Test");
+                    w.open("public void case" + i + "()");
+                    w.line("assertEquals(expected, input + " + i + " - " + i + ");");
+                    w.close();
+                }
+                return w.closeAll();
+            }
+        },
+        EXPECTED_EXCEPTION("ExpectedException") {
+            @Override
+            String source(Writer w) {
+                w.imports("org.junit.Rule", "org.junit.Test", "org.junit.rules.ExpectedException");
+                w.open("public class " + w.className);
+                w.line("@Rule");
+                w.line("public ExpectedException thrown = ExpectedException.none();");
+                for (int i = 0; i < w.tests; i++) {
+                    w.blank();
+                    w.line("@Test");
+                    w.open("public void throws" + i + "()");
+                    w.line("thrown.expect(IllegalArgumentException.class);");
+                    if (w.random.nextBoolean()) {
+                        w.line("thrown.expectMessage(\"bad " + i + "\");");
+                    }
+                    w.line("throw new IllegalArgumentException(\"bad " + i + "\");");
+                    w.close();
+                }
+                return w.closeAll();
+            }
+        },
+        TEMPORARY_FOLDER("TemporaryFolder") {
+            @Override
+            String source(Writer w) {
+                w.imports("java.io.File", "java.io.IOException", "org.junit.Rule", "org.junit.Test",
+                        "org.junit.rules.TemporaryFolder");
+                w.staticImports("org.junit.Assert.assertTrue");
+                w.open("public class " + w.className);
+                w.line("@Rule");
+                w.line("public TemporaryFolder folder = new TemporaryFolder();");
+                for (int i = 0; i < w.tests; i++) {
+                    w.blank();
+                    w.line("@Test");
+                    w.open("public void writes" + i + "() throws IOException");
+                    if (w.random.nextBoolean()) {
+                        w.line("File file = folder.newFile(\"file" + i + ".txt\");");
+                    } else {
+                        w.line("File file = folder.newFolder(\"dir" + i + "\");");
+                    }
+                    w.line("assertTrue(file.exists());");
+                    w.close();
+                }
+                return w.closeAll();
+            }
+        },
+        CATEGORY("Category") {
+            @Override
+            String source(Writer w) {
+                w.imports("org.junit.Test", "org.junit.experimental.categories.Category");
+                w.staticImports("org.junit.Assert.assertNotNull");
+                w.line("@Category(" + w.className + ".Slow.class)");
+                w.open("public class " + w.className);
+                w.line("public interface Slow {}");
+                w.line("public interface Fast {}");
+                for (int i = 0; i < w.tests; i++) {
+                    w.blank();
+                    w.line("@Test");
+                    if (w.random.nextBoolean()) {
+                        w.line("@Category({Slow.class, Fast.class})");
+                    }
+                    w.open("public void categorized" + i + "()");
+                    w.line("assertNotNull(\"value" + i + "\");");
+                    w.close();
+                }
+                return w.closeAll();
+            }
+        },
+        TEST_CASE("TestCase") {
+            @Override
+            String source(Writer w) {
+                w.imports("junit.framework.TestCase");
+                w.open("public class " + w.className + " extends TestCase");
+                w.line("private StringBuilder buffer;");
+                w.blank();
+                w.line("@Override");
+                w.open("protected void setUp() throws Exception");
+                w.line("super.setUp();");
+                w.line("buffer = new StringBuilder();");
+                w.close();
+                w.blank();
+                w.line("@Override");
+                w.open("protected void tearDown() throws Exception");
+                w.line("buffer = null;");
+                w.line("super.tearDown();");
+                w.close();
+                for (int i = 0; i < w.tests; i++) {
+                    w.blank();
+                    w.open("public void testAppend" + i + "()");
+                    w.line("buffer.append(" + i + ");");
+                    w.line("assertEquals(\"" + i + "\", buffer.toString());");
+                    w.line("assertTrue(buffer.length() > 0);");
+                    w.close();
+                }
+                return w.closeAll();
+            }
+        },
+        JUNIT_PARAMS("JUnitParams", "JUnitParams") {
+            @Override
+            String source(Writer w) {
+                w.imports("junitparams.JUnitParamsRunner", "junitparams.Parameters", "org.junit.Test",
+                        "org.junit.runner.RunWith");
+                w.staticImports("org.junit.Assert.assertEquals");
+                w.line("@RunWith(JUnitParamsRunner.class)");
+                w.open("public class " + w.className);
+                for (int i = 0; i < w.tests; i++) {
+                    w.blank();
+                    w.line("@Test");
+                    if (w.random.nextBoolean()) {
+                        w.line("@Parameters({\"1, 2\", \"" + i + ", " + (i + 1) + "\"})");
+                        w.open("public void adds" + i + "(int a, int b)");
+                    } else {
+                        w.line("@Parameters(method = \"values" + i + "\")");
+                        w.open("public void adds" + i + "(int a, int b)");
+                    }
+                    w.line("assertEquals(b, a + 1);");
+                    w.close();
+                    w.blank();
+                    w.open("private Object[] values" + i + "()");
+                    w.line("return new Object[]{new Object[]{" + i + ", " + (i + 1) + "}};");
+                    w.close();
+                }
+                return w.closeAll();
+            }
+        },
+        // mockito-all before Mockito 2, mockito-core after
+        MOCKITO_RULE("MockitoRule", "mockito") {
+            @Override
+            String source(Writer w) {
+                w.imports("java.util.List", "org.junit.Rule", "org.junit.Test", "org.mockito.Mock",
+                        "org.mockito.junit.MockitoJUnit", "org.mockito.junit.MockitoRule");
+                w.staticImports("org.mockito.Mockito.verify", "org.mockito.Mockito.when");
+                w.open("public class " + w.className);
+                w.line("@Rule");
+                w.line("public MockitoRule mockito = MockitoJUnit.rule();");
+                w.blank();
+                w.line("@Mock");
+                w.line("private List<String> list;");
+                for (int i = 0; i < w.tests; i++) {
+                    w.blank();
+                    w.line("@Test");
+                    w.open("public void stubs" + i + "()");
+                    w.line("when(list.get(" + i + ")).thenReturn(\"value" + i + "\");");
+                    w.line("list.get(" + i + ");");
+                    w.line("verify(list).get(" + i + ");");
+                    w.close();
+                }
+                return w.closeAll();
+            }
+        },
+        CUCUMBER_JAVA8("Steps", "cucumber-java", "cucumber-java8") {
+            @Override
+            String source(Writer w) {
+                w.imports("io.cucumber.java8.En");
+                w.staticImports("org.junit.Assert.assertEquals");
+                w.open("public class " + w.className + " implements En");
+                w.line("private int total;");
+                w.blank();
+                w.open("public " + w.className + "()");
+                w.open("Before(() ->");
+                w.line("total = 0;");
+                w.closeWith("});");
+                for (int i = 0; i < w.tests; i++) {
+                    switch (w.random.nextInt(3)) {
+                        case 0:
+                            w.open("Given(\"a total of {int} for step " + i + "\", (Integer value) ->");
+                            w.line("total = value;");
+                            w.closeWith("});");
+                            break;
+                        case 1:
+                            w.open("When(\"I add {int} for step " + i + "\", (Integer value) ->");
+                            w.line("total += value;");
+                            w.closeWith("});");
+                            break;
+                        default:
+                            w.line("Then(\"the total is {int} for step " + i + "\", (Integer expected) -> assertEquals((int) expected, total));");
+                    }
+                }
+                w.close();
+                return w.closeAll();
+            }
+        };
+
+        private final String prefix;
+        private final String[] classpath;
+
+        Feature(String prefix, String... classpath) {
+            this.prefix = prefix;
+            this.classpath = classpath;
+        }
+
+        abstract String source(Writer w);
+    }
+
+    private static class Writer {
+        final String className;
+        final int tests;
+        final Random random;
+
+        private final StringBuilder header = new StringBuilder();
+        private final StringBuilder body = new StringBuilder();
+        private int indent;
+
+        Writer(String packageName, String className, int tests, Random random) {
+            this.className = className;
+            this.tests = tests;
+            this.random = random;
+            header.append("package ").append(packageName).append(";\n\n");
+        }
+
+        void imports(String... types) {
+            for (String type : types) {
+                header.append("import ").append(type).append(";\n");
+            }
+            header.append('\n');
+        }
+
+        void staticImports(String... members) {
+            for (String member : members) {
+                header.append("import static ").append(member).append(";\n");
+            }
+            header.append('\n');
+        }
+
+        void line(String line) {
+            for (int i = 0; i < indent; i++) {
+                body.append("    ");
+            }
+            body.append(line).append('\n');
+        }
+
+        void blank() {
+            body.append('\n');
+        }
+
+        void open(String declaration) {
+            line(declaration + " {");
+            indent++;
+        }
+
+        void close() {
+            closeWith("}");
+        }
+
+        void closeWith(String closing) {
+            indent--;
+            line(closing);
+        }
+
+        String closeAll() {
+            while (indent > 0) {
+                close();
+            }
+            return header.toString() + body;
+        }
+    }
+}